@@ -8,7 +8,13 @@
 package org.mule.runtime.core;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.rules.ExpectedException.none;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.api.metadata.MediaType.APPLICATION_XML;
@@ -101,4 +107,37 @@ public class DefaultMuleEventTestCase extends AbstractMuleContextTestCase {
     expected.expect(NullPointerException.class);
     muleEvent = builder(messageContext).build();
   }
+
+  @Test
+  public void copiedVariablesNotModifiedByNewEvent() throws Exception {
+    muleEvent = builder(muleEvent).addVariable(PROPERTY_NAME, PROPERTY_VALUE).build();
+
+    Event copy = builder(muleEvent).message(of("other-data")).addVariable("other", PROPERTY_VALUE).build();
+    Event removed = builder(muleEvent).removeVariable(PROPERTY_NAME).build();
+
+    assertThat(muleEvent.getVariableNames(), contains(PROPERTY_NAME));
+    assertThat(copy.getVariableNames().size(), is(2));
+    assertThat(copy.getVariable(PROPERTY_NAME.toUpperCase()).getValue(), is(PROPERTY_VALUE));
+    assertThat(removed.getVariableNames(), is(empty()));
+  }
+
+  @Test
+  public void reusedBuilderDoesNotModifyBuiltEvent() throws Exception {
+    Event.Builder builder = builder(muleEvent).addVariable(PROPERTY_NAME, PROPERTY_VALUE);
+    Event first = builder.build();
+    Event second = builder.addVariable("other", PROPERTY_VALUE).build();
+
+    assertThat(first.getVariableNames(), contains(PROPERTY_NAME));
+    assertThat(second.getVariableNames().size(), is(2));
+  }
+
+  @Test
+  public void removedParameterNotRemovedFromOriginalEvent() throws Exception {
+    muleEvent = builder(muleEvent).parameters(singletonMap(PROPERTY_NAME, PROPERTY_VALUE)).build();
+
+    Event removed = builder(muleEvent).removeParameter(PROPERTY_NAME).build();
+
+    assertThat(muleEvent.getParameters(), hasKey(PROPERTY_NAME));
+    assertThat(removed.getParameters(), not(hasKey(PROPERTY_NAME)));
+  }
 }
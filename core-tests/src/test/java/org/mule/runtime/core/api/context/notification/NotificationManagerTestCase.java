@@ -166,6 +166,26 @@ public class NotificationManagerTestCase extends AbstractMuleTestCase {
     assertTrue(listener2.isNotified());
   }
 
+  @Test
+  public void testListenerKinds() throws ClassNotFoundException {
+    registerDefaultEvents();
+    manager.addListenerSubscription(listener1, "id1");
+    manager.addListener(new Listener2() {
+
+      @Override
+      public boolean isBlocking() {
+        return false;
+      }
+    });
+    Policy policy = manager.getPolicy();
+    assertTrue("blocking", policy.hasBlockingListeners(SubSubEvent1.class));
+    assertFalse("blocking", policy.hasNonBlockingListeners(SubSubEvent1.class));
+    assertFalse("non blocking", policy.hasBlockingListeners(Event2.class));
+    assertTrue("non blocking", policy.hasNonBlockingListeners(Event2.class));
+    assertFalse("not specified at all", policy.hasBlockingListeners(Event3.class));
+    assertFalse("not specified at all", policy.hasNonBlockingListeners(Event3.class));
+  }
+
   protected void assertNoListenersNotified() {
     assertFalse(listener1.isNotified());
     assertFalse(listener2.isNotified());
@@ -318,6 +318,21 @@ public class DataWeaveExpressionLanguageAdaptorTestCase extends AbstractWeaveExp
     verify(expressionLanguage, never()).evaluate(eq("payload"), any(BindingContext.class));
   }
 
+  @Test
+  public void sanitizedScriptNotSanitizedAgain() throws MuleException {
+    BindingContext bindingContext = BindingContext.builder().build();
+    MuleContext muleContext = mock(MuleContext.class);
+    DefaultExpressionLanguageFactoryService languageFactory = mock(DefaultExpressionLanguageFactoryService.class);
+    ExpressionLanguage expressionLanguage = spy(ExpressionLanguage.class);
+    when(languageFactory.create()).thenReturn(expressionLanguage);
+    DataWeaveExpressionLanguageAdaptor adaptor = new DataWeaveExpressionLanguageAdaptor(muleContext, languageFactory);
+
+    String script = adaptor.sanitize("#[dw:dw::core::Strings::upper('a')]");
+    assertThat(script, is("dw::core::Strings::upper('a')"));
+    adaptor.evaluateScript(script, testEvent(), null, bindingContext);
+    verify(expressionLanguage).evaluate(eq(script), any(BindingContext.class));
+  }
+
   private Event getEventWithError(Optional<Error> error) {
     Event event = mock(Event.class, RETURNS_DEEP_STUBS);
     doReturn(error).when(event).getError();
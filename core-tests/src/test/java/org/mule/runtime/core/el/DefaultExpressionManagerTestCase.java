@@ -13,6 +13,7 @@ import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -43,6 +44,7 @@ import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.el.ExpressionCacheStatistics;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.registry.MuleRegistry;
 import org.mule.runtime.core.el.mvel.MVELExpressionLanguage;
@@ -242,6 +244,28 @@ public class DefaultExpressionManagerTestCase extends AbstractMuleContextTestCas
     assertThat(expressionManager.isExpression("${var}"), is(false));
   }
 
+  @Test
+  @Description("Verifies that the language of each expression is resolved only once and the cache statistics updated.")
+  public void cachedExpressions() throws MuleException {
+    assertString("\"wow\"");
+    assertString("\"wow\"");
+    assertString("#[dw:\"wow\"]");
+    assertThat(expressionManager.evaluate("#[mel:'wow']", testEvent()).getValue(), is("wow"));
+
+    ExpressionCacheStatistics statistics = (ExpressionCacheStatistics) expressionManager;
+    assertThat(statistics.getCacheSize(), is(3l));
+    assertThat(statistics.getCacheHitCount(), is(1l));
+    assertThat(statistics.getCacheMissCount(), is(3l));
+    assertThat(statistics.getCacheEvictionCount(), is(0l));
+  }
+
+  @Test
+  @Description("Verifies that the cache statistics are published along with the rest of the application statistics.")
+  public void cacheStatisticsPublished() throws Exception {
+    ((DefaultExpressionManager) expressionManager).initialise();
+    assertThat(muleContext.getStatistics().getExpressionCacheStatistics(), is(sameInstance((Object) expressionManager)));
+  }
+
   @Test
   public void managedCursor() throws Exception {
     final MuleContext mockMuleContext = mock(MuleContext.class, RETURNS_DEEP_STUBS);
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.core.internal.context.notification.AsyncNotificationQueue.OverflowPolicy.DROP_NEWEST;
+import static org.mule.runtime.core.internal.context.notification.AsyncNotificationQueue.OverflowPolicy.DROP_OLDEST;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class AsyncNotificationQueueTestCase extends AbstractMuleTestCase {
+
+  private final List<Runnable> scheduledTasks = new ArrayList<>();
+  private final List<ServerNotification> dispatched = new ArrayList<>();
+  private Scheduler scheduler;
+
+  @Before
+  public void before() {
+    scheduler = mock(Scheduler.class);
+    doAnswer(invocation -> scheduledTasks.add((Runnable) invocation.getArguments()[0])).when(scheduler)
+        .execute(any(Runnable.class));
+  }
+
+  @Test
+  public void notificationsDispatchedInBatch() {
+    AsyncNotificationQueue queue = new AsyncNotificationQueue(10, DROP_NEWEST, scheduler, dispatched::add);
+    ServerNotification notification1 = mock(ServerNotification.class);
+    ServerNotification notification2 = mock(ServerNotification.class);
+
+    queue.offer(notification1);
+    queue.offer(notification2);
+    assertThat(dispatched, is(empty()));
+    assertThat(scheduledTasks.size(), is(1));
+
+    scheduledTasks.remove(0).run();
+    assertThat(dispatched, contains(notification1, notification2));
+    assertThat(scheduledTasks, is(empty()));
+  }
+
+  @Test
+  public void notificationsDispatchedInParallel() {
+    AsyncNotificationQueue queue = new AsyncNotificationQueue(10, DROP_NEWEST, 2, scheduler, dispatched::add);
+    ServerNotification notification1 = mock(ServerNotification.class);
+    ServerNotification notification2 = mock(ServerNotification.class);
+
+    queue.offer(notification1);
+    queue.offer(notification2);
+    queue.offer(mock(ServerNotification.class));
+    assertThat(scheduledTasks.size(), is(2));
+
+    scheduledTasks.remove(0).run();
+    assertThat(dispatched.size(), is(3));
+    scheduledTasks.remove(0).run();
+    assertThat(dispatched.size(), is(3));
+    assertThat(scheduledTasks, is(empty()));
+
+    queue.offer(notification1);
+    queue.offer(notification2);
+    assertThat(scheduledTasks.size(), is(2));
+  }
+
+  @Test
+  public void dropNewestWhenFull() {
+    AsyncNotificationQueue queue = new AsyncNotificationQueue(1, DROP_NEWEST, scheduler, dispatched::add);
+    ServerNotification notification1 = mock(ServerNotification.class);
+
+    queue.offer(notification1);
+    queue.offer(mock(ServerNotification.class));
+
+    scheduledTasks.remove(0).run();
+    assertThat(dispatched, contains(notification1));
+    assertThat(queue.getDroppedCount(), is(1L));
+  }
+
+  @Test
+  public void dropOldestWhenFull() {
+    AsyncNotificationQueue queue = new AsyncNotificationQueue(1, DROP_OLDEST, scheduler, dispatched::add);
+    ServerNotification notification2 = mock(ServerNotification.class);
+
+    queue.offer(mock(ServerNotification.class));
+    queue.offer(notification2);
+
+    scheduledTasks.remove(0).run();
+    assertThat(dispatched, contains(notification2));
+    assertThat(queue.getDroppedCount(), is(1L));
+  }
+}
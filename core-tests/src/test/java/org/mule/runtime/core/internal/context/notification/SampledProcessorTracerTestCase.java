@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.System.lineSeparator;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class SampledProcessorTracerTestCase extends AbstractMuleTestCase {
+
+  private static final String EVENT_ID = "event";
+  private static final String PROCESSOR_PATH = "flow/processors/0";
+
+  @Test
+  public void disabled() {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(0, 16);
+
+    assertThat(tracer.isEnabled(), is(false));
+    assertThat(tracer.isSampled(EVENT_ID), is(false));
+  }
+
+  @Test
+  public void samplesByEventId() {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(2, 16);
+
+    assertThat(tracer.isEnabled(), is(true));
+    // "0" and "1" have consecutive hash codes
+    assertThat(tracer.isSampled("0"), is(true));
+    assertThat(tracer.isSampled("1"), is(false));
+  }
+
+  @Test
+  public void enterAndExit() {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(1, 16);
+    assertThat(tracer.isSampled(EVENT_ID), is(true));
+
+    tracer.processorEnter(EVENT_ID, PROCESSOR_PATH);
+    tracer.processorExit(EVENT_ID, PROCESSOR_PATH);
+
+    String[] lines = tracer.dump().split(lineSeparator());
+    assertThat(lines.length, equalTo(2));
+    assertThat(lines[0], containsString("ENTER " + EVENT_ID + " " + PROCESSOR_PATH));
+    assertThat(lines[0], containsString("[" + Thread.currentThread().getName() + "]"));
+    assertThat(lines[1], containsString("EXIT ("));
+    assertThat(lines[1], endsWith(EVENT_ID + " " + PROCESSOR_PATH));
+  }
+
+  @Test
+  public void exitWithoutEnter() {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(1, 1);
+
+    tracer.processorEnter(EVENT_ID, PROCESSOR_PATH);
+    tracer.processorExit(EVENT_ID, PROCESSOR_PATH);
+
+    assertThat(tracer.dump(), containsString("] EXIT " + EVENT_ID + " " + PROCESSOR_PATH));
+  }
+
+  @Test
+  public void oldestRecordsAreOverwritten() {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(1, 2);
+
+    tracer.processorEnter(EVENT_ID, "first");
+    tracer.processorEnter(EVENT_ID, "second");
+    tracer.processorEnter(EVENT_ID, "third");
+
+    String dump = tracer.dump();
+    assertThat(dump, not(containsString("first")));
+    assertThat(dump, containsString("second"));
+    assertThat(dump, containsString("third"));
+  }
+
+  @Test
+  public void recordsOfAllThreads() throws Exception {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(1, 16);
+
+    tracer.processorEnter(EVENT_ID, PROCESSOR_PATH);
+    Thread thread = new Thread(() -> tracer.processorEnter(EVENT_ID, "other"), "tracedThread");
+    thread.start();
+    thread.join();
+
+    String dump = tracer.dump();
+    assertThat(dump, containsString("[" + Thread.currentThread().getName() + "] ENTER " + EVENT_ID + " " + PROCESSOR_PATH));
+    assertThat(dump, containsString("[tracedThread] ENTER " + EVENT_ID + " other"));
+  }
+
+  @Test
+  public void recordsOfFinishedThreadsDiscardedOnceDumped() throws Exception {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(1, 16);
+
+    Thread thread = new Thread(() -> tracer.processorEnter(EVENT_ID, "other"), "tracedThread");
+    thread.start();
+    thread.join();
+
+    assertThat(tracer.dump(), containsString("[tracedThread] ENTER " + EVENT_ID + " other"));
+    assertThat(tracer.dump(), not(containsString("tracedThread")));
+  }
+
+  @Test
+  public void recordsOfOtherTracersNotDumped() {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(1, 16);
+    SampledProcessorTracer otherTracer = new SampledProcessorTracer(1, 16);
+
+    tracer.processorEnter(EVENT_ID, PROCESSOR_PATH);
+    otherTracer.processorEnter(EVENT_ID, "other");
+
+    assertThat(tracer.dump(), not(containsString("other")));
+    assertThat(otherTracer.dump(), not(containsString(PROCESSOR_PATH)));
+  }
+
+  @Test
+  public void clearDiscardsRecords() {
+    SampledProcessorTracer tracer = new SampledProcessorTracer(1, 16);
+
+    tracer.processorEnter(EVENT_ID, PROCESSOR_PATH);
+    tracer.clear();
+
+    assertThat(tracer.dump(), equalTo(""));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mule.runtime.core.api.management.stats.LatencyHistogram.MAX_TRACKABLE_VALUE;
+
+import org.mule.runtime.core.api.management.stats.LatencyHistogram;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.hamcrest.Matcher;
+import org.junit.Test;
+
+@SmallTest
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void empty() {
+    assertThat(histogram.getTotalCount(), equalTo(0L));
+    assertThat(histogram.getP99(), equalTo(0L));
+  }
+
+  @Test
+  public void percentiles() {
+    for (long value = 1; value <= 100000; ++value) {
+      histogram.recordValue(value);
+    }
+
+    assertThat(histogram.getTotalCount(), equalTo(100000L));
+    assertThat(histogram.getP50(), approximately(50000L));
+    assertThat(histogram.getP99(), approximately(99000L));
+    assertThat(histogram.getP999(), approximately(99900L));
+  }
+
+  @Test
+  public void outliersAreClamped() {
+    histogram.recordValue(-1);
+    histogram.recordValue(MAX_TRACKABLE_VALUE * 2);
+
+    assertThat(histogram.getTotalCount(), equalTo(2L));
+    assertThat(histogram.getValueAtPercentile(100), approximately(MAX_TRACKABLE_VALUE));
+  }
+
+  @Test
+  public void clear() {
+    histogram.recordValue(1000);
+    histogram.clear();
+
+    assertThat(histogram.getTotalCount(), equalTo(0L));
+  }
+
+  @Test
+  public void flowStatisticsRecordInMicros() {
+    DefaultFlowConstructStatistics stats = new DefaultFlowConstructStatistics("Flow", "test");
+    stats.setEnabled(true);
+    assertThat(stats.isLatencySampled(), equalTo(true));
+
+    stats.addProcessingTimeSample(MILLISECONDS.toNanos(5));
+    stats.addProcessorTimeSample("test/processors/0", MILLISECONDS.toNanos(2));
+
+    assertThat(stats.getProcessingTimeHistogram().getP50(), approximately(MILLISECONDS.toMicros(5)));
+    assertThat(stats.getProcessorTimeHistograms(), hasKey("test/processors/0"));
+    assertThat(stats.getProcessorTimeHistograms().get("test/processors/0").getP50(),
+               approximately(MICROSECONDS.convert(2, MILLISECONDS)));
+
+    stats.clear();
+    assertThat(stats.getProcessingTimeHistogram().getTotalCount(), equalTo(0L));
+  }
+
+  @Test
+  public void notSampledWhenDisabled() {
+    DefaultFlowConstructStatistics stats = new DefaultFlowConstructStatistics("Flow", "test");
+    stats.setEnabled(false);
+    assertThat(stats.isLatencySampled(), equalTo(false));
+  }
+
+  private static Matcher<Long> approximately(long expected) {
+    return allOf(greaterThanOrEqualTo(expected - expected / 50), lessThanOrEqualTo(expected + expected / 50));
+  }
+}
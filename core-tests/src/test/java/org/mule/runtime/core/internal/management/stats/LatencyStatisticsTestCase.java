@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Integer.MAX_VALUE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STATISTICS_LATENCY_SAMPLE_RATE;
+import static org.mule.runtime.core.api.construct.Flow.builder;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.processor.MessageProcessors.newChain;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.fromSingleComponent;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.just;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.meta.AbstractAnnotatedObject;
+import org.mule.runtime.core.DefaultEventContext;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.api.management.stats.LatencyHistogram;
+import org.mule.runtime.core.api.processor.MessageProcessorChain;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.tck.junit4.AbstractReactiveProcessorTestCase;
+
+import java.util.List;
+
+import org.hamcrest.FeatureMatcher;
+import org.hamcrest.Matcher;
+import org.junit.After;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+public class LatencyStatisticsTestCase extends AbstractReactiveProcessorTestCase {
+
+  private final LocatedProcessor first = new LocatedProcessor("first", CPU_LITE);
+  private final LocatedProcessor second = new LocatedProcessor("second", CPU_LITE);
+  private final LocatedProcessor intensive = new LocatedProcessor("intensive", CPU_INTENSIVE);
+
+  private Flow flow;
+
+  public LatencyStatisticsTestCase(Mode mode) {
+    super(mode);
+  }
+
+  @After
+  public void after() throws MuleException {
+    if (flow != null) {
+      flow.stop();
+      flow.dispose();
+    }
+  }
+
+  @Test
+  public void flowAndProcessorLatenciesRecorded() throws Exception {
+    createFlow();
+    flow.getStatistics().setEnabled(true);
+
+    process(flow, newEvent());
+
+    FlowConstructStatistics statistics = flow.getStatistics();
+    assertThat(statistics.getProcessingTimeHistogram().getTotalCount(), equalTo(1L));
+    assertThat(statistics.getProcessorTimeHistograms().size(), equalTo(3));
+    assertThat(statistics.getProcessorTimeHistograms(), hasEntry(equalTo(first.getPath()), recorded(1)));
+    assertThat(statistics.getProcessorTimeHistograms(), hasEntry(equalTo(second.getPath()), recorded(1)));
+    assertThat(statistics.getProcessorTimeHistograms(), hasEntry(equalTo(intensive.getPath()), recorded(1)));
+  }
+
+  @Test
+  public void statisticsEnabledAfterStart() throws Exception {
+    createFlow();
+
+    process(flow, newEvent());
+    assertThat(flow.getStatistics().getProcessingTimeHistogram().getTotalCount(), equalTo(0L));
+    assertThat(flow.getStatistics().getProcessorTimeHistograms().isEmpty(), is(true));
+
+    flow.getStatistics().setEnabled(true);
+    process(flow, newEvent());
+
+    assertThat(flow.getStatistics().getProcessingTimeHistogram().getTotalCount(), equalTo(1L));
+    assertThat(flow.getStatistics().getProcessorTimeHistograms(), hasEntry(equalTo(first.getPath()), recorded(1)));
+    assertThat(flow.getStatistics().getProcessorTimeHistograms(), hasEntry(equalTo(intensive.getPath()), recorded(1)));
+  }
+
+  @Test
+  public void unsampledEventsNotRecorded() throws Exception {
+    System.setProperty(MULE_STATISTICS_LATENCY_SAMPLE_RATE, String.valueOf(MAX_VALUE));
+    try {
+      createFlow();
+    } finally {
+      System.clearProperty(MULE_STATISTICS_LATENCY_SAMPLE_RATE);
+    }
+    flow.getStatistics().setEnabled(true);
+
+    process(flow, newEvent());
+
+    assertThat(flow.getStatistics().getTotalEventsReceived(), equalTo(1L));
+    assertThat(flow.getStatistics().getProcessingTimeHistogram().getTotalCount(), equalTo(0L));
+    assertThat(flow.getStatistics().getProcessorTimeHistograms().isEmpty(), is(true));
+  }
+
+  @Test
+  public void overlappingProcessingOfSameContextRecorded() throws Exception {
+    createFlow();
+    flow.getStatistics().setEnabled(true);
+
+    final BufferingProcessor buffering = new BufferingProcessor("buffering");
+    final MessageProcessorChain chain = newChain(buffering);
+    initialiseIfNeeded(chain, muleContext, flow);
+
+    final Event event = newEvent();
+    final List<Event> results =
+        just(event, Event.builder(event).message(of("other")).build()).transform(chain).collectList().block();
+
+    assertThat(results.size(), equalTo(2));
+    assertThat(flow.getStatistics().getProcessorTimeHistograms(), hasEntry(equalTo(buffering.getPath()), recorded(2)));
+    assertThat(results.get(0).getParameters().isEmpty(), is(true));
+    assertThat(results.get(1).getParameters().isEmpty(), is(true));
+  }
+
+  private void createFlow() throws MuleException {
+    flow = builder("flow", muleContext).processors(first, second, intensive).build();
+    flow.initialise();
+    flow.start();
+  }
+
+  private Event newEvent() {
+    return Event.builder(DefaultEventContext.create(flow, TEST_CONNECTOR_LOCATION)).message(of("")).build();
+  }
+
+  private static Matcher<LatencyHistogram> recorded(long count) {
+    return new FeatureMatcher<LatencyHistogram, Long>(equalTo(count), "a histogram with total count", "total count") {
+
+      @Override
+      protected Long featureValueOf(LatencyHistogram histogram) {
+        return histogram.getTotalCount();
+      }
+    };
+  }
+
+  private static class LocatedProcessor extends AbstractAnnotatedObject implements Processor {
+
+    private final ComponentLocation location;
+    private final ProcessingType processingType;
+
+    private LocatedProcessor(String name, ProcessingType processingType) {
+      this.location = fromSingleComponent(name);
+      this.processingType = processingType;
+    }
+
+    @Override
+    public Event process(Event event) throws MuleException {
+      return event;
+    }
+
+    @Override
+    public ComponentLocation getLocation() {
+      return location;
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return processingType;
+    }
+
+    private String getPath() {
+      return location.getLocation();
+    }
+  }
+
+  /**
+   * Lets events through in pairs, so that both events of a pair are being processed before either of them completes.
+   */
+  private static class BufferingProcessor extends LocatedProcessor {
+
+    private BufferingProcessor(String name) {
+      super(name, CPU_LITE);
+    }
+
+    @Override
+    public Publisher<Event> apply(Publisher<Event> publisher) {
+      return from(publisher).buffer(2).flatMapIterable(events -> events);
+    }
+  }
+}
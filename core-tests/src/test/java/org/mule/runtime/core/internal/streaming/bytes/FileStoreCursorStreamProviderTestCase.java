@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@RunWith(Parameterized.class)
+@SmallTest
+@Features(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends CursorStreamProviderTestCase {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        {"Fits in memory", KB_256, MB_1, MB_2},
+        {"Overflows to disk", MB_2, KB_256, MB_2},
+    });
+  }
+
+  public FileStoreCursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+    super(name, dataSize, bufferSize, maxBufferSize);
+  }
+
+  @Override
+  protected CursorStreamProvider createStreamProvider(int bufferSize, int maxBufferSize, ByteArrayInputStream dataStream) {
+    return new FileStoreCursorStreamProvider(dataStream, createConfig(bufferSize), bufferManager);
+  }
+
+  protected FileStoreCursorStreamConfig createConfig(int bufferSize) {
+    return new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE));
+  }
+}
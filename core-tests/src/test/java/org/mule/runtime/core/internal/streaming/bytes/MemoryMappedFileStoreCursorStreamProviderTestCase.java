@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@RunWith(Parameterized.class)
+@SmallTest
+@Features(STREAMING)
+public class MemoryMappedFileStoreCursorStreamProviderTestCase extends FileStoreCursorStreamProviderTestCase {
+
+  public MemoryMappedFileStoreCursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+    super(name, dataSize, bufferSize, maxBufferSize);
+  }
+
+  @Override
+  protected FileStoreCursorStreamConfig createConfig(int bufferSize) {
+    return new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE), true);
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.toIntExact;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.rules.ExpectedException.none;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.core.api.util.concurrent.Latch;
+import org.mule.runtime.core.streaming.MemoryManager;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@SmallTest
+@Features(STREAMING)
+public class SizeClassedByteBufferManagerTestCase extends AbstractMuleTestCase {
+
+  private static final int CAPACITY = 100;
+  private static final int SAME_CLASS_CAPACITY = CAPACITY + 1;
+  private static final int OTHER_CLASS_CAPACITY = CAPACITY * 2;
+
+  @Rule
+  public ExpectedException expected = none();
+
+  private SizeClassedByteBufferManager bufferManager = new SizeClassedByteBufferManager();
+
+  @After
+  public void after() {
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void pooling() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
+    assertThat(buffer.array(), is(sameInstance(newBuffer.array())));
+  }
+
+  @Test
+  public void grow() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    ByteBuffer newBuffer = bufferManager.allocate(CAPACITY);
+
+    assertThat(buffer.array(), not(sameInstance(newBuffer.array())));
+  }
+
+  @Test
+  public void sameSizeClassSharesPool() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer sameClassBuffer = bufferManager.allocate(SAME_CLASS_CAPACITY);
+    assertThat(buffer.array(), is(sameInstance(sameClassBuffer.array())));
+  }
+
+  @Test
+  public void differentPoolsPerSizeClass() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    ByteBuffer otherClassBuffer = bufferManager.allocate(OTHER_CLASS_CAPACITY);
+    assertThat(buffer.array(), not(sameInstance(otherClassBuffer.array())));
+  }
+
+  @Test
+  public void capacity() throws Exception {
+    assertCapacity(CAPACITY);
+    assertCapacity(SAME_CLASS_CAPACITY);
+    assertCapacity(OTHER_CLASS_CAPACITY);
+  }
+
+  @Test
+  public void directBuffers() throws Exception {
+    bufferManager = new SizeClassedByteBufferManager(mockMemoryManager(1024 * 1024), SECONDS.toMillis(2), true);
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    assertThat(buffer.isDirect(), is(true));
+    assertThat(buffer.capacity(), is(CAPACITY));
+
+    bufferManager.deallocate(buffer);
+    assertThat(bufferManager.allocate(SAME_CLASS_CAPACITY).isDirect(), is(true));
+    assertThat(bufferManager.getHitsCount(), is(1L));
+  }
+
+  @Test
+  public void statistics() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+    bufferManager.allocate(CAPACITY);
+    bufferManager.allocate(CAPACITY);
+
+    assertThat(bufferManager.getAllocationsCount(), is(3L));
+    assertThat(bufferManager.getHitsCount(), is(1L));
+    assertThat(bufferManager.getMissesCount(), is(2L));
+    assertThat(bufferManager.getWaitsCount(), is(0L));
+    assertThat(bufferManager.getRetainedMemory(), is(256L));
+  }
+
+  @Test
+  public void foreignBufferRejected() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    expected.expect(IllegalArgumentException.class);
+    try {
+      bufferManager.deallocate(ByteBuffer.allocate(SAME_CLASS_CAPACITY));
+    } finally {
+      assertThat(bufferManager.allocate(CAPACITY).array(), is(sameInstance(buffer.array())));
+      assertThat(bufferManager.allocate(CAPACITY).array(), not(sameInstance(buffer.array())));
+    }
+  }
+
+  @Test
+  public void doubleDeallocationRejected() throws Exception {
+    ByteBuffer buffer = bufferManager.allocate(CAPACITY);
+    bufferManager.deallocate(buffer);
+
+    expected.expect(IllegalArgumentException.class);
+    try {
+      bufferManager.deallocate(buffer);
+    } finally {
+      assertThat(bufferManager.getRetainedMemory(), is(128L));
+      assertThat(bufferManager.allocate(CAPACITY).array(), is(sameInstance(buffer.array())));
+      assertThat(bufferManager.allocate(CAPACITY).array(), not(sameInstance(buffer.array())));
+    }
+  }
+
+  @Test
+  public void idleBuffersReleasedWhenMemoryExhausted() throws Exception {
+    final int bufferCapacity = 1024;
+    bufferManager = new SizeClassedByteBufferManager(mockMemoryManager(bufferCapacity * 4), SECONDS.toMillis(2), false);
+
+    ByteBuffer buffer = bufferManager.allocate(bufferCapacity);
+    bufferManager.deallocate(buffer);
+
+    bufferManager.allocate(bufferCapacity * 2);
+    bufferManager.allocate(bufferCapacity * 2);
+
+    assertThat(bufferManager.getWaitsCount(), is(0L));
+    assertThat(bufferManager.getRetainedMemory(), is((long) bufferCapacity * 4));
+  }
+
+  @Test
+  public void limitTotalMemory() throws Exception {
+    final long maxMemory = 4 * 1024;
+    final int bufferCapacity = toIntExact(maxMemory / 2);
+    final long waitTimeoutMillis = SECONDS.toMillis(2);
+
+    bufferManager = new SizeClassedByteBufferManager(mockMemoryManager(maxMemory), waitTimeoutMillis, false);
+
+    ByteBuffer buffer1 = bufferManager.allocate(bufferCapacity);
+    ByteBuffer buffer2 = bufferManager.allocate(bufferCapacity);
+
+    Latch latch = new Latch();
+    Reference<Boolean> maxMemoryExhausted = new Reference<>(false);
+
+    new Thread(() -> {
+      try {
+        bufferManager.allocate(bufferCapacity);
+        latch.release();
+      } catch (Exception e) {
+        maxMemoryExhausted.set(e.getCause() instanceof MaxStreamingMemoryExceededException);
+      }
+    }).start();
+
+    assertThat(latch.await(waitTimeoutMillis * 2, MILLISECONDS), is(false));
+    assertThat(maxMemoryExhausted.get(), is(true));
+    assertThat(bufferManager.getWaitsCount(), is(1L));
+
+    bufferManager.deallocate(buffer1);
+
+    Latch secondLatch = new Latch();
+    new Thread(() -> {
+      try {
+        bufferManager.allocate(bufferCapacity);
+        maxMemoryExhausted.set(false);
+      } finally {
+        secondLatch.release();
+      }
+    }).start();
+
+    assertThat(secondLatch.await(waitTimeoutMillis, MILLISECONDS), is(true));
+    assertThat(maxMemoryExhausted.get(), is(false));
+    bufferManager.deallocate(buffer2);
+  }
+
+  private MemoryManager mockMemoryManager(long maxMemory) {
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn(maxMemory * 2);
+    return memoryManager;
+  }
+
+  private void assertCapacity(int capacity) {
+    ByteBuffer buffer = bufferManager.allocate(capacity);
+    try {
+      assertThat(buffer.capacity(), is(capacity));
+    } finally {
+      bufferManager.deallocate(buffer);
+    }
+  }
+}
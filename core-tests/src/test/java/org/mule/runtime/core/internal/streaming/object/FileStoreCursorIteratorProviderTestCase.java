@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.toIntExact;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.runtime.core.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@RunWith(Parameterized.class)
+@SmallTest
+@Features(STREAMING)
+@Stories(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 500;
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        {"Fits in memory", DATA_SIZE, DATA_SIZE, 1},
+        {"Overflows to disk", DATA_SIZE, 30, 2}
+    });
+  }
+
+  private final int halfDataLength;
+  private final FileStoreCursorIteratorConfig config;
+  private CursorIteratorProvider streamProvider;
+
+  public FileStoreCursorIteratorProviderTestCase(String name, int dataSize, int bucketSize, int maxInMemoryBuckets) {
+    super(dataSize);
+    config = new FileStoreCursorIteratorConfig(bucketSize, maxInMemoryBuckets);
+    halfDataLength = data.size() / 2;
+  }
+
+  @Before
+  public void before() {
+    streamProvider = new FileStoreCursorIteratorProvider(toStreamingIterator(data), config, muleContext.getObjectSerializer());
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    streamProvider.releaseResources();
+  }
+
+  @Test
+  @Description("fully consume stream in a single thread")
+  public void readFullyWithInSingleCursor() throws IOException {
+    withCursor(cursor -> checkEquals(data, cursor));
+  }
+
+  @Test
+  @Description("Partially consume the stream, rewind back to zero and consume fully")
+  public void rewindWhileStreamNotFullyConsumed() throws Exception {
+    withCursor(cursor -> {
+      List<Object> read = read(cursor, halfDataLength);
+      checkEquals(read, data.subList(0, halfDataLength));
+
+      cursor.seek(0);
+      read = read(cursor, data.size());
+      checkEquals(read, data);
+    });
+  }
+
+  @Test
+  @Description("Consume the stream, then go back to positions which are no longer held in memory")
+  public void randomSeekAfterFullConsumption() throws Exception {
+    withCursor(cursor -> {
+      checkEquals(data, cursor);
+
+      seekAndAssert(cursor, 0, 10);
+      seekAndAssert(cursor, halfDataLength, halfDataLength);
+      seekAndAssert(cursor, 1, 1);
+    });
+  }
+
+  @Test
+  @Description("Two open cursors read opposite ends of the stream")
+  public void twoOpenCursorsReadingOppositeEndsOfTheStream() throws Exception {
+    withCursor(cursor1 -> withCursor(cursor2 -> {
+      seekAndAssert(cursor2, halfDataLength, halfDataLength);
+      seekAndAssert(cursor1, 0, halfDataLength);
+    }));
+  }
+
+  private void seekAndAssert(CursorIterator<Object> cursor, long position, int size) throws Exception {
+    cursor.seek(position);
+    List<Object> read = read(cursor, size);
+    checkEquals(read, data.subList(toIntExact(position), toIntExact(position + size)));
+  }
+
+  private void withCursor(CheckedConsumer<CursorIterator> consumer) throws IOException {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      consumer.accept(cursor);
+    }
+  }
+}
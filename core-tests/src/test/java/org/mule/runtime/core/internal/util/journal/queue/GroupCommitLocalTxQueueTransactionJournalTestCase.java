@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal.queue;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.GROUP_COMMIT_BATCH_SIZE_PROPERTY_KEY;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.GROUP_COMMIT_PROPERTY_KEY;
+
+import org.mule.runtime.core.util.queue.DefaultQueueStore;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import com.google.common.collect.Multimap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Answers;
+
+/**
+ * Runs the journal tests with group commit enabled. A batch size of one forces a flush on each operation, so the journal files
+ * have the same content as without group commit when checked.
+ */
+public class GroupCommitLocalTxQueueTransactionJournalTestCase extends LocalTxQueueTransactionJournalTestCase {
+
+  private static final int THREADS = 8;
+  private static final int TXS_PER_THREAD = 50;
+
+  @Rule
+  public SystemProperty groupCommit = new SystemProperty(GROUP_COMMIT_PROPERTY_KEY, "true");
+
+  @Rule
+  public SystemProperty groupCommitBatchSize = new SystemProperty(GROUP_COMMIT_BATCH_SIZE_PROPERTY_KEY, "1");
+
+  @Test
+  public void concurrentCommits() throws Exception {
+    DefaultQueueStore queueStore = mock(DefaultQueueStore.class, Answers.RETURNS_DEEP_STUBS.get());
+    when(queueStore.getName()).thenReturn("queueName");
+
+    final LocalTxQueueTransactionJournal transactionJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    final List<Throwable> errors = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      final int firstTxId = i * TXS_PER_THREAD;
+      Thread thread = new Thread(() -> {
+        try {
+          for (int txId = firstTxId; txId < firstTxId + TXS_PER_THREAD; txId++) {
+            transactionJournal.logAdd(txId, queueStore, "data");
+            // leave one transaction of each thread pending
+            if (txId != firstTxId) {
+              transactionJournal.logCommit(txId);
+            }
+          }
+        } catch (Throwable e) {
+          errors.add(e);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(errors.isEmpty(), is(true));
+    transactionJournal.close();
+
+    LocalTxQueueTransactionJournal recoveredJournal =
+        new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    Multimap<Integer, LocalQueueTxJournalEntry> allEntries = recoveredJournal.getAllLogEntries();
+    assertThat(allEntries.keySet().size(), is(THREADS));
+    for (int i = 0; i < THREADS; i++) {
+      assertThat(allEntries.get(i * TXS_PER_THREAD).size(), is(1));
+    }
+    recoveredJournal.close();
+  }
+
+}
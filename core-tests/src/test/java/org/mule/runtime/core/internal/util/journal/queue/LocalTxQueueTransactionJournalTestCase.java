@@ -14,8 +14,11 @@ import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.LOG_FILES_COUNT_PROPERTY_KEY;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.LOG_FILE_NAME_FORMAT;
 import static org.mule.runtime.core.internal.util.journal.TransactionJournal.TX1_LOG_FILE_NAME;
 import static org.mule.runtime.core.internal.util.journal.TransactionJournal.TX2_LOG_FILE_NAME;
+import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
 
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
@@ -217,6 +220,30 @@ public class LocalTxQueueTransactionJournalTestCase extends AbstractMuleContextT
     assertThat(logFile2.length(), greaterThan(0l));
   }
 
+  @Test
+  public void useSeveralLogFiles() throws Exception {
+    testWithSystemProperty(LOG_FILES_COUNT_PROPERTY_KEY, "4", () -> {
+      LocalTxQueueTransactionJournal transactionJournal =
+          new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext, 1);
+      // each file holds a quarter of the maximum size, so entries are spread through all of them
+      for (int i = 0; i < 10; i++) {
+        logAddWith100kbEntry(transactionJournal, i);
+      }
+      for (int i = 1; i <= 4; i++) {
+        assertThat(getLogFile(i).length(), greaterThan(0l));
+      }
+      for (int i = 0; i < 10; i++) {
+        transactionJournal.logCommit(i);
+      }
+      // files exceeding minimum size for clear are emptied once all their transactions are resolved
+      for (int i = 1; i <= 3; i++) {
+        assertThat(getLogFile(i).length(), is(0l));
+      }
+      assertThat(getLogFile(4).length(), greaterThan(0l));
+      transactionJournal.close();
+    });
+  }
+
   @Test
   public void doNotExceedMaximumByFar() throws Exception {
     LocalTxQueueTransactionJournal transactionJournal =
@@ -251,6 +278,10 @@ public class LocalTxQueueTransactionJournalTestCase extends AbstractMuleContextT
     return new File(temporaryFolder.getRoot().getAbsolutePath(), TX2_LOG_FILE_NAME);
   }
 
+  private File getLogFile(int index) {
+    return new File(temporaryFolder.getRoot().getAbsolutePath(), String.format(LOG_FILE_NAME_FORMAT, index));
+  }
+
   private File getFirstLogFile() {
     return new File(temporaryFolder.getRoot().getAbsolutePath(), TX1_LOG_FILE_NAME);
   }
@@ -7,7 +7,11 @@
 
 package org.mule.runtime.core.processor.chain;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
+import static java.util.Arrays.stream;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
@@ -27,6 +31,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PROCESSOR_CHAIN_FUSION;
 import static org.mule.runtime.core.api.construct.Flow.builder;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
@@ -738,6 +743,71 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     process(builder.build(), getTestEventUsingFlow("0"));
   }
 
+  @Test
+  public void testFusedMPChain() throws Exception {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    AppendingMP mp1 = new AppendingMP("1");
+    AppendingMP mp2 = new AppendingMP("2");
+    AppendingMP mp3 = getAppendingMP("3");
+    AppendingMP mp4 = new AppendingMP("4");
+    AppendingMP mp5 = new AppendingMP("5");
+    builder.chain(mp1, mp2, mp3, mp4, mp5);
+    assertEquals("012345", process(builder.build(), getTestEventUsingFlow("0")).getMessage().getPayload().getValue());
+
+    // Fusion is only performed when the chain is applied, processing with the blocking API executes each processor in turn
+    assertThat(mp1.fused, is(mode == NON_BLOCKING));
+    assertThat(mp2.fused, is(mode == NON_BLOCKING));
+    assertThat(mp3.fused, is(false));
+    assertThat(mp4.fused, is(mode == NON_BLOCKING));
+    assertThat(mp5.fused, is(mode == NON_BLOCKING));
+  }
+
+  @Test
+  public void testMPChainWithFusionDisabled() throws Exception {
+    setProperty(MULE_PROCESSOR_CHAIN_FUSION, "false");
+    try {
+      DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+      AppendingMP mp1 = new AppendingMP("1");
+      AppendingMP mp2 = new AppendingMP("2");
+      builder.chain(mp1, mp2);
+      assertEquals("012", process(builder.build(), getTestEventUsingFlow("0")).getMessage().getPayload().getValue());
+      assertThat(mp1.fused, is(false));
+      assertThat(mp2.fused, is(false));
+    } finally {
+      clearProperty(MULE_PROCESSOR_CHAIN_FUSION);
+    }
+  }
+
+  @Test
+  public void testFusedMPChainWithNullReturn() throws Exception {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+
+    AppendingMP mp1 = new AppendingMP("1");
+    ReturnNullMP nullmp = new ReturnNullMP();
+    AppendingMP mp2 = new AppendingMP("2");
+    builder.chain(mp1, nullmp, mp2);
+
+    assertNull(process(builder.build(), getTestEventUsingFlow("0")));
+    assertEquals("01", nullmp.event.getMessage().getPayload().getValue());
+    assertThat(mp1.fused, is(mode == NON_BLOCKING));
+    assertNull(mp2.event);
+  }
+
+  @Test
+  public void testExceptionBetweenFused() throws Exception {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    AppendingMP mp1 = new AppendingMP("1");
+    AppendingMP mp2 = new AppendingMP("2");
+    builder.chain(mp1, new ExceptionThrowingMessageProcessor(), mp2);
+    expectedException.expect(IllegalStateException.class);
+    try {
+      process(builder.build(), getTestEventUsingFlow("0"));
+    } finally {
+      assertThat(mp1.fused, is(mode == NON_BLOCKING));
+      assertNull(mp2.event);
+    }
+  }
+
   @Test
   public void testExceptionInResponse() throws Exception {
     DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
@@ -765,6 +835,14 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     return new NonBlockingAppendingMP(append);
   }
 
+  /**
+   * @return whether the calling processor is being executed as part of a sequence of fused processors
+   */
+  private static boolean isExecutingFused() {
+    final String fusedProcessorsClassName = AbstractMessageProcessorChain.class.getName() + "$FusedProcessors";
+    return stream(currentThread().getStackTrace()).anyMatch(frame -> frame.getClassName().equals(fusedProcessorsClassName));
+  }
+
   static class TestNonIntercepting implements Processor {
 
     @Override
@@ -823,6 +901,7 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     boolean disposed;
     Event event;
     Event resultEvent;
+    boolean fused;
 
     public AppendingMP(String append) {
       this.appendString = append;
@@ -835,6 +914,7 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
 
     private Event innerProcess(Event event) {
       this.event = event;
+      this.fused = isExecutingFused();
       Event result = Event.builder(event).message(of(event.getMessage().getPayload().getValue() + appendString)).build();
       this.resultEvent = result;
       return result;
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static java.lang.Thread.sleep;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.processor.strategy.AdaptiveWaitStrategy.MAX_SPIN_NANOS;
+import static org.mule.runtime.core.processor.strategy.AdaptiveWaitStrategy.MAX_YIELD_NANOS;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@SmallTest
+@Features(PROCESSING_STRATEGIES)
+public class AdaptiveWaitStrategyTestCase extends AbstractMuleTestCase {
+
+  private static final long TIMEOUT = 5000;
+
+  private final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy();
+  private final AtomicLong cursor = new AtomicLong(-1);
+
+  @Test
+  public void availableSequenceReturnedWithoutWaiting() throws Exception {
+    cursor.set(3);
+    assertThat(waitStrategy.waitFor(2, cursor::get, () -> {
+    }), is(3L));
+  }
+
+  @Test
+  public void blockedConsumerSignalled() throws Exception {
+    CountDownLatch waited = new CountDownLatch(1);
+    Thread consumer = new Thread(() -> {
+      try {
+        waitStrategy.waitFor(0, cursor::get, () -> {
+        });
+        waited.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    consumer.start();
+
+    // long enough for the consumer to block
+    sleep(100);
+    assertThat(waited.await(0, MILLISECONDS), is(false));
+
+    cursor.incrementAndGet();
+    waitStrategy.signalAllWhenBlocking();
+    assertThat(waited.await(TIMEOUT, MILLISECONDS), is(true));
+  }
+
+  @Test
+  public void adaptsToArrivalRate() throws Exception {
+    final AtomicLong clock = new AtomicLong();
+    final AdaptiveWaitStrategy clockedWaitStrategy = new AdaptiveWaitStrategy(clock::get);
+
+    waitWithGap(clockedWaitStrategy, clock, MILLISECONDS.toNanos(20), 20);
+    assertThat(clockedWaitStrategy.getAverageGapNanos(), greaterThan(MAX_SPIN_NANOS + MAX_YIELD_NANOS));
+
+    waitWithGap(clockedWaitStrategy, clock, MICROSECONDS.toNanos(50), 400);
+    assertThat(clockedWaitStrategy.getAverageGapNanos(), lessThan(MAX_SPIN_NANOS + MAX_YIELD_NANOS));
+  }
+
+  /**
+   * Waits for {@code events} events, each of which arrives {@code gapNanos} after the consumer starts waiting for it according
+   * to {@code clock}, so that the outcome doesn't depend on actual timing.
+   */
+  private void waitWithGap(AdaptiveWaitStrategy strategy, AtomicLong clock, long gapNanos, int events)
+      throws InterruptedException {
+    for (int i = 0; i < events; i++) {
+      final long sequence = cursor.get() + 1;
+      final AtomicBoolean arrived = new AtomicBoolean();
+      strategy.waitFor(sequence, () -> {
+        // the first read finds the event not yet available, so the consumer waits for it
+        if (arrived.getAndSet(true)) {
+          clock.addAndGet(gapNanos);
+          cursor.set(sequence);
+        }
+        return cursor.get();
+      }, () -> {
+      });
+    }
+  }
+}
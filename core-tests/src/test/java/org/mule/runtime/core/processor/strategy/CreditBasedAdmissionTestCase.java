@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.core.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import ru.yandex.qatools.allure.annotations.Features;
+
+@SmallTest
+@Features(PROCESSING_STRATEGIES)
+public class CreditBasedAdmissionTestCase extends AbstractMuleTestCase {
+
+  private static final long TIMEOUT = 5000;
+
+  private final ExecutorService scheduler = newCachedThreadPool();
+  private final Latch release = new Latch();
+  private final Latch firstCompleted = new Latch();
+  private final Latch secondCompleted = new Latch();
+  private final AtomicReference<Thread> secondThread = new AtomicReference<>();
+  private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+  private final CreditBasedAdmission admission = new CreditBasedAdmission(1, 1);
+
+  @After
+  public void after() {
+    release.release();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void queuedWhenNoCreditsLeft() throws Exception {
+    admission.admit(task(this::awaitRelease)).subscribe(null, null, firstCompleted::release);
+    admission.admit(task(() -> secondThread.set(currentThread()))).subscribe(null, null, secondCompleted::release);
+
+    assertThat(admission.getInFlightCount(), is(1));
+    assertThat(admission.getQueuedCount(), is(1));
+    assertThat(secondCompleted.await(100, MILLISECONDS), is(false));
+
+    release.release();
+    assertThat(firstCompleted.await(TIMEOUT, MILLISECONDS), is(true));
+    assertThat(secondCompleted.await(TIMEOUT, MILLISECONDS), is(true));
+
+    // The queued task is still run by its scheduler, not by the thread that returned the credit
+    assertThat(secondThread.get(), not(sameInstance(currentThread())));
+    assertCreditsReturned();
+    assertThat(admission.getQueuedCount(), is(0));
+    assertThat(admission.getRejectedCount(), is(0L));
+  }
+
+  @Test
+  public void rejectedWhenQueueFull() throws Exception {
+    admission.admit(task(this::awaitRelease)).subscribe();
+    admission.admit(task(() -> {
+    })).subscribe(null, null, secondCompleted::release);
+    admission.admit(task(() -> {
+    })).subscribe(null, error::set);
+
+    assertThat(error.get(), instanceOf(RejectedExecutionException.class));
+    assertThat(admission.getRejectedCount(), is(1L));
+    assertThat(admission.getInFlightCount(), is(1));
+    assertThat(admission.getQueuedCount(), is(1));
+
+    release.release();
+    assertThat(secondCompleted.await(TIMEOUT, MILLISECONDS), is(true));
+  }
+
+  @Test
+  public void creditReturnedOnError() throws Exception {
+    admission.admit(task(() -> {
+      throw new IllegalStateException();
+    })).subscribe(null, t -> firstCompleted.release());
+
+    assertThat(firstCompleted.await(TIMEOUT, MILLISECONDS), is(true));
+    assertCreditsReturned();
+  }
+
+  @Test
+  public void cancelledWhileQueued() throws Exception {
+    admission.admit(task(this::awaitRelease)).subscribe(null, null, firstCompleted::release);
+    Disposable queued = admission.admit(task(() -> secondThread.set(currentThread()))).subscribe();
+    assertThat(admission.getQueuedCount(), is(1));
+
+    queued.dispose();
+    assertThat(admission.getQueuedCount(), is(0));
+
+    release.release();
+    assertThat(firstCompleted.await(TIMEOUT, MILLISECONDS), is(true));
+    assertThat(secondThread.get(), is((Thread) null));
+    assertCreditsReturned();
+  }
+
+  private void assertCreditsReturned() {
+    // Credits are returned right after the termination signal is propagated
+    new PollingProber(TIMEOUT, 10).check(new JUnitLambdaProbe(() -> admission.getInFlightCount() == 0));
+  }
+
+  private Mono<Void> task(Runnable task) {
+    return Mono.<Void>fromRunnable(task).subscribeOn(fromExecutorService(scheduler));
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await(TIMEOUT, MILLISECONDS);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+
+}
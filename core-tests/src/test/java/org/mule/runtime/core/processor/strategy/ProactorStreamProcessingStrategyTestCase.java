@@ -6,15 +6,18 @@
  */
 package org.mule.runtime.core.processor.strategy;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.startsWith;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,9 +34,12 @@ import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.DefaultMuleException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.processor.strategy.SchedulingStatistics;
 import org.mule.runtime.core.api.transaction.TransactionCoordination;
 import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.processor.strategy.ProactorStreamProcessingStrategyFactory.ProactorStreamProcessingStrategy;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 import org.mule.tck.testmodels.mule.TestTransaction;
 
 import java.util.concurrent.atomic.AtomicReference;
@@ -205,7 +211,7 @@ public class ProactorStreamProcessingStrategyTestCase extends AbstractProcessing
   }
 
   @Test
-  @Description("If IO pool is busy OVERLOAD error is thrown")
+  @Description("If IO pool is busy OVERLOAD error is thrown without retrying")
   public void blockingRejectedExecution() throws Exception {
     Scheduler blockingSchedulerSpy = spy(blocking);
     Scheduler rejectingSchedulerSpy = spy(new RejectingScheduler(blockingSchedulerSpy));
@@ -222,18 +228,21 @@ public class ProactorStreamProcessingStrategyTestCase extends AbstractProcessing
         .build();
     flow.initialise();
     flow.start();
-    process(flow, testEvent());
-    verify(rejectingSchedulerSpy, times(11)).submit(any(Runnable.class));
-    verify(blockingSchedulerSpy, times(1)).submit(any(Runnable.class));
-    assertThat(threads, hasSize(1));
-    assertThat(threads.stream().filter(name -> name.startsWith(IO)).count(), equalTo(1l));
-    assertThat(threads, not(hasItem(startsWith(CPU_LIGHT))));
-    assertThat(threads, not(hasItem(startsWith(CPU_INTENSIVE))));
-    assertThat(threads, not(hasItem(startsWith(CUSTOM))));
+
+    expectRejected();
+    try {
+      process(flow, testEvent());
+    } finally {
+      verify(rejectingSchedulerSpy, times(1)).submit(any(Runnable.class));
+      verify(blockingSchedulerSpy, never()).submit(any(Runnable.class));
+      assertThat(threads, hasSize(0));
+      assertThat(((SchedulingStatistics) flow.getProcessingStrategy()).getRejectedCount(), equalTo(1l));
+      assertThat(((SchedulingStatistics) flow.getProcessingStrategy()).getInFlightCount(), equalTo(0));
+    }
   }
 
   @Test
-  @Description("If CPU INTENSIVE pool is busy OVERLOAD error is thrown")
+  @Description("If CPU INTENSIVE pool is busy OVERLOAD error is thrown without retrying")
   public void cpuIntensiveRejectedExecution() throws Exception {
     Scheduler cpuIntensiveSchedulerSpy = spy(cpuIntensive);
     Scheduler rejectingSchedulerSpy = spy(new RejectingScheduler(cpuIntensiveSchedulerSpy));
@@ -250,14 +259,54 @@ public class ProactorStreamProcessingStrategyTestCase extends AbstractProcessing
         .build();
     flow.initialise();
     flow.start();
-    process(flow, testEvent());
-    verify(rejectingSchedulerSpy, times(11)).submit(any(Runnable.class));
-    verify(cpuIntensiveSchedulerSpy, times(1)).submit(any(Runnable.class));
-    assertThat(threads, hasSize(1));
-    assertThat(threads.stream().filter(name -> name.startsWith(CPU_INTENSIVE)).count(), equalTo(1l));
-    assertThat(threads, not(hasItem(startsWith(CPU_LIGHT))));
-    assertThat(threads, not(hasItem(startsWith(IO))));
-    assertThat(threads, not(hasItem(startsWith(CUSTOM))));
+
+    expectRejected();
+    try {
+      process(flow, testEvent());
+    } finally {
+      verify(rejectingSchedulerSpy, times(1)).submit(any(Runnable.class));
+      verify(cpuIntensiveSchedulerSpy, never()).submit(any(Runnable.class));
+      assertThat(threads, hasSize(0));
+      assertThat(((SchedulingStatistics) flow.getProcessingStrategy()).getRejectedCount(), equalTo(1l));
+      assertThat(((SchedulingStatistics) flow.getProcessingStrategy()).getInFlightCount(), equalTo(0));
+    }
+  }
+
+  @Test
+  @Description("BLOCKING processors of a flow share maxConcurrency credits, further events wait for a credit without being "
+      + "handed over to the IO pool and are processed once one is returned.")
+  public void blockingAdmissionLimit() throws Exception {
+    MultipleInvocationLatchedProcessor latchedProcessor = new MultipleInvocationLatchedProcessor(BLOCKING, 2);
+
+    flow = flowBuilder.get().processors(blockingProcessor, latchedProcessor)
+        .processingStrategyFactory((context, prefix) -> new ProactorStreamProcessingStrategy(() -> ringBuffer,
+                                                                                             DEFAULT_BUFFER_SIZE,
+                                                                                             DEFAULT_SUBSCRIBER_COUNT,
+                                                                                             DEFAULT_WAIT_STRATEGY,
+                                                                                             () -> cpuLight,
+                                                                                             () -> blocking,
+                                                                                             () -> cpuIntensive,
+                                                                                             2))
+        .build();
+    flow.initialise();
+    flow.start();
+    SchedulingStatistics statistics = (SchedulingStatistics) flow.getProcessingStrategy();
+
+    for (int i = 0; i < 2; i++) {
+      asyncExecutor.submit(() -> process(flow, newEvent()));
+    }
+    latchedProcessor.getAllLatchedLatch().await();
+    asyncExecutor.submit(() -> process(flow, newEvent()));
+
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> statistics.getQueuedCount() == 1));
+    assertThat(latchedProcessor.getUnlatchedInvocationLatch().await(BLOCK_TIMEOUT, MILLISECONDS), is(false));
+    assertThat(statistics.getInFlightCount(), equalTo(2));
+
+    latchedProcessor.release();
+    assertThat(latchedProcessor.getUnlatchedInvocationLatch().await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> statistics.getInFlightCount() == 0
+        && statistics.getQueuedCount() == 0));
+    assertThat(statistics.getRejectedCount(), equalTo(0l));
   }
 
   @Test
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static java.lang.Integer.MAX_VALUE;
+import static org.mule.runtime.core.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy.WaitStrategy.ADAPTIVE;
+import static org.mule.runtime.core.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_BUFFER_SIZE;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.ProcessingStrategiesStory.REACTOR;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.processor.strategy.ReactorStreamProcessingStrategyFactory.ReactorStreamProcessingStrategy;
+
+import org.junit.After;
+import org.junit.Before;
+
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features(PROCESSING_STRATEGIES)
+@Stories(REACTOR)
+public class ShardedReactorStreamProcessingStrategyTestCase extends ReactorStreamProcessingStrategyTestCase {
+
+  private static final int SHARDS = 2;
+
+  private Scheduler shardedRingBuffer;
+
+  public ShardedReactorStreamProcessingStrategyTestCase(Mode mode) {
+    super(mode);
+  }
+
+  @Before
+  public void createShardedRingBuffer() {
+    // every shard needs its own ring-buffer thread
+    shardedRingBuffer = new TestScheduler(SHARDS, RING_BUFFER);
+  }
+
+  @After
+  public void stopShardedRingBuffer() {
+    shardedRingBuffer.stop();
+  }
+
+  @Override
+  protected ProcessingStrategy createProcessingStrategy(MuleContext muleContext, String schedulersNamePrefix) {
+    return new ReactorStreamProcessingStrategy(() -> shardedRingBuffer,
+                                               DEFAULT_BUFFER_SIZE,
+                                               SHARDS,
+                                               ADAPTIVE.name(),
+                                               () -> cpuLight,
+                                               MAX_VALUE,
+                                               true);
+  }
+
+}
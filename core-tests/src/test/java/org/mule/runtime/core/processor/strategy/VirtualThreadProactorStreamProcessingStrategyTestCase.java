@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assume.assumeThat;
+import static org.mule.runtime.core.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_BUFFER_SIZE;
+import static org.mule.runtime.core.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_SUBSCRIBER_COUNT;
+import static org.mule.runtime.core.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_WAIT_STRATEGY;
+import static org.mule.runtime.core.processor.strategy.VirtualThreads.isSupported;
+import static org.mule.runtime.core.processor.strategy.VirtualThreads.newVirtualThreadPerTaskExecutor;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.ProcessingStrategiesStory.PROACTOR;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.processor.strategy.VirtualThreadProactorStreamProcessingStrategyFactory.VirtualThreadProactorStreamProcessingStrategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features(PROCESSING_STRATEGIES)
+@Stories(PROACTOR)
+public class VirtualThreadProactorStreamProcessingStrategyTestCase extends ProactorStreamProcessingStrategyTestCase {
+
+  private static final String VIRTUAL_IO = IO + ".virtual";
+
+  public VirtualThreadProactorStreamProcessingStrategyTestCase(Mode mode) {
+    super(mode);
+  }
+
+  @Before
+  public void assumeVirtualThreadsSupported() {
+    assumeThat(isSupported(), is(true));
+  }
+
+  @Override
+  protected ProcessingStrategy createProcessingStrategy(MuleContext muleContext, String schedulersNamePrefix) {
+    return new VirtualThreadProactorStreamProcessingStrategy(() -> ringBuffer,
+                                                             DEFAULT_BUFFER_SIZE,
+                                                             DEFAULT_SUBSCRIBER_COUNT,
+                                                             DEFAULT_WAIT_STRATEGY,
+                                                             () -> cpuLight,
+                                                             () -> newVirtualThreadPerTaskExecutor(VIRTUAL_IO),
+                                                             () -> cpuIntensive,
+                                                             4);
+  }
+
+  @Test
+  @Description("With the VirtualThreadProactorStreamProcessingStrategy, BLOCKING processors run on virtual threads and the IO "
+      + "scheduler is never used.")
+  public void blockingOnVirtualThreads() throws Exception {
+    flow = flowBuilder.get().processors(blockingProcessor, blockingProcessor, blockingProcessor).build();
+    flow.initialise();
+    flow.start();
+    process(flow, testEvent());
+    assertThat(threads, hasSize(equalTo(3)));
+    assertThat(threads, everyItem(startsWith(VIRTUAL_IO)));
+  }
+
+}
@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.rules.ExpectedException.none;
 import static org.mule.runtime.api.message.Message.of;
@@ -213,6 +216,33 @@ public class ForeachTestCase extends AbstractReactiveProcessorTestCase {
     assertNestedProcessedMessages();
   }
 
+  @Test
+  public void concurrentElements() throws Exception {
+    OutOfOrderProcessor outOfOrderProcessor = new OutOfOrderProcessor("bar", "zip");
+    Foreach foreach = new Foreach();
+    foreach.setMuleContext(muleContext);
+    foreach.setMaxConcurrency(2);
+    foreach.setMessageProcessors(asList(outOfOrderProcessor, event -> {
+      synchronized (processedEvents) {
+        processedEvents.add(event);
+      }
+      return event;
+    }));
+    foreach.initialise();
+    foreach.start();
+    try {
+      List<String> payload = asList("bar", "zip");
+      Event result = process(foreach, eventBuilder().message(of(payload)).build());
+
+      assertThat(outOfOrderProcessor.getProcessedPayloads(), contains((Object) "zip", "bar"));
+      assertEquals(ERR_NUMBER_MESSAGES, 2, processedEvents.size());
+      assertThat(result.getMessage().getPayload().getValue(), is((Object) payload));
+    } finally {
+      foreach.stop();
+      foreach.dispose();
+    }
+  }
+
   @Test
   public void failingNestedProcessor() throws Exception {
     RuntimeException throwable = new BufferOverflowException();
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing;
+
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.tck.junit4.AbstractMuleContextTestCase.RECEIVE_TIMEOUT;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.util.concurrent.Latch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the part with the {@code first} payload until the one with the {@code second} payload has been processed, so that
+ * processing the parts sequentially fails instead of completing.
+ */
+class OutOfOrderProcessor implements Processor {
+
+  private final Object first;
+  private final Object second;
+  private final Latch secondProcessed = new Latch();
+  private final List<Object> processedPayloads = synchronizedList(new ArrayList<>());
+
+  OutOfOrderProcessor(Object first, Object second) {
+    this.first = first;
+    this.second = second;
+  }
+
+  @Override
+  public Event process(Event event) throws MuleException {
+    final Object payload = event.getMessage().getPayload().getValue();
+    if (first.equals(payload)) {
+      try {
+        if (!secondProcessed.await(RECEIVE_TIMEOUT, MILLISECONDS)) {
+          throw new IllegalStateException("Part '" + second + "' was not processed while '" + first + "' was in flight");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+
+    processedPayloads.add(payload);
+    if (second.equals(payload)) {
+      secondProcessed.release();
+    }
+    return event;
+  }
+
+  /**
+   * @return the payloads of the processed parts, in the order in which they completed
+   */
+  List<Object> getProcessedPayloads() {
+    return processedPayloads;
+  }
+}
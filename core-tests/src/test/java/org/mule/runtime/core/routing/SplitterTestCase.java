@@ -6,7 +6,10 @@
  */
 package org.mule.runtime.core.routing;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
@@ -35,6 +38,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
@@ -130,6 +134,46 @@ public class SplitterTestCase extends AbstractMuleContextTestCase {
     assertRouted(new IteratorMessageSequence(TEST_LIST_SINGLE.iterator()), 1, false);
   }
 
+  @Test
+  public void concurrentPartsPreservingOrder() throws Exception {
+    List<Integer> payload = IntStream.rangeClosed(1, 20).boxed().collect(toList());
+    OutOfOrderProcessor listener = new OutOfOrderProcessor(1, 2);
+    Event result = processConcurrently(payload, true, listener);
+
+    assertThat(listener.getProcessedPayloads().indexOf(2), lessThan(listener.getProcessedPayloads().indexOf(1)));
+    assertThat(payloadsOf(result), is((Object) payload));
+  }
+
+  @Test
+  public void concurrentPartsWithoutOrder() throws Exception {
+    List<Integer> payload = IntStream.rangeClosed(1, 20).boxed().collect(toList());
+    OutOfOrderProcessor listener = new OutOfOrderProcessor(1, 2);
+    Event result = processConcurrently(payload.iterator(), false, listener);
+
+    assertThat(listener.getProcessedPayloads().indexOf(2), lessThan(listener.getProcessedPayloads().indexOf(1)));
+    assertThat(((List<Object>) payloadsOf(result)).stream().collect(toSet()), is((Object) new HashSet<>(payload)));
+  }
+
+  private Event processConcurrently(Object payload, boolean preserveOrder, Processor listener) throws Exception {
+    Splitter splitter = new Splitter();
+    splitter.setMuleContext(muleContext);
+    splitter.setListener(listener);
+    splitter.setMaxConcurrency(4);
+    splitter.setPreserveOrder(preserveOrder);
+    splitter.initialise();
+    splitter.start();
+    try {
+      return splitter.process(eventBuilder().message(Message.of(payload)).build());
+    } finally {
+      splitter.stop();
+    }
+  }
+
+  private Object payloadsOf(Event result) {
+    return ((List<Message>) result.getMessage().getPayload().getValue()).stream().map(m -> m.getPayload().getValue())
+        .collect(toList());
+  }
+
   private void assertRouted(Object payload, int count, boolean counted) throws Exception, MuleException {
     MuleSession session = new DefaultMuleSession();
 
@@ -121,6 +121,17 @@ public class EventCorrelatorTestCase extends AbstractMuleTestCase {
     verify(mockEventGroup, times(1)).initAfterDeserialisation(mockMuleContext);
   }
 
+  @Test
+  public void groupRetrievedFromStoreOnlyOnce() throws Exception {
+    when(mockEventCorrelatorCallback.shouldAggregateEvents(mockEventGroup)).thenReturn(false);
+    when(mockMuleEvent.getCorrelationId()).thenReturn(TEST_GROUP_ID);
+    EventCorrelator eventCorrelator = createEventCorrelator();
+    eventCorrelator.process(mockMuleEvent);
+    eventCorrelator.process(mockMuleEvent);
+    verify(mockEventGroup, times(1)).initAfterDeserialisation(mockMuleContext);
+    verify(mockEventGroup, times(2)).addEvent(mockMuleEvent);
+  }
+
   @Test
   @Ignore("MULE-7311")
   public void processesExpiredGroupInPrimaryNode() throws Exception {
@@ -112,6 +112,47 @@ public class LocalTxQueueTransactionRecovererTestCase extends AbstractMuleContex
     assertThat(muleEvent, nullValue());
   }
 
+  @Test
+  public void pollFromSeveralQueuesAndFailThenRecover() throws Exception {
+    final DefaultQueueStore otherQueue =
+        new DefaultQueueStore(QUEUE_NAME + "2", muleContext, new DefaultQueueConfiguration(0, true));
+    final QueueProvider queueProvider = createQueueProvider(inQueue, otherQueue);
+    persistentTransactionContext = new PersistentQueueTransactionContext(txLog, queueProvider);
+
+    inQueue.offer(testEvent(), 0, TIMEOUT);
+    otherQueue.offer(testEvent(), 0, TIMEOUT);
+    persistentTransactionContext.poll(inQueue, TIMEOUT);
+    persistentTransactionContext.poll(otherQueue, TIMEOUT);
+    assertThat(inQueue.getSize(), is(0));
+    assertThat(otherQueue.getSize(), is(0));
+    txLog.close();
+
+    txLog = new LocalTxQueueTransactionJournal(temporaryFolder.getRoot().getAbsolutePath(), muleContext);
+    new LocalTxQueueTransactionRecoverer(txLog, queueProvider).recover();
+    assertThat(((Event) inQueue.poll(TIMEOUT)).getContext().getId(), equalTo(testEvent().getContext().getId()));
+    assertThat(((Event) otherQueue.poll(TIMEOUT)).getContext().getId(), equalTo(testEvent().getContext().getId()));
+  }
+
+  private QueueProvider createQueueProvider(final DefaultQueueStore... queues) {
+    return new QueueProvider() {
+
+      @Override
+      public QueueStore getQueue(String queueName) {
+        throw new NotImplementedException("This is test code");
+      }
+
+      @Override
+      public RecoverableQueueStore getRecoveryQueue(String queueName) {
+        for (DefaultQueueStore queue : queues) {
+          if (queue.getName().equals(queueName)) {
+            return queue;
+          }
+        }
+        throw new IllegalArgumentException(queueName);
+      }
+    };
+  }
+
   private QueueProvider createQueueProvider(final DefaultQueueStore queue) {
     return new QueueProvider() {
 
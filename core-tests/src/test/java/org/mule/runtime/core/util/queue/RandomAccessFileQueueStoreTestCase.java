@@ -8,9 +8,14 @@ package org.mule.runtime.core.util.queue;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.util.queue.RandomAccessFileQueueStore.CHECKPOINT_INTERVAL_PROPERTY_KEY;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
 import org.mule.tck.size.SmallTest;
 
+import java.io.File;
+import java.io.RandomAccessFile;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -18,9 +23,16 @@ import org.junit.rules.TemporaryFolder;
 @SmallTest
 public class RandomAccessFileQueueStoreTestCase extends AbstractMuleTestCase {
 
+  private static final int CHECKPOINT_INTERVAL = 5;
+  private static final int NUMBER_OF_ELEMENTS = 12;
+
   @Rule
   public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+  @Rule
+  public SystemProperty checkpointInterval =
+      new SystemProperty(CHECKPOINT_INTERVAL_PROPERTY_KEY, String.valueOf(CHECKPOINT_INTERVAL));
+
   @Test
   public void getLengthWithNoFileContent() {
     final RandomAccessFileQueueStore randomAccessFileQueueStore = createRandomAccessFileQueueStore();
@@ -48,6 +60,92 @@ public class RandomAccessFileQueueStoreTestCase extends AbstractMuleTestCase {
                is((dataSize + RandomAccessFileQueueStore.CONTROL_DATA_SIZE) * numberOfElements));
   }
 
+  @Test
+  public void recoverFromCheckpointOnClose() throws Exception {
+    RandomAccessFileQueueStore queueStore = createRandomAccessFileQueueStore();
+    addElements(queueStore);
+    queueStore.removeFirst();
+    queueStore.close();
+    assertThat(getCheckpointFile().exists(), is(true));
+
+    assertElements(createRandomAccessFileQueueStore(), 1);
+  }
+
+  @Test
+  public void recoverOperationsAfterCheckpoint() throws Exception {
+    RandomAccessFileQueueStore queueStore = createRandomAccessFileQueueStore();
+    addElements(queueStore);
+    // the last operations are not included in any checkpoint, as when the queue isn't closed due to a crash
+    queueStore.removeFirst();
+    queueStore.removeFirst();
+    queueStore.addLast(new byte[] {NUMBER_OF_ELEMENTS});
+    assertThat(getCheckpointFile().exists(), is(true));
+
+    RandomAccessFileQueueStore recoveredQueueStore = createRandomAccessFileQueueStore();
+    assertThat(recoveredQueueStore.getSize(), is(NUMBER_OF_ELEMENTS - 1));
+    assertElements(recoveredQueueStore, 2);
+  }
+
+  @Test
+  public void recoverWriteToEmptyQueueAfterCheckpoint() throws Exception {
+    RandomAccessFileQueueStore queueStore = createRandomAccessFileQueueStore();
+    queueStore.addLast(new byte[] {0});
+    queueStore.addLast(new byte[] {1});
+    queueStore.addLast(new byte[] {2});
+    queueStore.remove(data -> data[0] == 2);
+    // the checkpoint is taken here, covering the three records
+    queueStore.remove(data -> data[0] == 1);
+    // leaves the file pointer right after the first record, well before the checkpointed length
+    queueStore.removeFirst();
+    queueStore.addFirst(new byte[] {NUMBER_OF_ELEMENTS});
+    assertThat(getCheckpointFile().exists(), is(true));
+
+    RandomAccessFileQueueStore recoveredQueueStore = createRandomAccessFileQueueStore();
+    assertThat(recoveredQueueStore.getSize(), is(1));
+    assertThat(recoveredQueueStore.removeFirst()[0], is((byte) NUMBER_OF_ELEMENTS));
+  }
+
+  @Test
+  public void invalidCheckpointIgnored() throws Exception {
+    RandomAccessFileQueueStore queueStore = createRandomAccessFileQueueStore();
+    addElements(queueStore);
+    queueStore.removeFirst();
+    queueStore.close();
+
+    try (RandomAccessFile checkpoint = new RandomAccessFile(getCheckpointFile(), "rw")) {
+      checkpoint.setLength(checkpoint.length() - 1);
+    }
+    assertElements(createRandomAccessFileQueueStore(), 1);
+  }
+
+  @Test
+  public void checkpointDeletedOnClear() throws Exception {
+    RandomAccessFileQueueStore queueStore = createRandomAccessFileQueueStore();
+    addElements(queueStore);
+    queueStore.clear();
+    assertThat(getCheckpointFile().exists(), is(false));
+
+    queueStore.addLast(new byte[] {0});
+    queueStore.close();
+    assertThat(createRandomAccessFileQueueStore().getSize(), is(1));
+  }
+
+  private void addElements(RandomAccessFileQueueStore queueStore) {
+    for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+      queueStore.addLast(new byte[] {(byte) i});
+    }
+  }
+
+  private void assertElements(RandomAccessFileQueueStore queueStore, int first) throws InterruptedException {
+    for (int i = first; i < NUMBER_OF_ELEMENTS; i++) {
+      assertThat(queueStore.removeFirst()[0], is((byte) i));
+    }
+  }
+
+  private File getCheckpointFile() {
+    return new File(temporaryFolder.getRoot(), "datafile.ckp");
+  }
+
   private RandomAccessFileQueueStore createRandomAccessFileQueueStore() {
     return new RandomAccessFileQueueStore(new QueueFileProvider(temporaryFolder.getRoot(), "datafile"));
   }
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.util.queue.SegmentedLogQueueStoreDelegate.SEGMENT_SIZE_PROPERTY_KEY;
+import static org.mule.runtime.core.util.queue.SegmentedLogQueueStoreDelegate.SYNC_BATCH_SIZE_PROPERTY_KEY;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SegmentedLogQueueStoreDelegateTestCase extends AbstractMuleTestCase {
+
+  private static final int SEGMENT_SIZE = 1024;
+  private static final int NUMBER_OF_MESSAGES = 100;
+  private static final String TEST_QUEUE_NAME = "test-queue";
+  private static final int PROBER_TIMEOUT = 5000;
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty segmentSize = new SystemProperty(SEGMENT_SIZE_PROPERTY_KEY, String.valueOf(SEGMENT_SIZE));
+
+  private MuleContext mockMuleContext;
+  private SegmentedLogQueueStoreDelegate queueStore;
+
+  @Before
+  public void before() {
+    mockMuleContext = mock(MuleContext.class);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+    queueStore = createTestQueueStore(TEST_QUEUE_NAME);
+  }
+
+  @After
+  public void after() {
+    queueStore.dispose();
+  }
+
+  @Test
+  public void nameWithInvalidCharacters() {
+    String[] testNames = new String[] {"test-test", "test:/test", "test?test", "test:\\test", "test&test", "test|test",
+        "seda.queue(post:\\Customer:ApiTest-config.1)"};
+
+    for (String testName : testNames) {
+      SegmentedLogQueueStoreDelegate queue = createTestQueueStore(testName);
+      queue.add(testName);
+      queue.dispose();
+    }
+  }
+
+  @Test
+  public void recoverMessagesInOrder() throws Exception {
+    writeMessages();
+    queueStore.removeFirst();
+    queueStore.addFirst("first");
+    reopenQueueStore();
+
+    assertThat(queueStore.getSize(), is(NUMBER_OF_MESSAGES));
+    assertThat(queueStore.removeFirst(), is("first"));
+    for (int i = 1; i < NUMBER_OF_MESSAGES; i++) {
+      assertThat(queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+  }
+
+  @Test
+  public void removedMessageIsNotRecovered() throws Exception {
+    writeMessages();
+    final String removedMessage = createTestDataForIndex(NUMBER_OF_MESSAGES / 2);
+    queueStore.remove(removedMessage);
+    assertThat(queueStore.contains(removedMessage), is(false));
+
+    reopenQueueStore();
+    assertThat(queueStore.getSize(), is(NUMBER_OF_MESSAGES - 1));
+    assertThat(queueStore.contains(removedMessage), is(false));
+  }
+
+  @Test
+  public void consumedSegmentsAreCompacted() throws Exception {
+    writeMessages();
+    final int segmentsCount = queueStore.getSegmentsCount();
+    assertThat(segmentsCount > 1, is(true));
+
+    while (queueStore.getSize() > 1) {
+      queueStore.removeFirst();
+    }
+    new PollingProber(PROBER_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> queueStore.getSegmentsCount() < segmentsCount));
+
+    reopenQueueStore();
+    assertThat(queueStore.getSize(), is(1));
+    assertThat(queueStore.removeFirst(), is(createTestDataForIndex(NUMBER_OF_MESSAGES - 1)));
+  }
+
+  @Test
+  public void segmentHeldByFewMessagesIsCompacted() throws Exception {
+    queueStore.add("pinned");
+    writeMessages();
+    final int segmentsCount = queueStore.getSegmentsCount();
+
+    for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+      queueStore.remove(createTestDataForIndex(i));
+    }
+
+    new PollingProber(PROBER_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> queueStore.getSegmentsCount() == 1));
+    assertThat(queueStore.getSegmentsCount(), lessThan(segmentsCount));
+
+    reopenQueueStore();
+    assertThat(queueStore.getSize(), is(1));
+    assertThat(queueStore.removeFirst(), is("pinned"));
+  }
+
+  @Test
+  public void messagesWrittenWithBatchedSyncAreRecovered() throws Exception {
+    queueStore.dispose();
+    System.setProperty(SYNC_BATCH_SIZE_PROPERTY_KEY, "16");
+    try {
+      queueStore = createTestQueueStore(TEST_QUEUE_NAME);
+    } finally {
+      System.clearProperty(SYNC_BATCH_SIZE_PROPERTY_KEY);
+    }
+
+    writeMessages();
+    queueStore.removeFirst();
+    reopenQueueStore();
+
+    assertThat(queueStore.getSize(), is(NUMBER_OF_MESSAGES - 1));
+    for (int i = 1; i < NUMBER_OF_MESSAGES; i++) {
+      assertThat(queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+  }
+
+  @Test
+  public void incompleteRecordIsDiscarded() throws Exception {
+    writeMessages();
+    queueStore.close();
+    truncateLastSegment();
+
+    queueStore = createTestQueueStore(TEST_QUEUE_NAME);
+    assertThat(queueStore.getSize(), is(NUMBER_OF_MESSAGES - 1));
+
+    queueStore.add("last");
+    reopenQueueStore();
+    assertThat(queueStore.getSize(), is(NUMBER_OF_MESSAGES));
+  }
+
+  @Test
+  public void asyncOfferedMessagesAreRecoveredInOrder() throws Exception {
+    List<CompletableFuture<Boolean>> offers = new ArrayList<>();
+    for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+      offers.add(queueStore.offerAsync(createTestDataForIndex(i)));
+    }
+    for (CompletableFuture<Boolean> offer : offers) {
+      assertThat(offer.get(PROBER_TIMEOUT, MILLISECONDS), is(true));
+    }
+
+    reopenQueueStore();
+    assertThat(queueStore.getSize(), is(NUMBER_OF_MESSAGES));
+    for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+      assertThat(queueStore.removeFirst(), is(createTestDataForIndex(i)));
+    }
+  }
+
+  @Test
+  public void asyncOfferRejectedWhenFull() throws Exception {
+    queueStore.dispose();
+    queueStore = new SegmentedLogQueueStoreDelegate(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath(),
+                                                    mockMuleContext, 1);
+
+    assertThat(queueStore.offerAsync("first").get(PROBER_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(queueStore.offerAsync("second").get(PROBER_TIMEOUT, MILLISECONDS), is(false));
+    assertThat(queueStore.getSize(), is(1));
+  }
+
+  @Test
+  public void pendingAsyncPollServedByNextMessage() throws Exception {
+    CompletableFuture<Serializable> poll = queueStore.pollAsync(PROBER_TIMEOUT);
+    assertThat(poll.isDone(), is(false));
+
+    queueStore.add("item");
+    assertThat(poll.get(PROBER_TIMEOUT, MILLISECONDS), is("item"));
+    assertThat(queueStore.getSize(), is(0));
+  }
+
+  @Test
+  public void asyncPollTimesOut() throws Exception {
+    assertThat(queueStore.pollAsync(50).get(PROBER_TIMEOUT, MILLISECONDS), is(nullValue()));
+  }
+
+  @Test
+  public void pendingAsyncOperationsCompletedOnClose() throws Exception {
+    CompletableFuture<Serializable> poll = queueStore.pollAsync(Long.MAX_VALUE);
+    queueStore.close();
+
+    assertThat(poll.get(PROBER_TIMEOUT, MILLISECONDS), is(nullValue()));
+    try {
+      queueStore.offerAsync("item").get(PROBER_TIMEOUT, MILLISECONDS);
+      fail("Offer should fail once the queue is closed");
+    } catch (ExecutionException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void allFilesDeletedAfterDispose() {
+    queueStore.add("item");
+
+    File logDirectory =
+        SegmentedLogQueueStoreDelegate.getLogDirectory(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath());
+    assertThat(logDirectory.exists(), is(true));
+
+    queueStore.dispose();
+    assertThat(logDirectory.exists(), is(false));
+  }
+
+  private void writeMessages() {
+    for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+      queueStore.add(createTestDataForIndex(i));
+    }
+  }
+
+  private void truncateLastSegment() throws IOException {
+    File lastSegment = null;
+    for (File segment : SegmentedLogQueueStoreDelegate
+        .getLogDirectory(TEST_QUEUE_NAME, workingDirectory.getRoot().getAbsolutePath()).listFiles()) {
+      if (lastSegment == null || segment.getName().compareTo(lastSegment.getName()) > 0) {
+        lastSegment = segment;
+      }
+    }
+
+    try (RandomAccessFile segmentFile = new RandomAccessFile(lastSegment, "rw")) {
+      segmentFile.setLength(segmentFile.length() - 1);
+    }
+  }
+
+  private void reopenQueueStore() {
+    queueStore.close();
+    queueStore = createTestQueueStore(TEST_QUEUE_NAME);
+  }
+
+  private String createTestDataForIndex(int index) {
+    return "some value " + index;
+  }
+
+  private SegmentedLogQueueStoreDelegate createTestQueueStore(String queueName) {
+    return new SegmentedLogQueueStoreDelegate(queueName, workingDirectory.getRoot().getAbsolutePath(), mockMuleContext, 0);
+  }
+}
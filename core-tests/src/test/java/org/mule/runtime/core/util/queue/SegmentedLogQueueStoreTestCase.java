@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static org.mule.runtime.core.api.util.queue.QueueStoreFormat.SEGMENTED_LOG;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
+import org.mule.tck.core.util.queue.QueueStoreTestCase;
+
+public class SegmentedLogQueueStoreTestCase extends QueueStoreTestCase {
+
+  @Override
+  protected QueueStore createQueueInfoDelegate(int capacity, MuleContext muleContext) {
+    return new DefaultQueueStore("testQueue", muleContext, new DefaultQueueConfiguration(capacity, true, SEGMENTED_LOG));
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.util.store.IndexedPersistentObjectStorePartition.COMPACTION_THRESHOLD_PROPERTY_KEY;
+import static org.mule.runtime.core.util.store.IndexedPersistentObjectStorePartition.DATA_FILE;
+import static org.mule.runtime.core.util.store.IndexedPersistentObjectStorePartition.INDEX_FILE;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleConfiguration;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@SmallTest
+@RunWith(MockitoJUnitRunner.class)
+public class IndexedPersistentObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final int ENTRIES = 100;
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty compactionThreshold = new SystemProperty(COMPACTION_THRESHOLD_PROPERTY_KEY, "1024");
+
+  @Mock
+  private MuleContext muleContext;
+
+  @Mock
+  private MuleConfiguration muleConfiguration;
+
+  private IndexedPersistentObjectStorePartition<Serializable> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    when(muleContext.getConfiguration()).thenReturn(muleConfiguration);
+    when(muleConfiguration.getWorkingDirectory()).thenReturn(objectStoreFolder.getRoot().getParent());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = createPartition();
+  }
+
+  @After
+  public void after() throws ObjectStoreException {
+    partition.close();
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws ObjectStoreException {
+    final String nonExistentKey = "nonExistentKey";
+
+    try {
+      partition.retrieve(nonExistentKey);
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains(nonExistentKey));
+    }
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeSameKeyThrowsException() throws ObjectStoreException {
+    partition.store(KEY, VALUE);
+    partition.store(KEY, VALUE);
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws ObjectStoreException {
+    storeEntries();
+    assertEntries(0);
+
+    for (int i = 0; i < ENTRIES; i += 2) {
+      assertThat((String) partition.remove(KEY + i), is(VALUE + i));
+    }
+    assertThat(partition.allKeys().size(), is(ENTRIES / 2));
+    assertThat(partition.contains(KEY + 0), is(false));
+    assertThat((String) partition.retrieve(KEY + 1), is(VALUE + 1));
+  }
+
+  @Test
+  public void recoverFromIndex() throws ObjectStoreException {
+    storeEntries();
+    partition.close();
+    assertThat(new File(objectStoreFolder.getRoot(), INDEX_FILE).exists(), is(true));
+
+    partition = createPartition();
+    assertEntries(0);
+  }
+
+  @Test
+  public void recoverEntriesStoredAfterIndex() throws ObjectStoreException {
+    storeEntries();
+    partition.close();
+    partition = createPartition();
+    partition.remove(KEY + 0);
+    partition.store(KEY, VALUE);
+
+    // not closed, so the index doesn't include the last changes
+    partition = createPartition();
+    assertEntries(1);
+    assertThat((String) partition.retrieve(KEY), is(VALUE));
+  }
+
+  @Test
+  public void recoverWithoutIndex() throws ObjectStoreException {
+    storeEntries();
+    partition.remove(KEY + 0);
+
+    partition = createPartition();
+    assertEntries(1);
+  }
+
+  @Test
+  public void discardTornRecord() throws Exception {
+    storeEntries();
+    final File dataFile = new File(objectStoreFolder.getRoot(), DATA_FILE);
+    final long validLength = dataFile.length();
+    try (FileOutputStream output = new FileOutputStream(dataFile, true)) {
+      output.write(new byte[] {0, 0, 1, 0, 1, 0});
+    }
+
+    partition = createPartition();
+    assertEntries(0);
+    assertThat(dataFile.length(), is(validLength));
+    partition.store(KEY, VALUE);
+    assertThat((String) partition.retrieve(KEY), is(VALUE));
+  }
+
+  @Test
+  public void compactAfterRemovals() throws Exception {
+    storeEntries();
+    final File dataFile = new File(objectStoreFolder.getRoot(), DATA_FILE);
+    final long fullLength = dataFile.length();
+
+    for (int i = 0; i < ENTRIES - 1; i++) {
+      partition.remove(KEY + i);
+    }
+    assertThat(dataFile.length(), lessThan(fullLength));
+    assertThat((String) partition.retrieve(KEY + (ENTRIES - 1)), is(VALUE + (ENTRIES - 1)));
+
+    partition = createPartition();
+    assertThat(partition.allKeys().size(), is(1));
+    assertThat((String) partition.retrieve(KEY + (ENTRIES - 1)), is(VALUE + (ENTRIES - 1)));
+  }
+
+  @Test
+  public void expireExceedingEntries() throws ObjectStoreException {
+    storeEntries();
+    partition.expire(Long.MAX_VALUE, ENTRIES / 2);
+
+    assertThat(partition.allKeys().size(), is(ENTRIES / 2));
+    assertEntries(ENTRIES / 2);
+  }
+
+  @Test
+  public void expireOldEntries() throws Exception {
+    partition.store(KEY + 0, VALUE + 0);
+    Thread.sleep(50);
+    partition.store(KEY + 1, VALUE + 1);
+    partition.expire(25, ENTRIES);
+
+    assertThat(partition.allKeys(), is(Arrays.<Serializable>asList(KEY + 1)));
+  }
+
+  @Test
+  public void clear() throws ObjectStoreException {
+    storeEntries();
+    partition.clear();
+    assertThat(partition.allKeys().size(), is(0));
+
+    partition.store(KEY, VALUE);
+    partition = createPartition();
+    assertThat(partition.allKeys().size(), is(1));
+    assertThat(new File(objectStoreFolder.getRoot(), DATA_FILE).length(), greaterThan(0l));
+  }
+
+  private IndexedPersistentObjectStorePartition<Serializable> createPartition() throws ObjectStoreException {
+    IndexedPersistentObjectStorePartition<Serializable> partition =
+        new IndexedPersistentObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot());
+    partition.open();
+    return partition;
+  }
+
+  private void storeEntries() throws ObjectStoreException {
+    for (int i = 0; i < ENTRIES; i++) {
+      partition.store(KEY + i, VALUE + i);
+    }
+  }
+
+  private void assertEntries(int first) throws ObjectStoreException {
+    assertThat(partition.allKeys().size(), is(ENTRIES - first));
+    for (int i = first; i < ENTRIES; i++) {
+      assertThat((String) partition.retrieve(KEY + i), is(VALUE + i));
+    }
+  }
+}
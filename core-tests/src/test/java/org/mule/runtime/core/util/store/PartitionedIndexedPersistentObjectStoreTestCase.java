@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.Serializable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Answers;
+
+@SmallTest
+public class PartitionedIndexedPersistentObjectStoreTestCase extends AbstractMuleTestCase {
+
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+  private static final String PARTITION_NAME = "partition";
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  private MuleContext mockMuleContext = mock(MuleContext.class, Answers.RETURNS_DEEP_STUBS.get());
+  private PartitionedIndexedPersistentObjectStore<Serializable> os;
+
+  @Before
+  public void setUp() throws Exception {
+    when(mockMuleContext.getConfiguration().getWorkingDirectory()).thenReturn(workingDirectory.getRoot().getAbsolutePath());
+    addJavaSerializerToMockMuleContext(mockMuleContext);
+    when(mockMuleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    os = new PartitionedIndexedPersistentObjectStore<>(mockMuleContext);
+  }
+
+  @After
+  public void after() {
+    os.dispose();
+  }
+
+  @Test
+  public void partitionsDoNotCollide() throws ObjectStoreException {
+    os.open(PARTITION_NAME);
+    os.store(KEY, VALUE);
+    os.store(KEY, VALUE + PARTITION_NAME, PARTITION_NAME);
+
+    assertThat((String) os.retrieve(KEY), is(VALUE));
+    assertThat((String) os.retrieve(KEY, PARTITION_NAME), is(VALUE + PARTITION_NAME));
+    assertThat(os.allPartitions(), containsInAnyOrder(AbstractPartitionedObjectStore.DEFAULT_PARTITION, PARTITION_NAME));
+  }
+
+  @Test
+  public void persistDataAfterDispose() throws ObjectStoreException {
+    os.open(PARTITION_NAME);
+    os.store(KEY, VALUE, PARTITION_NAME);
+    os.dispose();
+
+    os = new PartitionedIndexedPersistentObjectStore<>(mockMuleContext);
+    os.open();
+    assertThat((String) os.retrieve(KEY, PARTITION_NAME), is(VALUE));
+    assertThat(os.contains(KEY), is(false));
+  }
+
+  @Test
+  public void disposePartition() throws ObjectStoreException {
+    os.open(PARTITION_NAME);
+    os.store(KEY, VALUE, PARTITION_NAME);
+    os.disposePartition(PARTITION_NAME);
+
+    assertThat(os.allKeys(PARTITION_NAME).isEmpty(), is(true));
+  }
+}
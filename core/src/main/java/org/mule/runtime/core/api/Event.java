@@ -377,6 +377,17 @@ public interface Event extends Serializable {
      */
     Builder parameters(Map<String, Object> parameters);
 
+    /**
+     * Add a parameter, keeping the ones already set.
+     *
+     * @see #parameters(Map)
+     *
+     * @param key the parameter key.
+     * @param value the parameter value.
+     * @return the builder instance
+     */
+    Builder addParameter(String key, Object value);
+
     /**
      * Remove a parameter.
      * <p>
@@ -196,11 +196,25 @@ public class MuleProperties {
   public static final String MULE_SECURITY_PROVIDER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "security.provider";
   public static final String MULE_STREAMING_BUFFER_SIZE = SYSTEM_PROPERTY_PREFIX + "streaming.bufferSize";
   public static final String MULE_STREAMING_MAX_MEMORY = SYSTEM_PROPERTY_PREFIX + "max.streaming.memory";
+  public static final String MULE_STREAMING_DIRECT_BUFFERS = SYSTEM_PROPERTY_PREFIX + "streaming.directBuffers";
   public static final String MULE_SIMPLE_LOG = SYSTEM_PROPERTY_PREFIX + "simpleLog";
   public static final String MULE_FORCE_CONSOLE_LOG = SYSTEM_PROPERTY_PREFIX + "forceConsoleLog";
   public static final String MULE_LOG_CONTEXT_DISPOSE_DELAY_MILLIS = SYSTEM_PROPERTY_PREFIX + "log.context.dispose.delay.millis";
   public static final String MULE_DEFAULT_PROCESSING_STRATEGY = SYSTEM_PROPERTY_PREFIX + "default.processing.strategy";
   public static final String MULE_FLOW_TRACE = SYSTEM_PROPERTY_PREFIX + "flowTrace";
+  public static final String MULE_FLOW_TRACE_SAMPLE_RATE = SYSTEM_PROPERTY_PREFIX + "flowTrace.sampleRate";
+  public static final String MULE_FLOW_TRACE_RING_BUFFER_SIZE = SYSTEM_PROPERTY_PREFIX + "flowTrace.ringBufferSize";
+  public static final String MULE_PROCESSOR_CHAIN_FUSION = SYSTEM_PROPERTY_PREFIX + "processorChain.fusion";
+  public static final String MULE_EXPRESSIONS_CACHE_MAX_SIZE = SYSTEM_PROPERTY_PREFIX + "expressions.cache.maxSize";
+  public static final String MULE_DYNAMIC_CONFIG_CACHE_MAX_SIZE = SYSTEM_PROPERTY_PREFIX + "dynamicConfig.cache.maxSize";
+  public static final String MULE_DYNAMIC_CONFIG_CACHE_MIN_IDLE_MILLIS =
+      SYSTEM_PROPERTY_PREFIX + "dynamicConfig.cache.minIdleMillis";
+  public static final String MULE_STATISTICS_LATENCY_SAMPLE_RATE = SYSTEM_PROPERTY_PREFIX + "statistics.latency.sampleRate";
+  public static final String MULE_NOTIFICATIONS_ASYNC_QUEUE_SIZE = SYSTEM_PROPERTY_PREFIX + "notifications.async.queueSize";
+  public static final String MULE_NOTIFICATIONS_ASYNC_OVERFLOW_POLICY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.async.overflowPolicy";
+  public static final String MULE_NOTIFICATIONS_ASYNC_BLOCKING_PARALLELISM =
+      SYSTEM_PROPERTY_PREFIX + "notifications.async.blockingParallelism";
   public static final String MULE_LOG_VERBOSE_CLASSLOADING = SYSTEM_PROPERTY_PREFIX + "classloading.verbose";
   public static final String MULE_MEL_AS_DEFAULT = SYSTEM_PROPERTY_PREFIX + "test.mel.default";
 }
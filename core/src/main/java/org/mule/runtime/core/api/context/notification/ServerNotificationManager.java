@@ -6,8 +6,14 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.System.getProperty;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_ASYNC_BLOCKING_PARALLELISM;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_ASYNC_OVERFLOW_POLICY;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_NOTIFICATIONS_ASYNC_QUEUE_SIZE;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
@@ -16,6 +22,8 @@ import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.internal.context.notification.AsyncNotificationQueue;
+import org.mule.runtime.core.internal.context.notification.AsyncNotificationQueue.OverflowPolicy;
 import org.mule.runtime.core.internal.context.notification.Configuration;
 import org.mule.runtime.core.internal.context.notification.OptimisedNotificationHandler;
 import org.mule.runtime.core.internal.context.notification.Policy;
@@ -24,7 +32,6 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.slf4j.Logger;
 
@@ -48,6 +55,21 @@ import org.slf4j.Logger;
  * </p>
  *
  * <p>
+ * Synchronous notifications are dispatched in the firing thread without any locking. Asynchronous ones are put in bounded
+ * queues, one for blocking listeners and one for non blocking ones, which are dispatched in batches (see
+ * {@link AsyncNotificationQueue}). A notification is only put in the queue of a kind of listener if there is any listener of
+ * that kind for it. The size of each queue and what to do when it's full can be configured through the
+ * {@code mule.notifications.async.queueSize} and {@code mule.notifications.async.overflowPolicy} system properties.
+ * </p>
+ *
+ * <p>
+ * Non blocking listeners receive the notifications one at a time, in the order they were fired. Blocking listeners receive them
+ * from up to {@code mule.notifications.async.blockingParallelism} tasks in parallel (twice the available processors by default),
+ * so a slow listener doesn't hold back the rest. Unlike when each notification was submitted to the IO scheduler on its own,
+ * this parallelism is bounded.
+ * </p>
+ *
+ * <p>
  * Note that, because of subclass relationships, we need to be very careful about exactly what is enabled and disabled:
  * <ul>
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
@@ -58,13 +80,28 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
 
+  private static final int DEFAULT_ASYNC_QUEUE_SIZE = 10000;
+  private static final int DEFAULT_ASYNC_BLOCKING_PARALLELISM = getRuntime().availableProcessors() * 2;
+  private static final NotifierCallback SYNC_NOTIFIER = (listener, nfn) -> listener.onNotification(nfn);
+  private static final NotifierCallback BLOCKING_NOTIFIER = (listener, nfn) -> {
+    if (listener.isBlocking()) {
+      listener.onNotification(nfn);
+    }
+  };
+  private static final NotifierCallback NON_BLOCKING_NOTIFIER = (listener, nfn) -> {
+    if (!listener.isBlocking()) {
+      listener.onNotification(nfn);
+    }
+  };
+
   private boolean dynamic = false;
-  private Configuration configuration = new Configuration();
-  private ReentrantReadWriteLock disposeLock = new ReentrantReadWriteLock();
+  private volatile Configuration configuration = new Configuration();
   private AtomicBoolean disposed = new AtomicBoolean(false);
   private MuleContext muleContext;
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private AsyncNotificationQueue nonBlockingNotifications;
+  private AsyncNotificationQueue blockingNotifications;
 
   @Override
   public boolean isNotificationDynamic() {
@@ -84,6 +121,17 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = muleContext.getSchedulerService().cpuLightScheduler();
     notificationsIoScheduler = muleContext.getSchedulerService().ioScheduler();
+
+    final int asyncQueueSize = getInteger(MULE_NOTIFICATIONS_ASYNC_QUEUE_SIZE, DEFAULT_ASYNC_QUEUE_SIZE);
+    final OverflowPolicy overflowPolicy =
+        OverflowPolicy.valueOf(getProperty(MULE_NOTIFICATIONS_ASYNC_OVERFLOW_POLICY, OverflowPolicy.DROP_NEWEST.name()));
+    nonBlockingNotifications = new AsyncNotificationQueue(asyncQueueSize, overflowPolicy, notificationsLiteScheduler,
+                                                          nfn -> notifyListeners(nfn, NON_BLOCKING_NOTIFIER));
+    final int blockingParallelism =
+        getInteger(MULE_NOTIFICATIONS_ASYNC_BLOCKING_PARALLELISM, DEFAULT_ASYNC_BLOCKING_PARALLELISM);
+    blockingNotifications = new AsyncNotificationQueue(asyncQueueSize, overflowPolicy, blockingParallelism,
+                                                       notificationsIoScheduler,
+                                                       nfn -> notifyListeners(nfn, BLOCKING_NOTIFIER));
   }
 
   public void addInterfaceToType(Class<? extends ServerNotificationListener> iface, Class<? extends ServerNotification> event) {
@@ -139,32 +187,38 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
 
   @Override
   public void fireNotification(ServerNotification notification) {
-    disposeLock.readLock().lock();
-    try {
-      if (disposed.get()) {
-        logger.warn("Notification not enqueued after ServerNotificationManager disposal: " + notification);
+    if (disposed.get()) {
+      logger.warn("Notification not enqueued after ServerNotificationManager disposal: " + notification);
+      return;
+    }
+
+    notification.setMuleContext(muleContext);
+    if (notification instanceof SynchronousServerEvent) {
+      notifyListeners(notification, SYNC_NOTIFIER);
+    } else if (nonBlockingNotifications != null) {
+      // the configuration is released when this manager is disposed, which may happen concurrently
+      final Configuration configuration = this.configuration;
+      if (configuration == null) {
         return;
       }
-
-      notification.setMuleContext(muleContext);
-      if (notification instanceof SynchronousServerEvent) {
-        notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
-      } else {
-        notifyListeners(notification, (listener, nfn) -> {
-          if (listener.isBlocking()) {
-            notificationsIoScheduler.submit(() -> listener.onNotification(nfn));
-          } else {
-            notificationsLiteScheduler.submit(() -> listener.onNotification(nfn));
-          }
-        });
+      final Policy policy = configuration.getPolicy();
+      if (policy.hasNonBlockingListeners(notification.getClass())) {
+        nonBlockingNotifications.offer(notification);
+      }
+      if (policy.hasBlockingListeners(notification.getClass())) {
+        blockingNotifications.offer(notification);
       }
-    } finally {
-      disposeLock.readLock().unlock();
+    } else if (logger.isDebugEnabled()) {
+      logger.debug("Asynchronous notification not dispatched before ServerNotificationManager initialisation: " + notification);
     }
   }
 
   protected void notifyListeners(ServerNotification notification, NotifierCallback notifier) {
-    configuration.getPolicy().dispatch(notification, notifier);
+    // the configuration is released when this manager is disposed, which may happen concurrently
+    final Configuration configuration = this.configuration;
+    if (configuration != null) {
+      configuration.getPolicy().dispatch(notification, notifier);
+    }
   }
 
   @Override
@@ -179,24 +233,40 @@ public class ServerNotificationManager implements Initialisable, Disposable, Ser
     return enabled;
   }
 
+  /**
+   * @return the amount of asynchronous notifications which were not dispatched because the notifications queue was full
+   */
+  public long getDroppedAsyncNotificationsCount() {
+    long dropped = 0;
+    if (nonBlockingNotifications != null) {
+      dropped += nonBlockingNotifications.getDroppedCount();
+    }
+    if (blockingNotifications != null) {
+      dropped += blockingNotifications.getDroppedCount();
+    }
+    return dropped;
+  }
+
   @Override
   public void dispose() {
-    disposeLock.writeLock().lock();
-    try {
-      if (notificationsLiteScheduler != null) {
-        notificationsLiteScheduler.stop();
-        notificationsLiteScheduler = null;
-      }
-      if (notificationsIoScheduler != null) {
-        notificationsIoScheduler.stop();
-        notificationsIoScheduler = null;
-      }
+    disposed.set(true);
 
-      disposed.set(true);
-      configuration = null;
-    } finally {
-      disposeLock.writeLock().unlock();
+    if (notificationsLiteScheduler != null) {
+      notificationsLiteScheduler.stop();
+      notificationsLiteScheduler = null;
+    }
+    if (notificationsIoScheduler != null) {
+      notificationsIoScheduler.stop();
+      notificationsIoScheduler = null;
     }
+    if (nonBlockingNotifications != null) {
+      nonBlockingNotifications.clear();
+    }
+    if (blockingNotifications != null) {
+      blockingNotifications.clear();
+    }
+
+    configuration = null;
   }
 
   /**
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.el;
+
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+
+/**
+ * Statistics of the cache an {@link ExpressionManager} keeps of the expressions it has already resolved, keyed by the text of
+ * the expression. Expression managers that implement this interface provide these values so that the size of the cache can be
+ * tuned for applications that evaluate many distinct expressions. They are published along with the rest of the statistics of
+ * the application through {@link AllStatistics#getExpressionCacheStatistics()}.
+ *
+ * @since 4.0
+ */
+public interface ExpressionCacheStatistics {
+
+  /**
+   * @return the number of expressions currently held in the cache.
+   */
+  long getCacheSize();
+
+  /**
+   * @return the number of lookups that found the expression already resolved.
+   */
+  long getCacheHitCount();
+
+  /**
+   * @return the number of lookups that had to resolve the expression.
+   */
+  long getCacheMissCount();
+
+  /**
+   * @return the number of expressions removed from the cache to keep it within its maximum size.
+   */
+  long getCacheEvictionCount();
+
+}
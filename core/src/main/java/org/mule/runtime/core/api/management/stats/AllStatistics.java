@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.api.management.stats;
 
+import org.mule.runtime.core.api.el.ExpressionCacheStatistics;
 import org.mule.runtime.core.internal.management.stats.ApplicationStatistics;
 
 import java.util.Collection;
@@ -21,6 +22,7 @@ public class AllStatistics {
   private long startTime;
   private ApplicationStatistics appStats;
   private Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<String, FlowConstructStatistics>();
+  private volatile ExpressionCacheStatistics expressionCacheStats;
 
   /**
    * 
@@ -84,4 +86,34 @@ public class AllStatistics {
   public FlowConstructStatistics getApplicationStatistics() {
     return appStats;
   }
+
+  /**
+   * @param expressionCacheStats the statistics of the cache of resolved expressions of the application
+   */
+  public void setExpressionCacheStatistics(ExpressionCacheStatistics expressionCacheStats) {
+    this.expressionCacheStats = expressionCacheStats;
+  }
+
+  /**
+   * @return the statistics of the cache of resolved expressions of the application, such as its hit rate, or {@code null} if
+   *         its expression manager doesn't provide them
+   */
+  public ExpressionCacheStatistics getExpressionCacheStatistics() {
+    return expressionCacheStats;
+  }
+
+  /**
+   * @return the {@link LatencyHistogram} of the processing time of each flow construct which records one, keyed by the flow
+   *         construct name. Percentiles such as {@link LatencyHistogram#getP99()} can be queried from them.
+   */
+  public synchronized Map<String, LatencyHistogram> getProcessingTimeHistograms() {
+    Map<String, LatencyHistogram> histograms = new HashMap<>();
+    for (FlowConstructStatistics statistics : flowConstructStats.values()) {
+      LatencyHistogram histogram = statistics.getProcessingTimeHistogram();
+      if (histogram != null) {
+        histograms.put(statistics.getName(), histogram);
+      }
+    }
+    return histograms;
+  }
 }
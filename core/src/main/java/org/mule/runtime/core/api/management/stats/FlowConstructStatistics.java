@@ -7,6 +7,10 @@
 
 package org.mule.runtime.core.api.management.stats;
 
+import static java.util.Collections.emptyMap;
+
+import java.util.Map;
+
 /**
  * Maintains different statistics for {@link org.mule.runtime.core.api.construct.FlowConstruct} instances
  */
@@ -42,6 +46,45 @@ public interface FlowConstructStatistics extends Statistics {
    */
   void addFlowExecutionBranchTime(long time, long total);
 
+  /**
+   * Indicates whether the latency of the current execution should be recorded in the histograms of this statistics. Latencies
+   * may be sampled to reduce the overhead of measuring them.
+   *
+   * @return {@code true} if the latency should be measured and recorded
+   */
+  default boolean isLatencySampled() {
+    return false;
+  }
+
+  /**
+   * Records the time required to process an event in {@link #getProcessingTimeHistogram()}
+   *
+   * @param nanos the processing time, in nanoseconds
+   */
+  default void addProcessingTimeSample(long nanos) {}
+
+  /**
+   * Records the time required by a processor of this flow construct to process an event
+   *
+   * @param processorPath the path of the processor in the flow construct
+   * @param nanos the processing time, in nanoseconds
+   */
+  default void addProcessorTimeSample(String processorPath, long nanos) {}
+
+  /**
+   * @return the histogram of the times required to process an event, or {@code null} if not tracked
+   */
+  default LatencyHistogram getProcessingTimeHistogram() {
+    return null;
+  }
+
+  /**
+   * @return the histograms of the times required by each processor to process an event, by processor path
+   */
+  default Map<String, LatencyHistogram> getProcessorTimeHistograms() {
+    return emptyMap();
+  }
+
   long getAverageProcessingTime();
 
   long getProcessedEvents();
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies, in microseconds, which allows to obtain the value at any percentile, such as the median or the
+ * tail ones, with a relative error lower than 2%.
+ * <p>
+ * Values are counted in buckets of exponentially growing size, each one of them split in a fixed amount of sub-buckets. This
+ * keeps a bounded memory footprint of about 14 kilobytes regardless of the amount of recorded values, and recording a value is just
+ * an atomic increment without any locking. Values greater than {@link #MAX_TRACKABLE_VALUE} are counted as that value.
+ *
+ * @since 4.0
+ */
+public class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = -4396436474733453207L;
+
+  /**
+   * The greatest value that can be distinguished, one hour in microseconds.
+   */
+  public static final long MAX_TRACKABLE_VALUE = 60L * 60 * 1000 * 1000;
+
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+  private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_TRACKABLE_VALUE) + 1);
+
+  /**
+   * Records the given latency
+   *
+   * @param value the latency in microseconds
+   */
+  public void recordValue(long value) {
+    counts.incrementAndGet(indexOf(value));
+  }
+
+  /**
+   * @return the amount of recorded values
+   */
+  public long getTotalCount() {
+    long total = 0;
+    for (int i = 0; i < counts.length(); ++i) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * @param percentile a percentile between {@code 0} and {@code 100}
+   * @return the value, in microseconds, below which the given {@code percentile} of the recorded values fall, or {@code 0} if no
+   *         value was recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    final long[] snapshot = new long[counts.length()];
+    long total = 0;
+    for (int i = 0; i < snapshot.length; ++i) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    final long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+    long count = 0;
+    for (int i = 0; i < snapshot.length; ++i) {
+      count += snapshot[i];
+      if (count >= countAtPercentile) {
+        return highestEquivalentValue(i);
+      }
+    }
+    return MAX_TRACKABLE_VALUE;
+  }
+
+  /**
+   * @return the median of the recorded values, in microseconds
+   */
+  public long getP50() {
+    return getValueAtPercentile(50);
+  }
+
+  /**
+   * @return the 99th percentile of the recorded values, in microseconds
+   */
+  public long getP99() {
+    return getValueAtPercentile(99);
+  }
+
+  /**
+   * @return the 99.9th percentile of the recorded values, in microseconds
+   */
+  public long getP999() {
+    return getValueAtPercentile(99.9);
+  }
+
+  /**
+   * Discards all the recorded values
+   */
+  public void clear() {
+    for (int i = 0; i < counts.length(); ++i) {
+      counts.set(i, 0);
+    }
+  }
+
+  private static int indexOf(long value) {
+    final long boundedValue = Math.min(Math.max(value, 0), MAX_TRACKABLE_VALUE);
+    if (boundedValue < SUB_BUCKET_COUNT) {
+      return (int) boundedValue;
+    }
+
+    // the amount of bits to discard so that the value falls in the upper half of the sub-buckets
+    final int shift = (63 - numberOfLeadingZeros(boundedValue)) - (SUB_BUCKET_BITS - 1);
+    return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (int) (boundedValue >>> shift) - SUB_BUCKET_HALF_COUNT;
+  }
+
+  private static long highestEquivalentValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+    final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+    return Math.min(((subBucket + 1) << shift) - 1, MAX_TRACKABLE_VALUE);
+  }
+}
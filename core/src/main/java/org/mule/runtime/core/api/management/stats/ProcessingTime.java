@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.api.management.stats;
 
+import static java.lang.System.nanoTime;
+
 import org.mule.runtime.core.api.construct.FlowConstruct;
 
 import java.io.Serializable;
@@ -21,8 +23,11 @@ public class ProcessingTime implements Serializable {
    */
   private static final long serialVersionUID = 1L;
 
+  private static final long NOT_SAMPLED = -1;
+
   private AtomicLong accumulator = new AtomicLong();
   private FlowConstructStatistics statistics;
+  private final long startNanos;
 
   /**
    * Create a ProcessingTime for the specified MuleSession.
@@ -46,6 +51,7 @@ public class ProcessingTime implements Serializable {
    */
   private ProcessingTime(FlowConstructStatistics stats, ProcessingTimeWatcher processorTimeWatcher) {
     this.statistics = stats;
+    this.startNanos = stats.isLatencySampled() ? nanoTime() : NOT_SAMPLED;
     processorTimeWatcher.addProcessingTime(this);
   }
 
@@ -61,6 +67,24 @@ public class ProcessingTime implements Serializable {
     }
   }
 
+  /**
+   * Add the time elapsed since the event started being processed to the flow construct's processing time histogram, if the
+   * latency of this event is sampled.
+   */
+  public void addFlowExecutionLatency() {
+    if (startNanos != NOT_SAMPLED && statistics.isEnabled()) {
+      statistics.addProcessingTimeSample(nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * @return whether the latencies of this event are recorded. This is decided once for each event when it starts being
+   *         processed, so that either all or none of the processors it goes through are measured.
+   */
+  public boolean isLatencySampled() {
+    return startNanos != NOT_SAMPLED;
+  }
+
   /**
    * Convert processing time to effective processing time. If processing took less than a tick, we consider it to have been one
    * millisecond
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.processor.strategy;
+
+/**
+ * Gauges of the work a {@link ProcessingStrategy} hands over to shared schedulers. Processing strategies that implement this
+ * interface provide these values for the flow they are used in, so that its {@code maxConcurrency} can be sized from data.
+ *
+ * @since 4.0
+ */
+public interface SchedulingStatistics {
+
+  /**
+   * @return the number of tasks that a shared scheduler has rejected since the processing strategy was started.
+   */
+  long getRejectedCount();
+
+  /**
+   * @return the number of tasks currently waiting for a free slot before being handed over to a scheduler.
+   */
+  int getQueuedCount();
+
+  /**
+   * @return the number of tasks currently handed over to a scheduler, either waiting in its queue or running.
+   */
+  int getInFlightCount();
+
+}
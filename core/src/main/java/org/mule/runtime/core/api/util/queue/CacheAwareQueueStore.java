@@ -10,6 +10,7 @@ import org.mule.runtime.core.util.queue.QueueStore;
 import org.mule.runtime.core.util.queue.QueueStoreCacheListener;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Wrapper for QueueStore so the cache in {@link AbstractQueueManager} gets cleaned up when a
@@ -45,6 +46,16 @@ class CacheAwareQueueStore implements QueueStore {
     return queueStore.poll(timeout);
   }
 
+  @Override
+  public CompletableFuture<Boolean> offerAsync(Serializable o) {
+    return queueStore.offerAsync(o);
+  }
+
+  @Override
+  public CompletableFuture<Serializable> pollAsync(long timeout) {
+    return queueStore.pollAsync(timeout);
+  }
+
   @Override
   public Serializable peek() throws InterruptedException {
     return queueStore.peek();
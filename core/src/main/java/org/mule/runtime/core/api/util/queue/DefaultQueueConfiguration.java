@@ -6,18 +6,26 @@
  */
 package org.mule.runtime.core.api.util.queue;
 
+import static org.mule.runtime.core.api.util.queue.QueueStoreFormat.DUAL_FILE;
+
 public class DefaultQueueConfiguration implements QueueConfiguration {
 
   private final boolean persistent;
   private final int capacity;
+  private final QueueStoreFormat storeFormat;
 
   public DefaultQueueConfiguration() {
     this(QueueConfiguration.MAXIMUM_CAPACITY, false);
   }
 
   public DefaultQueueConfiguration(int capacity, boolean isPersistent) {
+    this(capacity, isPersistent, DUAL_FILE);
+  }
+
+  public DefaultQueueConfiguration(int capacity, boolean isPersistent, QueueStoreFormat storeFormat) {
     this.capacity = capacity;
     this.persistent = isPersistent;
+    this.storeFormat = storeFormat;
   }
 
   @Override
@@ -30,9 +38,15 @@ public class DefaultQueueConfiguration implements QueueConfiguration {
     return capacity;
   }
 
+  @Override
+  public QueueStoreFormat getStoreFormat() {
+    return storeFormat;
+  }
+
   @Override
   public String toString() {
-    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s}", persistent, capacity);
+    return String.format("DefaultQueueConfiguration{" + "persistent=%s, capacity=%s, storeFormat=%s}", persistent, capacity,
+                         storeFormat);
   }
 
   @Override
@@ -43,6 +57,7 @@ public class DefaultQueueConfiguration implements QueueConfiguration {
     if (!obj.getClass().equals(this.getClass())) {
       return false;
     }
-    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity;
+    return persistent == ((DefaultQueueConfiguration) obj).persistent && capacity == ((DefaultQueueConfiguration) obj).capacity
+        && storeFormat == ((DefaultQueueConfiguration) obj).storeFormat;
   }
 }
@@ -12,6 +12,7 @@ import org.mule.runtime.api.meta.NamedObject;
 import org.mule.runtime.api.store.ObjectStoreException;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for mule queues used for VM.
@@ -43,6 +44,51 @@ public interface Queue extends NamedObject {
 
   boolean offer(Serializable object, long timeout) throws InterruptedException, ObjectStoreException;
 
+  /**
+   * Offers a new object to this queue without waiting for it to be stored.
+   * <p>
+   * Persistent queues may batch the writes of many producers and complete the returned future once the object is durable. This
+   * default implementation performs a non waiting {@link #offer(Serializable, long)} in the calling thread.
+   *
+   * @param object the object to add
+   * @return a future completed with {@code true} once the object is stored, or {@code false} if the queue is full
+   * @since 4.0
+   */
+  default CompletableFuture<Boolean> offerAsync(Serializable object) {
+    CompletableFuture<Boolean> future = new CompletableFuture<>();
+    try {
+      future.complete(offer(object, 0));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(e);
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Retrieves an object from this queue without blocking the caller while waiting for one to be available.
+   * <p>
+   * This default implementation performs a {@link #poll(long)} in the calling thread.
+   *
+   * @param timeout the time, in milliseconds, to wait for an object to be available
+   * @return a future completed with the retrieved object, or with {@code null} if none was available within the {@code timeout}
+   * @since 4.0
+   */
+  default CompletableFuture<Serializable> pollAsync(long timeout) {
+    CompletableFuture<Serializable> future = new CompletableFuture<>();
+    try {
+      future.complete(poll(timeout));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(e);
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
   /**
    * Discards all the elements in the queue
    * 
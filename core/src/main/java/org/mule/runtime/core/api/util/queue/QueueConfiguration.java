@@ -17,4 +17,11 @@ public interface QueueConfiguration {
 
   public int getCapacity();
 
+  /**
+   * @return the format in which the queue entries are stored when the queue is persistent
+   */
+  default QueueStoreFormat getStoreFormat() {
+    return QueueStoreFormat.DUAL_FILE;
+  }
+
 }
@@ -9,6 +9,7 @@ package org.mule.runtime.core.api.util.queue;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A DefaultQueueStore delegates the actual work of processing its queue to one of these.
@@ -25,11 +26,48 @@ public interface QueueStoreDelegate {
    */
   boolean offer(Serializable o, int room, long timeout) throws InterruptedException;
 
+  /**
+   * Offer to append a new member to the end of the queue without waiting for it to be stored. Implementations backed by a
+   * persistent storage may batch the writes of many producers and complete the future once the member is durable.
+   *
+   * @return a future completed with {@code true} once the member is stored, or {@code false} if the queue is full
+   */
+  default CompletableFuture<Boolean> offerAsync(Serializable o) {
+    CompletableFuture<Boolean> future = new CompletableFuture<>();
+    try {
+      future.complete(offer(o, 0, 0));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(e);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
   /**
    * Poll the queue for its first member, and, if there is one, remove and return it
    */
   Serializable poll(long timeout) throws InterruptedException;
 
+  /**
+   * Poll the queue for its first member without blocking the caller while waiting for one.
+   *
+   * @return a future completed with the first member, or with {@code null} if there was none within the {@code timeout}
+   */
+  default CompletableFuture<Serializable> pollAsync(long timeout) {
+    CompletableFuture<Serializable> future = new CompletableFuture<>();
+    try {
+      future.complete(poll(timeout));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.completeExceptionally(e);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
   /**
    * return, but do not remove, the first member of the queue
    */
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.util.queue;
+
+/**
+ * The storage formats available for persistent queues.
+ *
+ * @since 4.0
+ */
+public enum QueueStoreFormat {
+
+  /**
+   * Queue entries are kept in two files which are used alternately, marking each entry as removed once it's consumed.
+   */
+  DUAL_FILE,
+
+  /**
+   * Queue entries are appended to a log split into segments. Segments which no longer hold any entry are compacted in
+   * the background. By default every write is synced to disk before it completes. Syncing in batches, which is faster but may
+   * lose the last writes on a crash, can be enabled through the {@code mule.queue.log.syncBatchSize} and
+   * {@code mule.queue.log.syncInterval} system properties.
+   */
+  SEGMENTED_LOG
+}
@@ -23,8 +23,8 @@ import org.mule.runtime.core.util.queue.QueueXaResourceManager;
 import org.mule.runtime.core.util.queue.RecoverableQueueStore;
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The Transactional Queue Manager is responsible for creating and Managing transactional Queues. Queues can also be persistent by
@@ -40,7 +40,8 @@ public class TransactionalQueueManager extends AbstractQueueManager {
   // Due to current VMConnector and TransactionQueueManager relationship we must close all the recovered queues
   // since queue configuration is applied after recovery and not taking into consideration once queues are created
   // for recovery. See https://www.mulesoft.org/jira/browse/MULE-7420
-  private Map<String, RecoverableQueueStore> queuesAccessedForRecovery = new HashMap<String, RecoverableQueueStore>();
+  // Queues are recovered concurrently, see LocalTxQueueTransactionRecoverer
+  private Map<String, RecoverableQueueStore> queuesAccessedForRecovery = new ConcurrentHashMap<>();
 
   /**
    * {@inheritDoc}
@@ -77,12 +78,8 @@ public class TransactionalQueueManager extends AbstractQueueManager {
 
   @Override
   public RecoverableQueueStore getRecoveryQueue(String queueName) {
-    if (queuesAccessedForRecovery.containsKey(queueName)) {
-      return queuesAccessedForRecovery.get(queueName);
-    }
-    DefaultQueueStore queueStore = createQueueStore(queueName, new DefaultQueueConfiguration(0, true));
-    queuesAccessedForRecovery.put(queueName, queueStore);
-    return queueStore;
+    return queuesAccessedForRecovery.computeIfAbsent(queueName,
+                                                     name -> createQueueStore(name, new DefaultQueueConfiguration(0, true)));
   }
 
   @Override
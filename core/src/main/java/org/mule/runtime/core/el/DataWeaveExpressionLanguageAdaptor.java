@@ -124,9 +124,20 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
   public TypedValue evaluate(String expression, DataType expectedOutputType, Event event, FlowConstruct flowConstruct,
                              BindingContext context, boolean failOnNull)
       throws ExpressionRuntimeException {
+    return evaluateScript(sanitize(expression), expectedOutputType, event, flowConstruct, context);
+  }
+
+  /**
+   * Same as {@link #evaluate(String, DataType, Event, FlowConstruct, BindingContext, boolean)}, for a script that is already
+   * sanitized.
+   *
+   * @param script the DataWeave script, as returned by {@link #sanitize(String)}
+   */
+  TypedValue evaluateScript(String script, DataType expectedOutputType, Event event, FlowConstruct flowConstruct,
+                            BindingContext context) {
     BindingContext.Builder contextBuilder = bindingContextBuilderFor(event, context);
     addFlowBindings(flowConstruct, contextBuilder);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, contextBuilder.build()));
+    return evaluate(script, exp -> expressionExecutor.evaluate(exp, expectedOutputType, contextBuilder.build()));
   }
 
   @Override
@@ -137,13 +148,22 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
   @Override
   public TypedValue evaluate(String expression, Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct,
                              BindingContext context) {
-    String sanitized = sanitize(expression);
-    if (isPayloadExpression(sanitized)) {
+    return evaluateScript(sanitize(expression), event, flowConstruct, context);
+  }
+
+  /**
+   * Same as {@link #evaluate(String, Event, Event.Builder, FlowConstruct, BindingContext)}, for a script that is already
+   * sanitized.
+   *
+   * @param script the DataWeave script, as returned by {@link #sanitize(String)}
+   */
+  TypedValue evaluateScript(String script, Event event, FlowConstruct flowConstruct, BindingContext context) {
+    if (isPayloadExpression(script)) {
       return event.getMessage().getPayload();
     } else {
       BindingContext.Builder contextBuilder = bindingContextBuilderFor(event, context);
       addFlowBindings(flowConstruct, contextBuilder);
-      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, contextBuilder.build()));
+      return evaluate(script, exp -> expressionExecutor.evaluate(exp, contextBuilder.build()));
     }
   }
 
@@ -156,9 +176,18 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
   public Iterator<TypedValue<?>> split(String expression, Event event, FlowConstruct flowConstruct,
                                        BindingContext bindingContext)
       throws ExpressionRuntimeException {
+    return splitScript(sanitize(expression), event, flowConstruct, bindingContext);
+  }
+
+  /**
+   * Same as {@link #split(String, Event, FlowConstruct, BindingContext)}, for a script that is already sanitized.
+   *
+   * @param script the DataWeave script, as returned by {@link #sanitize(String)}
+   */
+  Iterator<TypedValue<?>> splitScript(String script, Event event, FlowConstruct flowConstruct, BindingContext bindingContext) {
     BindingContext.Builder contextBuilder = bindingContextBuilderFor(event, bindingContext);
     addFlowBindings(flowConstruct, contextBuilder);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.split(exp, contextBuilder.build()));
+    return evaluate(script, exp -> expressionExecutor.split(exp, contextBuilder.build()));
   }
 
   @Override
@@ -242,7 +271,13 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
     return contextBuilder;
   }
 
-  private String sanitize(String expression) {
+  /**
+   * Removes the expression brackets and the DataWeave language prefix from an expression, if present.
+   *
+   * @param expression the expression to sanitize
+   * @return the DataWeave script within {@code expression}
+   */
+  String sanitize(String expression) {
     String sanitizedExpression = expression.startsWith(DEFAULT_EXPRESSION_PREFIX)
         ? expression.substring(DEFAULT_EXPRESSION_PREFIX.length(), expression.length() - DEFAULT_EXPRESSION_POSTFIX.length())
         : expression;
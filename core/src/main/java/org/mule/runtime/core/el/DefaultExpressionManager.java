@@ -6,11 +6,13 @@
  */
 package org.mule.runtime.core.el;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static org.mule.runtime.api.el.ValidationResult.failure;
 import static org.mule.runtime.api.el.ValidationResult.success;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_EXPRESSIONS_CACHE_MAX_SIZE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_EXPRESSION_LANGUAGE;
 import static org.mule.runtime.core.api.util.ClassUtils.isInstance;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -28,6 +30,7 @@ import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.el.ExpressionCacheStatistics;
 import org.mule.runtime.core.api.el.ExtendedExpressionLanguageAdaptor;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.el.GlobalBindingContextProvider;
@@ -38,6 +41,10 @@ import org.mule.runtime.core.streaming.StreamingManager;
 import org.mule.runtime.core.internal.util.OneTimeWarning;
 import org.mule.runtime.core.api.util.TemplateParser;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -46,19 +53,29 @@ import javax.inject.Inject;
 
 import org.slf4j.Logger;
 
-public class DefaultExpressionManager implements ExtendedExpressionManager, Initialisable {
+/**
+ * Default {@link ExtendedExpressionManager} implementation, which delegates to DataWeave or MEL depending on the prefix of each
+ * expression.
+ * <p>
+ * The language of an expression and the script to hand over to it are resolved once per distinct expression text and kept in a
+ * bounded cache. Its maximum size may be changed through the {@code mule.expressions.cache.maxSize} system property, and
+ * {@code 0} disables it.
+ */
+public class DefaultExpressionManager implements ExtendedExpressionManager, ExpressionCacheStatistics, Initialisable {
 
   public static final String DW_PREFIX = "dw";
   public static final String MEL_PREFIX = "mel";
   public static final String PREFIX_EXPR_SEPARATOR = ":";
   private static final Logger LOGGER = getLogger(DefaultExpressionManager.class);
+  private static final int DEFAULT_EXPRESSIONS_CACHE_MAX_SIZE = 1000;
 
   private final OneTimeWarning parseWarning = new OneTimeWarning(LOGGER,
                                                                  "Expression parsing is deprecated, regular evaluations should be used instead.");
 
   private final MuleContext muleContext;
   private final StreamingManager streamingManager;
-  private final ExtendedExpressionLanguageAdaptor expressionLanguage;
+  private final ExpressionLanguageAdaptorHandler expressionLanguage;
+  private final LoadingCache<String, ResolvedExpression> expressionsCache;
   // Default style parser
   private final TemplateParser parser = TemplateParser.createMuleStyleParser();
   private final boolean melDefault;
@@ -71,7 +88,20 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
     final DataWeaveExpressionLanguageAdaptor dwExpressionLanguage = DataWeaveExpressionLanguageAdaptor.create(muleContext);
     final MVELExpressionLanguage mvelExpressionLanguage = muleContext.getRegistry().lookupObject(OBJECT_EXPRESSION_LANGUAGE);
     this.expressionLanguage = new ExpressionLanguageAdaptorHandler(dwExpressionLanguage, mvelExpressionLanguage);
-    this.melDefault = ((ExpressionLanguageAdaptorHandler) expressionLanguage).isMelDefault();
+    this.melDefault = expressionLanguage.isMelDefault();
+    this.expressionsCache = CacheBuilder.newBuilder()
+        .maximumSize(getInteger(MULE_EXPRESSIONS_CACHE_MAX_SIZE, DEFAULT_EXPRESSIONS_CACHE_MAX_SIZE))
+        .recordStats()
+        .build(new CacheLoader<String, ResolvedExpression>() {
+
+          @Override
+          public ResolvedExpression load(String expression) {
+            ExtendedExpressionLanguageAdaptor language = expressionLanguage.selectExpressionLanguage(expression);
+            return language == dwExpressionLanguage
+                ? new ResolvedDataWeaveExpression(expression, dwExpressionLanguage, dwExpressionLanguage.sanitize(expression))
+                : new ResolvedExpression(expression, language);
+          }
+        });
   }
 
   @Override
@@ -84,6 +114,9 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
     if (melDefault) {
       LOGGER.warn("Using MEL as the default expression language.");
     }
+    if (muleContext.getStatistics() != null) {
+      muleContext.getStatistics().setExpressionCacheStatistics(this);
+    }
   }
 
   @Override
@@ -128,7 +161,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
 
   private TypedValue evaluate(String expression, Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct,
                               BindingContext context) {
-    return handleStreaming(expressionLanguage.evaluate(expression, event, eventBuilder, flowConstruct, context), event);
+    return handleStreaming(resolve(expression).evaluate(event, eventBuilder, flowConstruct, context), event);
   }
 
   @Override
@@ -150,7 +183,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   public TypedValue evaluate(String expression, DataType outputType, BindingContext context, Event event,
                              FlowConstruct flowConstruct, boolean failOnNull)
       throws ExpressionRuntimeException {
-    return handleStreaming(expressionLanguage.evaluate(expression, outputType, event, flowConstruct, context, failOnNull), event);
+    return handleStreaming(resolve(expression).evaluate(outputType, event, flowConstruct, context, failOnNull), event);
   }
 
   private TypedValue handleStreaming(TypedValue value, Event event) {
@@ -178,7 +211,7 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
 
   @Override
   public void enrich(String expression, Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct, TypedValue value) {
-    expressionLanguage.enrich(expression, event, eventBuilder, flowConstruct, value);
+    resolve(expression).enrich(event, eventBuilder, flowConstruct, value);
   }
 
   @Override
@@ -281,13 +314,13 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   public Iterator<TypedValue<?>> split(String expression, Event event, FlowConstruct flowConstruct,
                                        BindingContext bindingContext)
       throws ExpressionRuntimeException {
-    return expressionLanguage.split(expression, event, flowConstruct, bindingContext);
+    return resolve(expression).split(event, flowConstruct, bindingContext);
   }
 
   @Override
   public Iterator<TypedValue<?>> split(String expression, Event event, BindingContext bindingContext)
       throws ExpressionRuntimeException {
-    return expressionLanguage.split(expression, event, bindingContext);
+    return resolve(expression).split(event, null, bindingContext);
   }
 
   @Override
@@ -339,7 +372,31 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
 
   @Override
   public Iterator<TypedValue<?>> split(String expression, BindingContext context) {
-    return expressionLanguage.split(expression, null, context);
+    return split(expression, null, context);
+  }
+
+  private ResolvedExpression resolve(String expression) {
+    return expressionsCache.getUnchecked(expression);
+  }
+
+  @Override
+  public long getCacheSize() {
+    return expressionsCache.size();
+  }
+
+  @Override
+  public long getCacheHitCount() {
+    return expressionsCache.stats().hitCount();
+  }
+
+  @Override
+  public long getCacheMissCount() {
+    return expressionsCache.stats().missCount();
+  }
+
+  @Override
+  public long getCacheEvictionCount() {
+    return expressionsCache.stats().evictionCount();
   }
 
   /**
@@ -351,4 +408,68 @@ public class DefaultExpressionManager implements ExtendedExpressionManager, Init
   public static boolean hasMelExpression(String expression) {
     return expression.contains(DEFAULT_EXPRESSION_PREFIX + MEL_PREFIX + PREFIX_EXPR_SEPARATOR);
   }
+
+  /**
+   * An expression along with the language it is evaluated with.
+   */
+  private static class ResolvedExpression {
+
+    protected final String expression;
+    private final ExtendedExpressionLanguageAdaptor language;
+
+    private ResolvedExpression(String expression, ExtendedExpressionLanguageAdaptor language) {
+      this.expression = expression;
+      this.language = language;
+    }
+
+    TypedValue evaluate(Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct, BindingContext context) {
+      return language.evaluate(expression, event, eventBuilder, flowConstruct, context);
+    }
+
+    TypedValue evaluate(DataType outputType, Event event, FlowConstruct flowConstruct, BindingContext context,
+                        boolean failOnNull) {
+      return language.evaluate(expression, outputType, event, flowConstruct, context, failOnNull);
+    }
+
+    void enrich(Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct, TypedValue value) {
+      language.enrich(expression, event, eventBuilder, flowConstruct, value);
+    }
+
+    Iterator<TypedValue<?>> split(Event event, FlowConstruct flowConstruct, BindingContext bindingContext) {
+      return flowConstruct != null ? language.split(expression, event, flowConstruct, bindingContext)
+          : language.split(expression, event, bindingContext);
+    }
+  }
+
+  /**
+   * A DataWeave expression, which is evaluated through the already sanitized script so that its brackets and prefix are only
+   * removed once.
+   */
+  private static final class ResolvedDataWeaveExpression extends ResolvedExpression {
+
+    private final DataWeaveExpressionLanguageAdaptor dataWeave;
+    private final String script;
+
+    private ResolvedDataWeaveExpression(String expression, DataWeaveExpressionLanguageAdaptor dataWeave, String script) {
+      super(expression, dataWeave);
+      this.dataWeave = dataWeave;
+      this.script = script;
+    }
+
+    @Override
+    TypedValue evaluate(Event event, Event.Builder eventBuilder, FlowConstruct flowConstruct, BindingContext context) {
+      return dataWeave.evaluateScript(script, event, flowConstruct, context);
+    }
+
+    @Override
+    TypedValue evaluate(DataType outputType, Event event, FlowConstruct flowConstruct, BindingContext context,
+                        boolean failOnNull) {
+      return dataWeave.evaluateScript(script, outputType, event, flowConstruct, context);
+    }
+
+    @Override
+    Iterator<TypedValue<?>> split(Event event, FlowConstruct flowConstruct, BindingContext bindingContext) {
+      return dataWeave.splitScript(script, event, flowConstruct, bindingContext);
+    }
+  }
 }
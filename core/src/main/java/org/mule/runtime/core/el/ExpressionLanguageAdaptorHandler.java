@@ -130,7 +130,13 @@ public class ExpressionLanguageAdaptorHandler implements ExtendedExpressionLangu
     return selectExpressionLanguage(expression).split(expression, event, bindingContext);
   }
 
-  private ExtendedExpressionLanguageAdaptor selectExpressionLanguage(String expression) {
+  /**
+   * Resolves the language of an expression from its prefix, falling back to the default language when it has none.
+   *
+   * @param expression the expression to resolve the language for
+   * @return the {@link ExtendedExpressionLanguageAdaptor} that evaluates {@code expression}
+   */
+  ExtendedExpressionLanguageAdaptor selectExpressionLanguage(String expression) {
     final String languagePrefix = getLanguagePrefix(expression);
     if (isEmpty(languagePrefix)) {
       if (melDefault) {
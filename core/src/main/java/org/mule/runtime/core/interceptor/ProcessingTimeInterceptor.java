@@ -8,6 +8,7 @@ package org.mule.runtime.core.interceptor;
 
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.exception.MessagingException;
 import org.mule.runtime.core.api.processor.InternalMessageProcessor;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.management.stats.ProcessingTime;
@@ -40,7 +41,19 @@ public class ProcessingTimeInterceptor extends AbstractEnvelopeInterceptor imple
   public Event last(Event event, ProcessingTime time, long startTime, boolean exceptionWasThrown) throws MuleException {
     if (time != null) {
       time.addFlowExecutionBranchTime(startTime);
+      time.addFlowExecutionLatency();
     }
     return event;
   }
+
+  /**
+   * Invoked when processing in a non blocking way, in which case {@link #last(Event, ProcessingTime, long, boolean)} is not.
+   */
+  @Override
+  protected void processFinally(Event event, MessagingException exception) {
+    ProcessingTime time = event.getContext().getProcessingTime();
+    if (time != null) {
+      time.addFlowExecutionLatency();
+    }
+  }
 }
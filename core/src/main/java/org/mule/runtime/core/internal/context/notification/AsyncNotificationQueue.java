@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.context.notification.ServerNotification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+/**
+ * A bounded queue of asynchronous {@link ServerNotification}s which are dispatched in batches by tasks running in a given
+ * {@link Scheduler}, instead of submitting a task for each notification and listener.
+ * <p>
+ * Up to {@code parallelism} tasks dispatch notifications at the same time, so that a listener that takes long to process a
+ * notification only holds back the ones dispatched by the same task. With a parallelism of {@code 1}, notifications are
+ * dispatched in the order they were fired.
+ * <p>
+ * When the queue is full, notifications are dropped according to the configured {@link OverflowPolicy}. Drops are counted and
+ * logged as warnings, the first time and then once every {@code capacity} dropped notifications.
+ *
+ * @since 4.0
+ */
+public final class AsyncNotificationQueue {
+
+  /**
+   * What to do with a notification fired while the queue is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * The fired notification is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest pending notification is dropped to make room for the fired one.
+     */
+    DROP_OLDEST
+  }
+
+  private static final Logger LOGGER = getLogger(AsyncNotificationQueue.class);
+  private static final int MAX_BATCH_SIZE = 64;
+
+  private final BlockingQueue<ServerNotification> pending;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final int parallelism;
+  private final Scheduler scheduler;
+  private final Consumer<ServerNotification> dispatcher;
+  private final Runnable drainTask = this::drain;
+  private final AtomicInteger draining = new AtomicInteger();
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * Creates a new instance that dispatches notifications one at a time, in the order they were fired.
+   *
+   * @param capacity       the maximum amount of pending notifications
+   * @param overflowPolicy what to do when a notification is fired and there are already {@code capacity} pending ones
+   * @param scheduler      the {@link Scheduler} in which notifications are dispatched
+   * @param dispatcher     the callback which dispatches each notification to its listeners
+   */
+  public AsyncNotificationQueue(int capacity, OverflowPolicy overflowPolicy, Scheduler scheduler,
+                                Consumer<ServerNotification> dispatcher) {
+    this(capacity, overflowPolicy, 1, scheduler, dispatcher);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param capacity       the maximum amount of pending notifications
+   * @param overflowPolicy what to do when a notification is fired and there are already {@code capacity} pending ones
+   * @param parallelism    the maximum amount of tasks dispatching notifications at the same time
+   * @param scheduler      the {@link Scheduler} in which notifications are dispatched
+   * @param dispatcher     the callback which dispatches each notification to its listeners
+   */
+  public AsyncNotificationQueue(int capacity, OverflowPolicy overflowPolicy, int parallelism, Scheduler scheduler,
+                                Consumer<ServerNotification> dispatcher) {
+    this.pending = new ArrayBlockingQueue<>(capacity);
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.parallelism = parallelism;
+    this.scheduler = scheduler;
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Enqueues the given {@code notification} to be dispatched asynchronously.
+   *
+   * @param notification the fired notification
+   */
+  public void offer(ServerNotification notification) {
+    if (!pending.offer(notification)) {
+      if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+        onDropped(notification);
+        return;
+      }
+
+      while (!pending.offer(notification)) {
+        ServerNotification oldest = pending.poll();
+        if (oldest != null) {
+          onDropped(oldest);
+        }
+      }
+    }
+
+    scheduleDrain();
+  }
+
+  private void onDropped(ServerNotification notification) {
+    final long droppedCount = dropped.incrementAndGet();
+    if (droppedCount == 1) {
+      LOGGER.warn("Asynchronous notifications queue is full, notifications are being dropped. First dropped: " + notification);
+    } else if (droppedCount % capacity == 0) {
+      LOGGER.warn("Asynchronous notifications queue is full, " + droppedCount + " notifications dropped so far");
+    } else if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Asynchronous notifications queue is full, dropped: " + notification);
+    }
+  }
+
+  private void scheduleDrain() {
+    int current;
+    while ((current = draining.get()) < parallelism) {
+      if (draining.compareAndSet(current, current + 1)) {
+        try {
+          scheduler.execute(drainTask);
+        } catch (RejectedExecutionException e) {
+          // the pending notifications will be dispatched when the next one is fired
+          draining.decrementAndGet();
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Could not schedule the dispatching of asynchronous notifications", e);
+          }
+        }
+        return;
+      }
+    }
+  }
+
+  private void drain() {
+    try {
+      ServerNotification notification;
+      for (int i = 0; i < MAX_BATCH_SIZE && (notification = pending.poll()) != null; ++i) {
+        dispatcher.accept(notification);
+      }
+    } finally {
+      draining.decrementAndGet();
+    }
+
+    // notifications fired while the batch was being dispatched, or that didn't fit in it
+    if (!pending.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  /**
+   * Discards all the pending notifications.
+   */
+  public void clear() {
+    pending.clear();
+  }
+
+  /**
+   * @return the amount of notifications dropped because the queue was full
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+}
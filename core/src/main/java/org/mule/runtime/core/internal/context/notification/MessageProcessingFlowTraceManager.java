@@ -42,6 +42,7 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
 
   private final FlowNotificationTextDebugger pipelineProcessorDebugger;
   private final MessageProcessorTextDebugger messageProcessorTextDebugger;
+  private final SampledProcessorTracer sampledProcessorTracer;
 
   private MuleContext muleContext;
 
@@ -50,6 +51,7 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
   public MessageProcessingFlowTraceManager() {
     messageProcessorTextDebugger = new MessageProcessorTextDebugger(this);
     pipelineProcessorDebugger = new FlowNotificationTextDebugger(this);
+    sampledProcessorTracer = SampledProcessorTracer.fromSystemProperties();
   }
 
   @Override
@@ -75,6 +77,7 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
     }
 
     removeNotificationListeners();
+    sampledProcessorTracer.clear();
   }
 
   protected void handleNotificationListeners() {
@@ -153,6 +156,24 @@ public class MessageProcessingFlowTraceManager extends LocationExecutionContextP
     }
   }
 
+  /**
+   * Provides the processors entered and exited by the sampled events, as recorded when the {@code mule.flowTrace.sampleRate}
+   * system property is set. Unlike the flow stacks maintained by this manager, this sampled tracing is cheap enough to be left
+   * on in production.
+   *
+   * @return the dump of the traces recorded by {@link #getSampledProcessorTracer()}
+   */
+  public String dumpSampledTraces() {
+    return sampledProcessorTracer.dump();
+  }
+
+  /**
+   * @return the {@link SampledProcessorTracer} that records the sampled events of this manager's {@link MuleContext}
+   */
+  public SampledProcessorTracer getSampledProcessorTracer() {
+    return sampledProcessorTracer;
+  }
+
   @Override
   public Map<String, Object> getContextInfo(EnrichedNotificationInfo notificationInfo, Processor lastProcessed,
                                             FlowConstruct flowConstruct) {
@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,6 +24,9 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * For a particular configuration, this describes what events should be delivered where. It is read-only and a lazy instance is
  * cached by the {@link Configuration}
+ * <p>
+ * The {@link Sender}s for each notification class are resolved the first time such a notification is dispatched and kept in an
+ * array, so that dispatching needs neither locking nor looking up through all the configured events.
  */
 public class Policy {
 
@@ -30,6 +34,11 @@ public class Policy {
   private Map<Class<? extends ServerNotification>, Collection<Sender>> eventToSenders =
       new HashMap<>();
 
+  private static final Senders NO_SENDERS = new Senders(new Sender[0]);
+
+  // map from notification class to the senders of all the events it is assignable to
+  private final ConcurrentMap<Class<? extends ServerNotification>, Senders> notificationToSenders = new ConcurrentHashMap<>();
+
   // these are cumulative - set values should never change, they are just a cache of known info
   // they are co and contra-variant wrt to exact event type (see code below).
   private ConcurrentMap knownEventsExact = new ConcurrentHashMap();
@@ -87,33 +96,76 @@ public class Policy {
 
   public void dispatch(ServerNotification notification, NotifierCallback notifier) {
     if (null != notification) {
-      Class notfnClass = notification.getClass();
-      // search if we don't know about this event, or if we do know it is used
-      if (!knownEventsExact.containsKey(notfnClass)) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-      } else if (((Boolean) knownEventsExact.get(notfnClass)).booleanValue()) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        // reduce contention on the map by not writing the same value over and over again.
-        if (!found) {
-          knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-        }
-      }
+      doDispatch(notification, notification.getClass(), notifier);
     }
   }
 
   protected boolean doDispatch(ServerNotification notification, Class<? extends ServerNotification> notfnClass,
                                NotifierCallback notifier) {
-    boolean found = false;
-    for (Class<? extends ServerNotification> event : eventToSenders.keySet()) {
-      if (event.isAssignableFrom(notfnClass)) {
-        found = true;
-        for (Sender sender : eventToSenders.get(event)) {
-          sender.dispatch(notification, notifier);
+    Sender[] senders = getSenders(notfnClass).senders;
+    for (Sender sender : senders) {
+      sender.dispatch(notification, notifier);
+    }
+    return senders.length > 0;
+  }
+
+  /**
+   * @param notfnClass the class of the notification being fired
+   * @return whether any of the listeners that notifications of the given class are dispatched to is blocking
+   */
+  public boolean hasBlockingListeners(Class<? extends ServerNotification> notfnClass) {
+    return getSenders(notfnClass).blocking;
+  }
+
+  /**
+   * @param notfnClass the class of the notification being fired
+   * @return whether any of the listeners that notifications of the given class are dispatched to is non blocking
+   */
+  public boolean hasNonBlockingListeners(Class<? extends ServerNotification> notfnClass) {
+    return getSenders(notfnClass).nonBlocking;
+  }
+
+  private Senders getSenders(Class<? extends ServerNotification> notfnClass) {
+    Senders senders = notificationToSenders.get(notfnClass);
+    if (senders == null) {
+      senders = notificationToSenders.computeIfAbsent(notfnClass, this::resolveSenders);
+    }
+    return senders;
+  }
+
+  private Senders resolveSenders(Class<? extends ServerNotification> notfnClass) {
+    List<Sender> senders = new ArrayList<>();
+    for (Map.Entry<Class<? extends ServerNotification>, Collection<Sender>> entry : eventToSenders.entrySet()) {
+      if (entry.getKey().isAssignableFrom(notfnClass)) {
+        senders.addAll(entry.getValue());
+      }
+    }
+    return senders.isEmpty() ? NO_SENDERS : new Senders(senders.toArray(new Sender[senders.size()]));
+  }
+
+  /**
+   * The senders of a notification class, along with the kinds of listeners they dispatch to.
+   */
+  private static final class Senders {
+
+    private final Sender[] senders;
+    private final boolean blocking;
+    private final boolean nonBlocking;
+
+    private Senders(Sender[] senders) {
+      this.senders = senders;
+      boolean blocking = false;
+      boolean nonBlocking = false;
+      for (Sender sender : senders) {
+        if (sender.isListenerBlocking()) {
+          blocking = true;
+        } else {
+          nonBlocking = true;
         }
       }
+      this.blocking = blocking;
+      this.nonBlocking = nonBlocking;
     }
-    return found;
   }
 
   /**
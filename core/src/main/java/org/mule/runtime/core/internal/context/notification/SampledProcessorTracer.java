@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.System.lineSeparator;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_FLOW_TRACE_RING_BUFFER_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_FLOW_TRACE_SAMPLE_RATE;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records when processors are entered and exited for a sample of the events, so that flow tracing can be left on in
+ * production.
+ * <p>
+ * Unlike {@link MessageProcessingFlowTraceManager}, no state is built per event and no notifications are involved. Each thread
+ * writes its records into its own preallocated ring buffer, overwriting the oldest ones, so recording doesn't allocate nor
+ * contend with other threads. The records of all the threads can be obtained at any time with {@link #dump()}. Buffers only
+ * hold weak references to their threads, and the ones of threads that are gone are discarded once dumped.
+ * <p>
+ * Whether an event is sampled depends only on its id, so all the processors an event goes through are recorded even if it
+ * changes threads.
+ * <p>
+ * Each {@link org.mule.runtime.core.api.MuleContext} has its own instance, held by its {@link MessageProcessingFlowTraceManager},
+ * so that a dump only includes the events of its own application.
+ *
+ * @since 4.0
+ */
+public final class SampledProcessorTracer {
+
+  /**
+   * An instance that never traces, for processors that run without a {@link MessageProcessingFlowTraceManager}.
+   */
+  public static final SampledProcessorTracer DISABLED = new SampledProcessorTracer(0, 0);
+
+  private final int sampleRate;
+  private final int bufferSize;
+  private final Queue<ThreadTraceBuffer> buffers = new ConcurrentLinkedQueue<>();
+  private final ThreadLocal<ThreadTraceBuffer> currentBuffer = ThreadLocal.withInitial(this::createBuffer);
+
+  /**
+   * @return a new instance configured through the {@code mule.flowTrace.sampleRate} and {@code mule.flowTrace.ringBufferSize}
+   *         system properties
+   */
+  public static SampledProcessorTracer fromSystemProperties() {
+    return new SampledProcessorTracer(getInteger(MULE_FLOW_TRACE_SAMPLE_RATE, 0),
+                                      getInteger(MULE_FLOW_TRACE_RING_BUFFER_SIZE, 1024));
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param sampleRate one in how many events is traced. {@code 0} or less disables tracing.
+   * @param bufferSize the amount of records kept for each thread
+   */
+  public SampledProcessorTracer(int sampleRate, int bufferSize) {
+    this.sampleRate = sampleRate;
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * @return whether any event is traced at all
+   */
+  public boolean isEnabled() {
+    return sampleRate > 0 && bufferSize > 0;
+  }
+
+  /**
+   * @param eventId the id of the context of the event
+   * @return whether the processors the event goes through have to be recorded
+   */
+  public boolean isSampled(String eventId) {
+    return isEnabled() && (sampleRate == 1 || (eventId.hashCode() & Integer.MAX_VALUE) % sampleRate == 0);
+  }
+
+  /**
+   * Records that a sampled event is entering a processor.
+   *
+   * @param eventId       the id of the context of the event
+   * @param processorPath the location of the processor
+   */
+  public void processorEnter(String eventId, String processorPath) {
+    currentBuffer.get().record(nanoTime(), false, eventId, processorPath);
+  }
+
+  /**
+   * Records that a sampled event exited a processor.
+   *
+   * @param eventId       the id of the context of the event
+   * @param processorPath the location of the processor
+   */
+  public void processorExit(String eventId, String processorPath) {
+    currentBuffer.get().record(nanoTime(), true, eventId, processorPath);
+  }
+
+  /**
+   * Builds a textual representation of the records of all threads that are still held in their ring buffers, sorted by their
+   * timestamp. Each line contains the timestamp in nanoseconds, the thread, whether the processor was entered or exited (along
+   * with the elapsed time in microseconds when the enter record is still held), the event id and the processor location.
+   * <p>
+   * The buffers of threads that are gone are discarded after being dumped.
+   *
+   * @return the trace dump
+   */
+  public String dump() {
+    List<TraceRecord> records = new ArrayList<>();
+    for (ThreadTraceBuffer buffer : buffers) {
+      buffer.collect(records);
+      if (!buffer.isOwnerAlive()) {
+        buffers.remove(buffer);
+      }
+    }
+    records.sort(comparingLong(record -> record.timestamp));
+
+    Map<String, Long> enterTimestamps = new HashMap<>();
+    StringBuilder dump = new StringBuilder();
+    for (TraceRecord record : records) {
+      final String key = record.eventId + ' ' + record.processorPath;
+      dump.append(record.timestamp).append(" [").append(record.threadName).append("] ");
+      if (!record.exit) {
+        enterTimestamps.put(key, record.timestamp);
+        dump.append("ENTER ");
+      } else {
+        Long enterTimestamp = enterTimestamps.remove(key);
+        if (enterTimestamp != null) {
+          dump.append("EXIT (").append(NANOSECONDS.toMicros(record.timestamp - enterTimestamp)).append(" us) ");
+        } else {
+          dump.append("EXIT ");
+        }
+      }
+      dump.append(key).append(lineSeparator());
+    }
+    return dump.toString();
+  }
+
+  /**
+   * Discards the records held so far. Meant to be invoked once no more events are traced, since the threads that already
+   * recorded events keep writing into buffers that are no longer dumped.
+   */
+  public void clear() {
+    buffers.clear();
+  }
+
+  private ThreadTraceBuffer createBuffer() {
+    // Buffers of threads that are gone are also discarded once another thread needs one, in case no dump is ever taken
+    buffers.removeIf(buffer -> !buffer.isOwnerAlive());
+
+    ThreadTraceBuffer buffer = new ThreadTraceBuffer(currentThread(), bufferSize);
+    buffers.add(buffer);
+    return buffer;
+  }
+
+  /**
+   * A ring buffer only written by its owner thread. Records are published by incrementing {@link #sequence} after writing them,
+   * so readers can detect and discard the ones overwritten while being read.
+   */
+  private static final class ThreadTraceBuffer {
+
+    private final WeakReference<Thread> owner;
+    private final String ownerName;
+    private final long[] timestamps;
+    private final boolean[] exits;
+    private final String[] eventIds;
+    private final String[] processorPaths;
+    private volatile long sequence = 0;
+
+    private ThreadTraceBuffer(Thread owner, int size) {
+      this.owner = new WeakReference<>(owner);
+      this.ownerName = owner.getName();
+      // One extra slot for the record being written, so that the last size records can always be read
+      this.timestamps = new long[size + 1];
+      this.exits = new boolean[size + 1];
+      this.eventIds = new String[size + 1];
+      this.processorPaths = new String[size + 1];
+    }
+
+    private boolean isOwnerAlive() {
+      final Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+
+    private void record(long timestamp, boolean exit, String eventId, String processorPath) {
+      final long current = sequence;
+      final int index = (int) (current % timestamps.length);
+      timestamps[index] = timestamp;
+      exits[index] = exit;
+      eventIds[index] = eventId;
+      processorPaths[index] = processorPath;
+      sequence = current + 1;
+    }
+
+    private void collect(List<TraceRecord> records) {
+      final int capacity = timestamps.length;
+      final long end = sequence;
+      final long start = Math.max(0, end - (capacity - 1));
+      final List<TraceRecord> collected = new ArrayList<>();
+      for (long i = start; i < end; ++i) {
+        final int index = (int) (i % capacity);
+        collected.add(new TraceRecord(timestamps[index], exits[index], eventIds[index], processorPaths[index], ownerName));
+      }
+
+      // Discard the records the owner may have overwritten while they were being copied, including the one being written
+      final long firstIntact = sequence - capacity + 1;
+      for (int i = 0; i < collected.size(); ++i) {
+        if (start + i >= firstIntact) {
+          records.add(collected.get(i));
+        }
+      }
+    }
+  }
+
+  private static final class TraceRecord {
+
+    private final long timestamp;
+    private final boolean exit;
+    private final String eventId;
+    private final String processorPath;
+    private final String threadName;
+
+    private TraceRecord(long timestamp, boolean exit, String eventId, String processorPath, String threadName) {
+      this.timestamp = timestamp;
+      this.exit = exit;
+      this.eventId = eventId;
+      this.processorPath = processorPath;
+      this.threadName = threadName;
+    }
+  }
+}
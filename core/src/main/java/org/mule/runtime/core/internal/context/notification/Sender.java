@@ -26,6 +26,10 @@ public class Sender {
     subscriptionFilter.setCaseSensitive(false);
   }
 
+  boolean isListenerBlocking() {
+    return pair.getListener().isBlocking();
+  }
+
   public void dispatch(ServerNotification notification, NotifierCallback notifier) {
     if (pair.isNullSubscription()
         || (null != notification.getResourceIdentifier() && subscriptionFilter.accept(notification.getResourceIdentifier()))) {
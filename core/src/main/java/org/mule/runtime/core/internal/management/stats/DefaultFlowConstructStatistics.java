@@ -6,16 +6,35 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static java.lang.Integer.getInteger;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STATISTICS_LATENCY_SAMPLE_RATE;
+
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+import org.mule.runtime.core.api.management.stats.LatencyHistogram;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Default {@link org.mule.runtime.core.api.management.stats.FlowConstructStatistics} implementation.
+ * <p>
+ * Besides the processing time counters, it keeps {@link LatencyHistogram}s for the flow construct and each of its processors.
+ * In order to reduce the overhead in production, only one in {@code mule.statistics.latency.sampleRate} executions may be
+ * measured.
+ */
 public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatistics {
 
   private static final long serialVersionUID = 5337576392583767442L;
   private final AtomicLong executionError = new AtomicLong(0);
   private final AtomicLong fatalError = new AtomicLong(0);
   protected final ComponentStatistics flowStatistics = new ComponentStatistics();
+  private final int latencySampleRate = Math.max(1, getInteger(MULE_STATISTICS_LATENCY_SAMPLE_RATE, 1));
+  private final LatencyHistogram processingTimeHistogram = new LatencyHistogram();
+  private final Map<String, LatencyHistogram> processorTimeHistograms = new ConcurrentHashMap<>();
 
   public DefaultFlowConstructStatistics(String flowConstructType, String name) {
     super(flowConstructType, name);
@@ -61,6 +80,10 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
     if (flowStatistics != null) {
       flowStatistics.clear();
     }
+    if (processingTimeHistogram != null) {
+      processingTimeHistogram.clear();
+      processorTimeHistograms.clear();
+    }
   }
 
   @Override
@@ -73,6 +96,32 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
     flowStatistics.addExecutionBranchTime(time == total, time, total);
   }
 
+  @Override
+  public boolean isLatencySampled() {
+    return enabled && (latencySampleRate == 1 || ThreadLocalRandom.current().nextInt(latencySampleRate) == 0);
+  }
+
+  @Override
+  public void addProcessingTimeSample(long nanos) {
+    processingTimeHistogram.recordValue(NANOSECONDS.toMicros(nanos));
+  }
+
+  @Override
+  public void addProcessorTimeSample(String processorPath, long nanos) {
+    processorTimeHistograms.computeIfAbsent(processorPath, path -> new LatencyHistogram())
+        .recordValue(NANOSECONDS.toMicros(nanos));
+  }
+
+  @Override
+  public LatencyHistogram getProcessingTimeHistogram() {
+    return processingTimeHistogram;
+  }
+
+  @Override
+  public Map<String, LatencyHistogram> getProcessorTimeHistograms() {
+    return unmodifiableMap(processorTimeHistograms);
+  }
+
   @Override
   public long getAverageProcessingTime() {
     return flowStatistics.getAverageExecutionTime();
@@ -7,8 +7,10 @@
 package org.mule.runtime.core.internal.message;
 
 
+import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
+import static org.mule.runtime.core.api.message.GroupCorrelation.NO_CORRELATION;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
 
 import org.mule.runtime.api.exception.MuleException;
@@ -51,29 +53,39 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Default {@link Event.Builder} implementation.
+ * <p>
+ * Building an {@link Event} from an existing one doesn't copy its state: flow variables are structurally shared with the
+ * original event through a {@link CopyOnWriteCaseInsensitiveMap} until they are first written, properties and parameters maps
+ * are shared until replaced and the {@link FlowCallStack} and {@link MuleSession} are only created or cloned when a new
+ * {@link Event} is actually built. This way {@code Event.builder(event).message(message).build()} allocates a constant amount
+ * of objects regardless of the number of variables in the event.
+ */
 public class DefaultEventBuilder implements Event.Builder {
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultMessageBuilder.class);
 
   private EventContext context;
   private Message message;
-  private Map<String, TypedValue<Object>> flowVariables = new HashMap<>();
-  private Map<String, TypedValue<Object>> moduleProperties = new HashMap<>();
-  private Map<String, TypedValue<Object>> moduleParameters = new HashMap<>();
+  private CopyOnWriteCaseInsensitiveMap<String, TypedValue> flowVariables;
+  private Map<String, TypedValue<Object>> moduleProperties;
+  private Map<String, TypedValue<Object>> moduleParameters;
   private Error error;
   private FlowConstruct flow;
-  private GroupCorrelation groupCorrelation = new GroupCorrelation(null, null);
+  private GroupCorrelation groupCorrelation = NO_CORRELATION;
   private String legacyCorrelationId;
-  private FlowCallStack flowCallStack = new DefaultFlowCallStack();
+  private FlowCallStack flowCallStack;
   private ReplyToHandler replyToHandler;
   private Object replyToDestination;
-  private MuleSession session = new DefaultMuleSession();
+  private MuleSession session;
   private Event originalEvent;
   private boolean modified;
   private boolean notificationsEnabled = true;
 
   public DefaultEventBuilder(EventContext messageContext) {
     this.context = messageContext;
+    this.flowVariables = new CopyOnWriteCaseInsensitiveMap<>();
   }
 
   public DefaultEventBuilder(Event event) {
@@ -83,14 +95,18 @@ public class DefaultEventBuilder implements Event.Builder {
     this.flow = event.getFlowConstruct();
     this.groupCorrelation = event.getGroupCorrelation();
     this.legacyCorrelationId = event.getLegacyCorrelationId();
-    this.flowCallStack = event.getFlowCallStack().clone();
     this.replyToHandler = event.getReplyToHandler();
     this.replyToDestination = event.getReplyToDestination();
     this.session = event.getSession();
     this.error = event.getError().orElse(null);
     this.notificationsEnabled = event.isNotificationsEnabled();
 
-    event.getVariableNames().forEach(key -> this.flowVariables.put(key, event.getVariable(key)));
+    if (event instanceof EventImplementation) {
+      this.flowVariables = ((EventImplementation) event).variables.clone();
+    } else {
+      this.flowVariables = new CopyOnWriteCaseInsensitiveMap<>();
+      event.getVariableNames().forEach(key -> this.flowVariables.put(key, event.getVariable(key)));
+    }
     this.moduleProperties = event.getProperties();
     this.moduleParameters = event.getParameters();
   }
@@ -111,7 +127,9 @@ public class DefaultEventBuilder implements Event.Builder {
 
   @Override
   public Event.Builder variables(Map<String, Object> flowVariables) {
-    copyFromTo(flowVariables, this.flowVariables);
+    this.flowVariables.clear();
+    flowVariables.forEach((s, o) -> this.flowVariables.put(s, new TypedValue<>(o, DataType.fromObject(o))));
+    this.modified = true;
     return this;
   }
 
@@ -132,25 +150,44 @@ public class DefaultEventBuilder implements Event.Builder {
 
   @Override
   public Event.Builder removeVariable(String key) {
-    this.modified = flowVariables.remove(key) != null;
+    if (flowVariables.containsKey(key)) {
+      flowVariables.remove(key);
+      this.modified = true;
+    }
     return this;
   }
 
   @Override
   public Builder properties(Map<String, Object> properties) {
-    copyFromTo(properties, this.moduleProperties);
+    this.moduleProperties = toTypedValues(properties);
+    this.modified = true;
     return this;
   }
 
   @Override
   public Builder parameters(Map<String, Object> parameters) {
-    copyFromTo(parameters, this.moduleParameters);
+    this.moduleParameters = toTypedValues(parameters);
+    this.modified = true;
+    return this;
+  }
+
+  @Override
+  public Event.Builder addParameter(String key, Object value) {
+    // the parameters map may be shared with the original event, so it is never modified in place
+    moduleParameters = moduleParameters != null ? new HashMap<>(moduleParameters) : new HashMap<>();
+    moduleParameters.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    this.modified = true;
     return this;
   }
 
   @Override
   public Event.Builder removeParameter(String key) {
-    this.modified = moduleParameters.remove(key) != null;
+    if (moduleParameters != null && moduleParameters.containsKey(key)) {
+      // the parameters map may be shared with the original event, so it is never modified in place
+      moduleParameters = new HashMap<>(moduleParameters);
+      moduleParameters.remove(key);
+      this.modified = true;
+    }
     return this;
   }
 
@@ -217,17 +254,25 @@ public class DefaultEventBuilder implements Event.Builder {
     } else {
       requireNonNull(message);
 
-      return new EventImplementation(context, message, flowVariables, moduleProperties, moduleParameters, flow, session,
-                                     replyToDestination,
-                                     replyToHandler,
+      if (flowCallStack == null) {
+        flowCallStack = originalEvent != null ? originalEvent.getFlowCallStack().clone() : new DefaultFlowCallStack();
+      }
+      if (session == null) {
+        session = new DefaultMuleSession();
+      }
+
+      return new EventImplementation(context, message, flowVariables.clone(),
+                                     moduleProperties != null ? moduleProperties : emptyMap(),
+                                     moduleParameters != null ? moduleParameters : emptyMap(),
+                                     flow, session, replyToDestination, replyToHandler,
                                      flowCallStack, groupCorrelation, error, legacyCorrelationId, notificationsEnabled);
     }
   }
 
-  private void copyFromTo(Map<String, Object> source, Map<String, TypedValue<Object>> target) {
-    target.clear();
+  private Map<String, TypedValue<Object>> toTypedValues(Map<String, Object> source) {
+    Map<String, TypedValue<Object>> target = new HashMap<>();
     source.forEach((s, o) -> target.put(s, new TypedValue<>(o, DataType.fromObject(o))));
-    this.modified = true;
+    return target;
   }
 
   /**
@@ -258,11 +303,11 @@ public class DefaultEventBuilder implements Event.Builder {
 
     private final boolean notificationsEnabled;
 
-    private final CopyOnWriteCaseInsensitiveMap<String, TypedValue> variables = new CopyOnWriteCaseInsensitiveMap<>();
+    private final CopyOnWriteCaseInsensitiveMap<String, TypedValue> variables;
     private final Map<String, TypedValue<Object>> properties;
     private final Map<String, TypedValue<Object>> parameters;
 
-    private FlowCallStack flowCallStack = new DefaultFlowCallStack();
+    private FlowCallStack flowCallStack;
     private final String legacyCorrelationId;
     private final Error error;
 
@@ -270,7 +315,8 @@ public class DefaultEventBuilder implements Event.Builder {
     private String flowName;
 
     // Use this constructor from the builder
-    private EventImplementation(EventContext context, Message message, Map<String, TypedValue<Object>> variables,
+    private EventImplementation(EventContext context, Message message,
+                                CopyOnWriteCaseInsensitiveMap<String, TypedValue> variables,
                                 Map<String, TypedValue<Object>> properties, Map<String, TypedValue<Object>> parameters,
                                 FlowConstruct flowConstruct, MuleSession session,
                                 Object replyToDestination, ReplyToHandler replyToHandler,
@@ -283,7 +329,7 @@ public class DefaultEventBuilder implements Event.Builder {
       }
       this.session = session;
       this.message = message;
-      variables.forEach((s, value) -> this.variables.put(s, new TypedValue<>(value.getValue(), value.getDataType())));
+      this.variables = variables;
       this.properties = properties;
       this.parameters = parameters;
 
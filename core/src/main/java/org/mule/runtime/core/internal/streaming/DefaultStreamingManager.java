@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_STREAMING_DIRECT_BUFFERS;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -17,7 +20,7 @@ import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.internal.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.internal.streaming.bytes.DefaultByteStreamingManager;
-import org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager;
+import org.mule.runtime.core.internal.streaming.bytes.SizeClassedByteBufferManager;
 import org.mule.runtime.core.internal.streaming.object.DefaultObjectStreamingManager;
 import org.mule.runtime.core.streaming.StreamingManager;
 import org.mule.runtime.core.streaming.StreamingStatistics;
@@ -50,7 +53,7 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     if (!initialised) {
       statistics = new MutableStreamingStatistics();
       cursorManager = new CursorManager(statistics);
-      bufferManager = new PoolingByteBufferManager();
+      bufferManager = createByteBufferManager();
       byteStreamingManager = createByteStreamingManager();
       objectStreamingManager = createObjectStreamingManager();
 
@@ -60,6 +63,11 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     }
   }
 
+  protected ByteBufferManager createByteBufferManager() {
+    return new SizeClassedByteBufferManager(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT,
+                                            getBoolean(MULE_STREAMING_DIRECT_BUFFERS));
+  }
+
   protected ByteStreamingManager createByteStreamingManager() {
     return new DefaultByteStreamingManager(bufferManager, this);
   }
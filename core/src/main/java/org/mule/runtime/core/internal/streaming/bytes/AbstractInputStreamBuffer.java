@@ -8,7 +8,6 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
-import static java.lang.System.arraycopy;
 import static java.nio.channels.Channels.newChannel;
 import static org.mule.runtime.api.util.Preconditions.checkState;
 import org.mule.runtime.api.util.LazyValue;
@@ -170,7 +169,24 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
   private ByteBuffer softCopy(long position, int length) {
     final int offset = toIntExact(position);
     final ByteBuffer b = buffer.get();
-    return ByteBuffer.wrap(b.array(), offset, min(length, b.limit() - offset)).slice();
+    return slice(b, offset, min(length, b.limit() - offset));
+  }
+
+  /**
+   * Returns a read-only view over a region of the given {@code source}, without copying any data.
+   * <p>
+   * The returned buffer has its own position and limit, so the {@code source} indexes are not altered.
+   *
+   * @param source the buffer which holds the data
+   * @param offset the position of {@code source} in which the region starts
+   * @param length the length of the region
+   * @return a read-only {@link ByteBuffer}
+   */
+  protected static ByteBuffer slice(ByteBuffer source, int offset, int length) {
+    ByteBuffer view = source.asReadOnlyBuffer();
+    view.limit(offset + length);
+    view.position(offset);
+    return view.slice();
   }
 
   private ByteBuffer hardCopy(long position, int length) {
@@ -179,7 +195,10 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
     length = min(length, bf.limit() - offset);
 
     byte[] b = new byte[length];
-    arraycopy(bf.array(), offset, b, 0, length);
+    ByteBuffer source = bf.duplicate();
+    source.limit(offset + length);
+    source.position(offset);
+    source.get(b);
     return ByteBuffer.wrap(b);
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+/**
+ * Statistics about how efficiently a pooling {@link ByteBufferManager} is serving allocations
+ *
+ * @since 4.0
+ */
+public interface ByteBufferManagerStatistics {
+
+  /**
+   * @return How many times {@link ByteBufferManager#allocate(int)} has been invoked
+   */
+  long getAllocationsCount();
+
+  /**
+   * @return How many allocations were served by reusing a pooled buffer
+   */
+  long getHitsCount();
+
+  /**
+   * @return How many allocations required a new buffer to be created
+   */
+  long getMissesCount();
+
+  /**
+   * @return How many allocations had to wait for streaming memory to be released
+   */
+  long getWaitsCount();
+
+  /**
+   * @return How many bytes are currently retained by the manager, including both in use and idle buffers
+   */
+  long getRetainedMemory();
+}
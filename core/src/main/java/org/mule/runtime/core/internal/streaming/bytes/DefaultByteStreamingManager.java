@@ -6,11 +6,13 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import org.mule.runtime.core.internal.streaming.bytes.factory.FileStoreCursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.bytes.factory.InMemoryCursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.bytes.factory.NullCursorStreamProviderFactory;
 import org.mule.runtime.core.streaming.StreamingManager;
 import org.mule.runtime.core.streaming.bytes.ByteStreamingManager;
 import org.mule.runtime.core.streaming.bytes.CursorStreamProviderFactory;
+import org.mule.runtime.core.streaming.bytes.FileStoreCursorStreamConfig;
 import org.mule.runtime.core.streaming.bytes.InMemoryCursorStreamConfig;
 
 /**
@@ -36,6 +38,14 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
     return new InMemoryCursorStreamProviderFactory(bufferManager, config, streamingManager);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CursorStreamProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorStreamConfig config) {
+    return new FileStoreCursorStreamProviderFactory(getBufferManager(), config, streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.util.LazyValue;
+import org.mule.runtime.core.streaming.bytes.FileStoreCursorStreamConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds a bounded window of the buffered
+ * information in memory and spills the rest to a temporal file.
+ * <p>
+ * The memory window has a fixed size set through {@link FileStoreCursorStreamConfig#getMaxInMemorySize()}.
+ * Each time the window is full, its contents are appended to the buffer file and the window is reused for
+ * the next chunk of the stream. This means that at any given time, the file contains all the bytes which
+ * are before the window's start, while the window contains the most recently consumed ones.
+ * <p>
+ * Data which is no longer in memory is read back from the file by using positional reads on a {@link FileChannel},
+ * which are safe to perform concurrently. The file is lazily created the first time the window overflows, so
+ * streams which fit in memory never touch the disk.
+ * <p>
+ * If {@link FileStoreCursorStreamConfig#isMemoryMapped()} is enabled, then once the stream has been fully consumed
+ * the buffer file is mapped into memory and cursors get read-only slices of it instead of copies, so that many
+ * cursors over the same large payload don't each pay for copying the data. Because there's no portable way of
+ * unmapping a file, the mapped regions are reclaimed by the garbage collector after this buffer is closed.
+ *
+ * @since 4.0
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final long MAPPED_SEGMENT_SIZE = 1024 * 1024 * 1024;
+
+  private final File bufferFile;
+  private final boolean memoryMapped;
+  private final LazyValue<MappedByteBuffer[]> mappedFile = new LazyValue<>(this::mapFile);
+  private RandomAccessFile fileStore;
+  private FileChannel fileChannel;
+
+  /**
+   * The stream position of the first byte currently held in the memory window
+   */
+  private long windowStart = 0;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate all buffers
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager, config.getMaxInMemorySize().toBytes());
+    bufferFile = createBufferFile("stream-buffer");
+    memoryMapped = config.isMemoryMapped();
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return doGet(position, length, true);
+  }
+
+  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
+    return withReadLock(releaser -> {
+
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      if (consumeStreamIfNecessary) {
+        releaser.release();
+        return withWriteLock(() -> {
+
+          ByteBuffer refetch;
+          refetch = getFromCurrentData(position, length);
+          if (refetch != null) {
+            return refetch;
+          }
+
+          final long requiredUpperBound = position + length;
+          while (!isStreamFullyConsumed() && bufferTip < requiredUpperBound) {
+            try {
+              final int read = consumeForwardData();
+              if (read > 0) {
+                refetch = getFromCurrentData(position, length);
+                if (refetch != null) {
+                  return refetch;
+                }
+              } else {
+                streamFullyConsumed();
+                buffer.get().limit(buffer.get().position());
+              }
+            } catch (IOException e) {
+              throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+            }
+          }
+
+          return doGet(position, length, false);
+        });
+      } else {
+        return getFromCurrentData(position, length);
+      }
+    });
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position >= bufferTip) {
+      return null;
+    }
+
+    if (position >= windowStart) {
+      length = min(length, toIntExact(bufferTip - position));
+      return copy(position - windowStart, length);
+    }
+
+    length = toIntExact(min(length, windowStart - position));
+    if (memoryMapped && isStreamFullyConsumed()) {
+      return readFromMappedFile(position, length);
+    }
+
+    try {
+      return readFromFile(position, length);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read from buffer file " + bufferFile.getAbsolutePath()),
+                                     e);
+    }
+  }
+
+  private ByteBuffer readFromFile(long position, int length) throws IOException {
+    ByteBuffer dest = ByteBuffer.allocate(length);
+    while (dest.hasRemaining()) {
+      if (fileChannel.read(dest, position + dest.position()) < 0) {
+        break;
+      }
+    }
+
+    dest.flip();
+    return dest;
+  }
+
+  private ByteBuffer readFromMappedFile(long position, int length) {
+    final ByteBuffer segment = mappedFile.get()[toIntExact(position / MAPPED_SEGMENT_SIZE)];
+    final int offset = toIntExact(position % MAPPED_SEGMENT_SIZE);
+
+    return slice(segment, offset, min(length, segment.limit() - offset));
+  }
+
+  /**
+   * Maps the buffer file in segments of up to {@link #MAPPED_SEGMENT_SIZE} bytes, since a single
+   * {@link MappedByteBuffer} cannot address more than {@link Integer#MAX_VALUE} bytes.
+   */
+  private MappedByteBuffer[] mapFile() {
+    final long size = windowStart;
+    MappedByteBuffer[] segments = new MappedByteBuffer[toIntExact((size + MAPPED_SEGMENT_SIZE - 1) / MAPPED_SEGMENT_SIZE)];
+    try {
+      for (int i = 0; i < segments.length; i++) {
+        final long segmentStart = i * MAPPED_SEGMENT_SIZE;
+        segments[i] = fileChannel.map(READ_ONLY, segmentStart, min(MAPPED_SEGMENT_SIZE, size - segmentStart));
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not map buffer file " + bufferFile.getAbsolutePath()), e);
+    }
+
+    return segments;
+  }
+
+  /**
+   * {@inheritDoc}
+   * If the memory window doesn't have any remaining capacity, then its contents are appended to the
+   * buffer file and the window is cleared before attempting to consume new information.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    ByteBuffer b = buffer.get();
+    if (!b.hasRemaining()) {
+      spill(b);
+    }
+
+    final int read = consumeStream(b);
+    if (read > 0) {
+      bufferTip += read;
+    } else {
+      streamFullyConsumed();
+    }
+
+    return read;
+  }
+
+  private void spill(ByteBuffer window) throws IOException {
+    if (fileChannel == null) {
+      fileStore = new RandomAccessFile(bufferFile, "rw");
+      fileChannel = fileStore.getChannel();
+    }
+
+    window.flip();
+    long writePosition = windowStart;
+    while (window.hasRemaining()) {
+      writePosition += fileChannel.write(window, writePosition);
+    }
+
+    windowStart = writePosition;
+    window.clear();
+  }
+
+  /**
+   * {@inheritDoc}
+   * Closes the buffer file and deletes it
+   */
+  @Override
+  public void doClose() {
+    if (fileChannel != null) {
+      closeSafely(fileChannel::close);
+    }
+
+    if (fileStore != null) {
+      closeSafely(fileStore::close);
+    }
+
+    closeSafely(() -> {
+      if (bufferFile.exists()) {
+        bufferFile.delete();
+      }
+    });
+  }
+
+  /**
+   * The memory window is only stable once the stream has been fully consumed, since otherwise it
+   * gets overwritten each time it's spilled to disk.
+   */
+  @Override
+  protected boolean canDoSoftCopy() {
+    return isStreamFullyConsumed();
+  }
+}
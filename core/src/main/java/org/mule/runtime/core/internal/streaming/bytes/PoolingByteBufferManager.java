@@ -111,7 +111,14 @@ public class PoolingByteBufferManager implements ByteBufferManager, Disposable {
     this.waitTimeoutMillis = waitTimeoutMillis;
   }
 
-  private long calculateMaxStreamingMemory(MemoryManager memoryManager) {
+  /**
+   * Determines how much memory can be retained for streaming buffers. That is the value of the {@code MULE_STREAMING_MAX_MEMORY}
+   * system property or, if not set, 50% of the given {@code memoryManager} max memory.
+   *
+   * @param memoryManager a {@link MemoryManager} used to determine the runtime's max memory
+   * @return the max streaming memory in bytes
+   */
+  static long calculateMaxStreamingMemory(MemoryManager memoryManager) {
     String maxMemoryProperty = getProperty(MULE_STREAMING_MAX_MEMORY);
     if (maxMemoryProperty == null) {
       return round(memoryManager.getMaxMemory() * 0.5);
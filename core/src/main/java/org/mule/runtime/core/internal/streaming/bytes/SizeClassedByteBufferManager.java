@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.config.PoolingProfile.DEFAULT_MAX_POOL_WAIT;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.streaming.bytes.PoolingByteBufferManager.calculateMaxStreamingMemory;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.streaming.MemoryManager;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ByteBufferManager} implementation which pools buffers in power of two size classes.
+ * <p>
+ * Requested capacities are rounded up to the next size class, so that buffers of similar capacities share the same
+ * pool. The returned buffers are views of the pooled ones which have exactly the requested capacity.
+ * <p>
+ * Each size class keeps its idle buffers in a fixed set of slots which are striped by thread, so that threads
+ * allocating concurrently don't contend with each other when taking and returning idle buffers. The amount of idle buffers
+ * retained per size class is bounded, and buffers which don't fit in the slots are released. Capacities bigger than the
+ * largest size class are not pooled.
+ * <p>
+ * The buffers in use are tracked in a concurrent map, which costs an entry per allocation. This is needed both to reject
+ * buffers which are not in use and to find the pooled buffer a view was created from, since direct buffers don't expose their
+ * backing storage.
+ * <p>
+ * As in {@link PoolingByteBufferManager}, the pool is exhausted in terms of retained memory (both in use and idle
+ * buffers) and is limited by the {@code MULE_STREAMING_MAX_MEMORY} system property. When the limit is reached, idle
+ * buffers of all size classes are released first. If that is not enough, invocations to {@link #allocate(int)}
+ * block until memory is released or {@link #waitTimeoutMillis} elapse, in which case a
+ * {@link MaxStreamingMemoryExceededException} is thrown.
+ * <p>
+ * Only buffers obtained from {@link #allocate(int)} which haven't been deallocated yet are accepted by
+ * {@link #deallocate(ByteBuffer)}, so that foreign buffers or buffers deallocated twice never make it into the pool.
+ * <p>
+ * Optionally, this manager can allocate direct (off-heap) buffers instead of heap ones.
+ *
+ * @since 4.0
+ */
+public class SizeClassedByteBufferManager implements ByteBufferManager, ByteBufferManagerStatistics, Disposable {
+
+  private static final int MIN_SIZE_CLASS_SHIFT = 6;
+  private static final int MAX_SIZE_CLASS_SHIFT = 26;
+  private static final int STRIPES = nextPowerOfTwo(Runtime.getRuntime().availableProcessors());
+  private static final int SLOTS_PER_STRIPE = 4;
+
+  private final long maxStreamingMemory;
+  private final long waitTimeoutMillis;
+  private final boolean direct;
+  private final SizeClass[] sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+
+  /**
+   * The buffers which are currently in use, mapped to the pooled buffer which originated them. Besides telling whether a
+   * deallocated buffer was issued by this manager, this is how the backing buffer of a view is found, since direct buffers
+   * don't expose their backing storage.
+   */
+  private final Map<BufferKey, ByteBuffer> inUse = new ConcurrentHashMap<>();
+
+  private final AtomicLong streamingMemory = new AtomicLong(0);
+  private final AtomicInteger waiters = new AtomicInteger(0);
+  private final Lock lock = new ReentrantLock();
+  private final Condition memoryReleased = lock.newCondition();
+
+  private final LongAdder allocations = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder waits = new LongAdder();
+
+  /**
+   * Creates a new instance which allocates heap buffers, allows the pool to grow up to 50% of the runtime's max memory
+   * and has a wait timeout of 10 seconds. The definition of max memory is that of {@link MemoryManager#getMaxMemory()}
+   */
+  public SizeClassedByteBufferManager() {
+    this(new DefaultMemoryManager(), DEFAULT_MAX_POOL_WAIT, false);
+  }
+
+  /**
+   * Creates a new instance which allows the pool to grow up to 50% of calling {@link MemoryManager#getMaxMemory()}
+   * on the given {@code memoryManager}, and has {@code waitTimeoutMillis} as wait timeout.
+   *
+   * @param memoryManager     a {@link MemoryManager} used to determine the runtime's max memory
+   * @param waitTimeoutMillis how long to wait when the pool is exhausted
+   * @param direct            whether to allocate direct buffers instead of heap ones
+   */
+  public SizeClassedByteBufferManager(MemoryManager memoryManager, long waitTimeoutMillis, boolean direct) {
+    maxStreamingMemory = calculateMaxStreamingMemory(memoryManager);
+    this.waitTimeoutMillis = waitTimeoutMillis;
+    this.direct = direct;
+
+    for (int i = 0; i < sizeClasses.length; i++) {
+      sizeClasses[i] = new SizeClass(1 << (i + MIN_SIZE_CLASS_SHIFT));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ByteBuffer allocate(int capacity) {
+    allocations.increment();
+    try {
+      final SizeClass sizeClass = sizeClassFor(capacity);
+      if (sizeClass == null) {
+        misses.increment();
+        reserve(capacity);
+        return issue(create(capacity), capacity);
+      }
+
+      ByteBuffer block = sizeClass.take();
+      if (block != null) {
+        hits.increment();
+      } else {
+        misses.increment();
+        reserve(sizeClass.size);
+        block = create(sizeClass.size);
+      }
+
+      return issue(block, capacity);
+    } catch (Exception e) {
+      if (e instanceof InterruptedException) {
+        currentThread().interrupt();
+      }
+      throw new MuleRuntimeException(createStaticMessage("Could not allocate byte buffer. " + e.getMessage()), e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void deallocate(ByteBuffer byteBuffer) {
+    final ByteBuffer block = inUse.remove(new BufferKey(byteBuffer));
+    checkArgument(block != null, "Buffer was not allocated by this manager or was already deallocated");
+
+    // when there are threads waiting for memory, it is released instead of pooled so that they can be unblocked
+    final SizeClass sizeClass = sizeClassFor(block.capacity());
+    if (waiters.get() > 0 || sizeClass == null || sizeClass.size != block.capacity() || !sizeClass.offer(block)) {
+      release(block.capacity());
+    }
+  }
+
+  /**
+   * Releases all the idle buffers
+   */
+  @Override
+  public void dispose() {
+    trimIdle();
+  }
+
+  private ByteBuffer create(int capacity) {
+    return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  /**
+   * @return a buffer of exactly {@code capacity} backed by {@code block}, which is tracked as in use until deallocated
+   */
+  private ByteBuffer issue(ByteBuffer block, int capacity) {
+    ByteBuffer buffer = block;
+    if (block.capacity() == capacity) {
+      block.clear();
+    } else {
+      buffer = block.duplicate();
+      buffer.clear();
+      buffer.limit(capacity);
+      buffer = buffer.slice();
+    }
+
+    inUse.put(new BufferKey(buffer), block);
+    return buffer;
+  }
+
+  private SizeClass sizeClassFor(int capacity) {
+    final int shift = max(MIN_SIZE_CLASS_SHIFT, 32 - numberOfLeadingZeros(capacity - 1));
+    return shift <= MAX_SIZE_CLASS_SHIFT ? sizeClasses[shift - MIN_SIZE_CLASS_SHIFT] : null;
+  }
+
+  private void reserve(int size) throws InterruptedException {
+    if (tryReserve(size)) {
+      return;
+    }
+
+    trimIdle();
+    if (tryReserve(size)) {
+      return;
+    }
+
+    waits.increment();
+    final long deadline = nanoTime() + MILLISECONDS.toNanos(waitTimeoutMillis);
+    lock.lock();
+    waiters.incrementAndGet();
+    try {
+      while (!tryReserve(size)) {
+        final long remaining = deadline - nanoTime();
+        if (remaining <= 0) {
+          throw new MaxStreamingMemoryExceededException(createStaticMessage(format(
+                                                                                   "Max streaming memory limit of %d bytes was exceeded",
+                                                                                   maxStreamingMemory)));
+        }
+        memoryReleased.awaitNanos(remaining);
+      }
+    } finally {
+      waiters.decrementAndGet();
+      lock.unlock();
+    }
+  }
+
+  private boolean tryReserve(int size) {
+    long current;
+    do {
+      current = streamingMemory.get();
+      if (current + size > maxStreamingMemory) {
+        return false;
+      }
+    } while (!streamingMemory.compareAndSet(current, current + size));
+
+    return true;
+  }
+
+  private void release(long size) {
+    streamingMemory.addAndGet(-size);
+    if (waiters.get() > 0) {
+      lock.lock();
+      try {
+        memoryReleased.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void trimIdle() {
+    for (SizeClass sizeClass : sizeClasses) {
+      sizeClass.drain();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getAllocationsCount() {
+    return allocations.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getHitsCount() {
+    return hits.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getMissesCount() {
+    return misses.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getWaitsCount() {
+    return waits.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getRetainedMemory() {
+    return streamingMemory.get();
+  }
+
+  private static int nextPowerOfTwo(int value) {
+    return value <= 1 ? 1 : 1 << (32 - numberOfLeadingZeros(value - 1));
+  }
+
+  private class SizeClass {
+
+    private final int size;
+    private final AtomicReferenceArray<ByteBuffer> slots = new AtomicReferenceArray<>(STRIPES * SLOTS_PER_STRIPE);
+
+    private SizeClass(int size) {
+      this.size = size;
+    }
+
+    /**
+     * Takes an idle buffer, starting on the current thread's stripe and stealing from the other ones if empty
+     */
+    private ByteBuffer take() {
+      final int start = stripeStart();
+      for (int i = 0; i < slots.length(); i++) {
+        final int index = (start + i) & (slots.length() - 1);
+        final ByteBuffer block = slots.get(index);
+        if (block != null && slots.compareAndSet(index, block, null)) {
+          return block;
+        }
+      }
+
+      return null;
+    }
+
+    private boolean offer(ByteBuffer block) {
+      final int start = stripeStart();
+      for (int i = 0; i < slots.length(); i++) {
+        final int index = (start + i) & (slots.length() - 1);
+        if (slots.get(index) == null && slots.compareAndSet(index, null, block)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private void drain() {
+      for (int i = 0; i < slots.length(); i++) {
+        if (slots.getAndSet(i, null) != null) {
+          release(size);
+        }
+      }
+    }
+
+    private int stripeStart() {
+      return ((int) currentThread().getId() & (STRIPES - 1)) * SLOTS_PER_STRIPE;
+    }
+  }
+
+  /**
+   * {@link ByteBuffer} implements {@link Object#equals(Object)} and {@link Object#hashCode()} in terms of its contents,
+   * so this class is used to track the buffers by identity instead.
+   */
+  private static final class BufferKey {
+
+    private final ByteBuffer buffer;
+
+    private BufferKey(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof BufferKey && ((BufferKey) obj).buffer == buffer;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(buffer);
+    }
+  }
+}
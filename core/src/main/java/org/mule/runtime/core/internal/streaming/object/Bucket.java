@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.streaming.object;
 
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 
@@ -68,6 +69,13 @@ public class Bucket<T> {
     return index;
   }
 
+  /**
+   * @return an unmodifiable view of the items added to {@code this} bucket
+   */
+  List<T> getItems() {
+    return unmodifiableList(items);
+  }
+
   /**
    * Adds the given {@code item} if the bucket still has capacity.
    *
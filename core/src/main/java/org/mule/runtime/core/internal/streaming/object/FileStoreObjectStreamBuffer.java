@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.toIntExact;
+import static java.util.Collections.synchronizedMap;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.internal.streaming.object.iterator.StreamingIterator;
+import org.mule.runtime.core.streaming.object.FileStoreCursorIteratorConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which only keeps a window of hot buckets in memory
+ * and serializes the rest into a temporal file.
+ * <p>
+ * All buckets have the same fixed size, which makes it possible to locate any item just by its position. Each time
+ * a bucket is full, it's serialized using the {@link ObjectSerializer} internal protocol and appended to the buffer file.
+ * The most recently used buckets are retained in memory up to {@link FileStoreCursorIteratorConfig#getMaxInMemoryBuckets()},
+ * the rest are read back from the file when a cursor moves to a {@link Position} they contain.
+ * <p>
+ * Because the buffer is bounded by disk space instead of memory, no max buffer size is enforced. The items in the stream
+ * need to be serializable by the given {@link ObjectSerializer}.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.0
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private final FileStoreCursorIteratorConfig config;
+  private final ObjectSerializer serializer;
+  private final File bufferFile;
+  private RandomAccessFile fileStore;
+  private FileChannel fileChannel;
+
+  /**
+   * The offsets in the buffer file in which each spilled bucket starts. The last element is the offset
+   * in which the next bucket will be written.
+   */
+  private final List<Long> spilledBucketOffsets = new ArrayList<>();
+  private Map<Integer, Bucket<T>> hotBuckets;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream     the stream to be buffered
+   * @param config     this buffer's configuration
+   * @param serializer the {@link ObjectSerializer} used to write and read the buckets that don't fit in memory
+   */
+  public FileStoreObjectStreamBuffer(StreamingIterator<T> stream, FileStoreCursorIteratorConfig config,
+                                     ObjectSerializer serializer) {
+    super(stream);
+    this.config = config;
+    this.serializer = serializer;
+    bufferFile = createBufferFile("object-buffer");
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    final int bucketSize = config.getBucketSize();
+    return new Position(toIntExact(position / bucketSize), toIntExact(position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    final int maxInMemoryBuckets = config.getMaxInMemoryBuckets();
+    hotBuckets = synchronizedMap(new LinkedHashMap<Integer, Bucket<T>>(maxInMemoryBuckets, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Bucket<T>> eldest) {
+        return size() > maxInMemoryBuckets;
+      }
+    });
+
+    spilledBucketOffsets.add(0L);
+    setCurrentBucket(new Bucket<>(0, config.getBucketSize()));
+  }
+
+  @Override
+  protected Optional<Bucket<T>> getPresentBucket(Position position) {
+    final int index = position.getBucketIndex();
+    final Bucket<T> currentBucket = getCurrentBucket();
+    if (currentBucket != null && currentBucket.getIndex() == index) {
+      return of(currentBucket);
+    }
+
+    Bucket<T> bucket = hotBuckets.get(index);
+    if (bucket != null) {
+      return of(bucket);
+    }
+
+    if (index < spilledBucketOffsets.size() - 1) {
+      bucket = readBucket(index);
+      hotBuckets.put(index, bucket);
+      return of(bucket);
+    }
+
+    return empty();
+  }
+
+  /**
+   * {@inheritDoc}
+   * The {@code overflownBucket} is written into the buffer file and kept in memory as a hot bucket
+   */
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    writeBucket(overflownBucket);
+    hotBuckets.put(overflownBucket.getIndex(), overflownBucket);
+
+    return new Bucket<>(overflownBucket.getIndex() + 1, config.getBucketSize());
+  }
+
+  private void writeBucket(Bucket<T> bucket) {
+    byte[] serialized = serializer.getInternalProtocol().serialize(new ArrayList<>(bucket.getItems()));
+    final long offset = spilledBucketOffsets.get(spilledBucketOffsets.size() - 1);
+    try {
+      if (fileChannel == null) {
+        fileStore = new RandomAccessFile(bufferFile, "rw");
+        fileChannel = fileStore.getChannel();
+      }
+
+      ByteBuffer data = ByteBuffer.wrap(serialized);
+      long writePosition = offset;
+      while (data.hasRemaining()) {
+        writePosition += fileChannel.write(data, writePosition);
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write to buffer file " + bufferFile.getAbsolutePath()), e);
+    }
+
+    spilledBucketOffsets.add(offset + serialized.length);
+  }
+
+  private Bucket<T> readBucket(int index) {
+    final long offset = spilledBucketOffsets.get(index);
+    ByteBuffer data = ByteBuffer.allocate(toIntExact(spilledBucketOffsets.get(index + 1) - offset));
+    try {
+      while (data.hasRemaining()) {
+        if (fileChannel.read(data, offset + data.position()) < 0) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read from buffer file " + bufferFile.getAbsolutePath()), e);
+    }
+
+    List<T> items = serializer.getInternalProtocol().deserialize(data.array());
+    Bucket<T> bucket = new Bucket<>(index, config.getBucketSize());
+    items.forEach(bucket::add);
+
+    return bucket;
+  }
+
+  /**
+   * No limit is enforced, since this buffer is bounded by disk space
+   */
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // no - op
+  }
+
+  /**
+   * {@inheritDoc}
+   * Closes the buffer file and deletes it
+   */
+  @Override
+  protected void doClose() {
+    hotBuckets.clear();
+
+    if (fileChannel != null) {
+      closeSafely(fileChannel::close);
+    }
+
+    if (fileStore != null) {
+      closeSafely(fileStore::close);
+    }
+
+    closeSafely(() -> {
+      if (bufferFile.exists()) {
+        bufferFile.delete();
+      }
+    });
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object.factory;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorProvider;
+import org.mule.runtime.core.internal.streaming.object.iterator.StreamingIterator;
+import org.mule.runtime.core.streaming.StreamingManager;
+import org.mule.runtime.core.streaming.object.FileStoreCursorIteratorConfig;
+
+import java.util.Iterator;
+
+/**
+ * An implementation of {@link AbstractCursorIteratorProviderFactory} which always
+ * generates instances of {@link FileStoreCursorIteratorProvider}
+ *
+ * @since 4.0
+ */
+public class FileStoreCursorIteratorProviderFactory extends AbstractCursorIteratorProviderFactory {
+
+  private final FileStoreCursorIteratorConfig config;
+  private final ObjectSerializer serializer;
+
+  /**
+   * Creates a new instance
+   *
+   * @param config     the config for the generated providers
+   * @param serializer the {@link ObjectSerializer} used to write the items to disk
+   */
+  public FileStoreCursorIteratorProviderFactory(FileStoreCursorIteratorConfig config, ObjectSerializer serializer,
+                                                StreamingManager streamingManager) {
+    super(streamingManager);
+    this.config = config;
+    this.serializer = serializer;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return a new {@link CursorIteratorProvider}
+   */
+  @Override
+  protected Object resolve(Iterator iterator, Event event) {
+    return new FileStoreCursorIteratorProvider((StreamingIterator) iterator, config, serializer);
+  }
+}
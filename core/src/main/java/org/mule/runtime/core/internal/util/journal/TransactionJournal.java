@@ -6,14 +6,26 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.util.Preconditions;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,15 +33,34 @@ import org.slf4j.LoggerFactory;
 /**
  * Keeps track of transactional operation made over a transactional resource.
  *
- * Uses two files for keeping track of the transactions and empties a file once all the entries in such file are resolved.
+ * Uses a set of files for keeping track of the transactions and empties a file once all the entries in such file are resolved.
+ * New transactions are written in the current file until it exceeds its maximum size, in which case any other file without
+ * pending transactions becomes the current one. The number of files is defined by {@link #LOG_FILES_COUNT_PROPERTY_KEY},
+ * being two by default.
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * When {@link #GROUP_COMMIT_PROPERTY_KEY} is enabled, entries are buffered in memory and checkpoint operations wait until
+ * the buffered entries are written and forced to disk. A single write and force is done for all the checkpoints of concurrent
+ * transactions which arrive while the previous one is in progress. Update operations are flushed once
+ * {@link #GROUP_COMMIT_BATCH_SIZE_PROPERTY_KEY} entries are buffered.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
+  public static final String LOG_FILE_NAME_FORMAT = "tx%d.log";
+
+  public static final String LOG_FILES_COUNT_PROPERTY_KEY = "mule.queue.txJournal.files";
+  public static final String GROUP_COMMIT_PROPERTY_KEY = "mule.queue.txJournal.groupCommit";
+  public static final String GROUP_COMMIT_BATCH_SIZE_PROPERTY_KEY = "mule.queue.txJournal.groupCommit.batchSize";
+  public static final String GROUP_COMMIT_INTERVAL_PROPERTY_KEY = "mule.queue.txJournal.groupCommit.interval";
+
+  private static final int DEFAULT_LOG_FILES_COUNT = 2;
+  private static final int DEFAULT_GROUP_COMMIT_BATCH_SIZE = 256;
+  private static final long DEFAULT_GROUP_COMMIT_INTERVAL = 0;
+  private static final Pattern LOG_FILE_NAME_PATTERN = Pattern.compile("tx(\\d+)\\.log");
 
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
@@ -39,13 +70,14 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
   private final TransactionCompletePredicate transactionCompletePredicate;
 
   /**
-   * Log file in which we are currently writing new entries.
+   * All the log files, created up front.
    */
-  private TransactionJournalFile<T, K> currentLogFile;
+  private final List<TransactionJournalFile<T, K>> logFiles;
+
   /**
-   * Log file which has old entries and will be cleared as soon as all the transaction in it are resolved.
+   * Log file in which we are currently writing new entries.
    */
-  private TransactionJournalFile<T, K> notCurrentLogFile;
+  private TransactionJournalFile<T, K> currentLogFile;
 
   /**
    * Maximum transaction log file size in bytes.
@@ -57,6 +89,22 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   private Long clearFileMinimumSizeInBytes;
 
+  private final boolean groupCommit;
+  private final int groupCommitBatchSize;
+  private final long groupCommitInterval;
+
+  /**
+   * Guarantees that only one thread writes the buffered entries at a time. Must never be acquired while holding the journal
+   * lock.
+   */
+  private final Object flushLock = new Object();
+
+  /**
+   * Completed once the entries logged since the last flush are forced to disk.
+   */
+  private CompletableFuture<Void> currentBatch = new CompletableFuture<>();
+  private int bufferedEntries = 0;
+
   /**
    * @param logFilesDirectory directory used to store the journal files.
    */
@@ -67,22 +115,44 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
       Preconditions.checkState(logFileDirectory.mkdirs(),
                                "Could not create directory for queue transaction logger " + logFileDirectory);
     }
-    calculateJournalFileSize(maximumFileSizeInMegabytes);
-    File logFile1 = new File(logFileDirectory, TX1_LOG_FILE_NAME);
-    File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
-    logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    // files left by a previous configuration with more files are still used, so that their transactions are not lost
+    final int logFilesCount = max(Integer.getInteger(LOG_FILES_COUNT_PROPERTY_KEY, DEFAULT_LOG_FILES_COUNT),
+                                  getExistingLogFilesCount(logFileDirectory));
+    Preconditions.checkArgument(logFilesCount >= 2, "Transaction journal needs at least two log files");
+    groupCommit = Boolean.getBoolean(GROUP_COMMIT_PROPERTY_KEY);
+    groupCommitBatchSize = Integer.getInteger(GROUP_COMMIT_BATCH_SIZE_PROPERTY_KEY, DEFAULT_GROUP_COMMIT_BATCH_SIZE);
+    groupCommitInterval = Long.getLong(GROUP_COMMIT_INTERVAL_PROPERTY_KEY, DEFAULT_GROUP_COMMIT_INTERVAL);
+
+    calculateJournalFileSize(maximumFileSizeInMegabytes, logFilesCount);
+    logger.info(format("Using %s files for tx logs in %s", logFilesCount, logFileDirectory.getAbsolutePath()));
+
+    logFiles = new ArrayList<>(logFilesCount);
+    for (int i = 1; i <= logFilesCount; i++) {
+      logFiles.add(new TransactionJournalFile(new File(logFileDirectory, format(LOG_FILE_NAME_FORMAT, i)), journalEntrySerializer,
+                                              transactionCompletePredicate, clearFileMinimumSizeInBytes, groupCommit));
+    }
+    this.currentLogFile = logFiles.get(0);
     this.transactionCompletePredicate = transactionCompletePredicate;
+  }
 
+  private static int getExistingLogFilesCount(File logFileDirectory) {
+    int count = 0;
+    File[] files = logFileDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        Matcher matcher = LOG_FILE_NAME_PATTERN.matcher(file.getName());
+        if (matcher.matches()) {
+          count = max(count, Integer.parseInt(matcher.group(1)));
+        }
+      }
+    }
+    return count;
   }
 
-  private void calculateJournalFileSize(Integer maximumFileSizeInMegabytes) {
+  private void calculateJournalFileSize(Integer maximumFileSizeInMegabytes, int logFilesCount) {
     if (maximumFileSizeInMegabytes != null) {
-      this.maximumFileSizeInBytes = ((long) maximumFileSizeInMegabytes * ONE_MEGABYTE_IN_BYTES) / 2;
+      this.maximumFileSizeInBytes = ((long) maximumFileSizeInMegabytes * ONE_MEGABYTE_IN_BYTES) / logFilesCount;
       this.clearFileMinimumSizeInBytes = this.maximumFileSizeInBytes / 2;
     }
   }
@@ -92,9 +162,22 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    final boolean batchFull;
+    synchronized (this) {
+      TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+      logFile.logOperation(journalEntry);
+      if (!groupCommit) {
+        return;
+      }
+      batchFull = addToBatch() >= groupCommitBatchSize;
+    }
+
+    if (batchFull) {
+      synchronized (flushLock) {
+        flush();
+      }
+    }
   }
 
   /**
@@ -102,14 +185,26 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * Most likely this is an operation such as COMMIT, ROLLBACK or PREPARE of a TX.
    *
+   * When group commit is enabled, this method doesn't return until the operation is forced to disk.
+   *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    final CompletableFuture<Void> batch;
+    synchronized (this) {
+      TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
+      logFile.logOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
+      if (!groupCommit) {
+        return;
+      }
+      addToBatch();
+      batch = currentBatch;
     }
+
+    awaitFlush(batch);
   }
 
   /**
@@ -129,25 +224,122 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   public synchronized Multimap<T, K> getAllLogEntries() {
     LinkedHashMultimap<T, K> logEntries = LinkedHashMultimap.create();
-    logEntries.putAll(currentLogFile.getAllLogEntries());
-    logEntries.putAll(notCurrentLogFile.getAllLogEntries());
+    for (TransactionJournalFile<T, K> logFile : logFiles) {
+      logEntries.putAll(logFile.getAllLogEntries());
+    }
     return logEntries;
   }
 
   /**
    * Release the resources used by the transaction journal
    */
-  public synchronized void close() {
-    currentLogFile.close();
-    notCurrentLogFile.close();
+  public void close() {
+    synchronized (flushLock) {
+      if (groupCommit) {
+        flush();
+      }
+      synchronized (this) {
+        for (TransactionJournalFile<T, K> logFile : logFiles) {
+          logFile.close();
+        }
+      }
+    }
   }
 
   /**
    * Removes all the entries from the transactional journal
    */
-  public synchronized void clear() {
-    currentLogFile.clear();
-    notCurrentLogFile.clear();
+  public void clear() {
+    synchronized (flushLock) {
+      synchronized (this) {
+        for (TransactionJournalFile<T, K> logFile : logFiles) {
+          logFile.clear();
+        }
+      }
+      if (groupCommit) {
+        flush();
+      }
+    }
+  }
+
+  /**
+   * Must be called while holding the journal lock.
+   *
+   * @return the number of entries in the current batch
+   */
+  private int addToBatch() {
+    if (++bufferedEntries >= groupCommitBatchSize) {
+      notifyAll();
+    }
+    return bufferedEntries;
+  }
+
+  private void awaitFlush(CompletableFuture<Void> batch) {
+    if (!batch.isDone()) {
+      synchronized (flushLock) {
+        // the batch may have been flushed by another thread while waiting for the lock
+        if (!batch.isDone()) {
+          waitForBatchToFill();
+          flush();
+        }
+      }
+    }
+
+    try {
+      batch.get();
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new MuleRuntimeException(createStaticMessage("Interrupted while waiting for the transaction journal to be flushed"),
+                                     e);
+    } catch (ExecutionException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not flush the transaction journal"), e.getCause());
+    }
+  }
+
+  /**
+   * Gives other transactions the chance to join the current batch for up to {@link #GROUP_COMMIT_INTERVAL_PROPERTY_KEY}
+   * milliseconds, unless the batch gets full before.
+   */
+  private void waitForBatchToFill() {
+    if (groupCommitInterval <= 0) {
+      return;
+    }
+
+    synchronized (this) {
+      final long deadline = currentTimeMillis() + groupCommitInterval;
+      long remaining = groupCommitInterval;
+      while (bufferedEntries < groupCommitBatchSize && remaining > 0) {
+        try {
+          wait(remaining);
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+          return;
+        }
+        remaining = deadline - currentTimeMillis();
+      }
+    }
+  }
+
+  /**
+   * Writes and forces all the buffered entries. Must be called while holding the {@link #flushLock}.
+   */
+  private void flush() {
+    final CompletableFuture<Void> batch;
+    synchronized (this) {
+      batch = currentBatch;
+      currentBatch = new CompletableFuture<>();
+      bufferedEntries = 0;
+    }
+
+    try {
+      for (TransactionJournalFile<T, K> logFile : logFiles) {
+        logFile.flush();
+      }
+      batch.complete(null);
+    } catch (RuntimeException e) {
+      batch.completeExceptionally(e);
+      throw e;
+    }
   }
 
   private TransactionJournalFile determineLogFile(T txId) {
@@ -157,38 +349,40 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     }
     // we keep this condition for backward compatibility.
     if (maximumFileSizeInBytes == null) {
-      if (currentLogFile.size() > MAXIMUM_LOG_FILE_ENTRIES && notCurrentLogFile.size() == 0) {
-        debugLogFilesSwap();
+      if (currentLogFile.size() > MAXIMUM_LOG_FILE_ENTRIES) {
         changeCurrentLogFile();
       }
     } else {
-      if (currentLogFile.fileLength() > maximumFileSizeInBytes && notCurrentLogFile.size() == 0) {
-        debugLogFilesSwap();
+      if (currentLogFile.fileLength() > maximumFileSizeInBytes) {
         changeCurrentLogFile();
       }
     }
     return currentLogFile;
   }
 
-  private void debugLogFilesSwap() {
-    if (logger.isDebugEnabled()) {
-      logger.debug("Changing files, current file size: " + currentLogFile.fileLength() + " other file size: "
-          + notCurrentLogFile.fileLength());
-    }
-  }
-
+  /**
+   * Moves to the next file which has no pending transactions. If there's none, the current file keeps being used.
+   */
   private void changeCurrentLogFile() {
-    TransactionJournalFile aux = currentLogFile;
-    currentLogFile = notCurrentLogFile;
-    notCurrentLogFile = aux;
+    final int currentIndex = logFiles.indexOf(currentLogFile);
+    for (int i = 1; i < logFiles.size(); i++) {
+      TransactionJournalFile<T, K> logFile = logFiles.get((currentIndex + i) % logFiles.size());
+      if (logFile.size() == 0) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Changing files, current file size: " + currentLogFile.fileLength() + " new file size: "
+              + logFile.fileLength());
+        }
+        currentLogFile = logFile;
+        return;
+      }
+    }
   }
 
   private TransactionJournalFile determineLogFileWithoutModifyingCurrent(T txId) {
-    if (currentLogFile.containsTx(txId)) {
-      return currentLogFile;
-    }
-    if (notCurrentLogFile.containsTx(txId)) {
-      return notCurrentLogFile;
+    for (TransactionJournalFile<T, K> logFile : logFiles) {
+      if (logFile.containsTx(txId)) {
+        return logFile;
+      }
     }
     return null;
   }
@@ -12,6 +12,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -51,8 +52,19 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
   private DataOutputStream logFileOutputStream;
+  private FileOutputStream fileOutputStream;
   private int journalOperations = 0;
 
+  /**
+   * When writes are buffered, entries are serialized into {@link #pendingWrites} and only written to the file on
+   * {@link #flush()}.
+   */
+  private final boolean bufferWrites;
+  private final ByteArrayOutputStream pendingWrites = new ByteArrayOutputStream();
+  private final DataOutputStream pendingWritesOutputStream = new DataOutputStream(pendingWrites);
+  private boolean truncateOnFlush = false;
+  private long flushedLength;
+
   /**
    * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
    *        loaded from it.
@@ -61,13 +73,29 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, false);
+  }
+
+  /**
+   * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
+   *        loaded from it.
+   * @param journalEntrySerializer serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param bufferWrites if true, entries are kept in memory until {@link #flush()} is called, which writes and forces them to
+   *        disk.
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                boolean bufferWrites) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.bufferWrites = bufferWrites;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
     createLogOutputStream();
+    flushedLength = journalFile.length();
   }
 
   /**
@@ -77,7 +105,7 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public synchronized void logOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+    journalEntrySerializer.serialize(journalEntry, bufferWrites ? pendingWritesOutputStream : logFileOutputStream);
     journalOperations++;
   }
 
@@ -156,10 +184,50 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Remove all the entries from the transaction journal and cleans the transaction journal fle.
    */
   public synchronized void clear() {
-    close();
     entries.clear();
-    FileUtils.deleteQuietly(journalFile);
-    createLogOutputStream();
+    if (bufferWrites) {
+      // the file is truncated on the next flush, so that the entries already written are not lost before then
+      pendingWrites.reset();
+      truncateOnFlush = true;
+      flushedLength = 0;
+    } else {
+      close();
+      FileUtils.deleteQuietly(journalFile);
+      createLogOutputStream();
+    }
+  }
+
+  /**
+   * Writes the buffered entries to the journal file and forces them to disk. Only the serialization of the entries is done
+   * while holding the lock of this file, so new entries can be logged while the write is in progress.
+   *
+   * Concurrent invocations of this method must be prevented by the caller.
+   */
+  void flush() {
+    final byte[] data;
+    final boolean truncate;
+    synchronized (this) {
+      if (!bufferWrites || (pendingWrites.size() == 0 && !truncateOnFlush)) {
+        return;
+      }
+      data = pendingWrites.toByteArray();
+      pendingWrites.reset();
+      truncate = truncateOnFlush;
+      truncateOnFlush = false;
+      flushedLength += data.length;
+    }
+
+    try {
+      if (truncate) {
+        logFileOutputStream.close();
+        this.fileOutputStream = new FileOutputStream(journalFile, false);
+        this.logFileOutputStream = new DataOutputStream(fileOutputStream);
+      }
+      logFileOutputStream.write(data);
+      fileOutputStream.getFD().sync();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
   }
 
   private void createLogOutputStream() {
@@ -171,7 +239,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      this.fileOutputStream = new FileOutputStream(journalFile, true);
+      this.logFileOutputStream = new DataOutputStream(fileOutputStream);
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
@@ -246,10 +315,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   }
 
   /**
-   * @return the file length in bytes
+   * @return the file length in bytes, including the entries pending to be flushed if writes are buffered
    */
-  public long fileLength() {
-    return journalFile.length();
+  public synchronized long fileLength() {
+    return bufferWrites ? flushedLength + pendingWrites.size() : journalFile.length();
   }
 }
 
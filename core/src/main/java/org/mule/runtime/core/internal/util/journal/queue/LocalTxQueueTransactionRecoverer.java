@@ -6,15 +6,26 @@
  */
 package org.mule.runtime.core.internal.util.journal.queue;
 
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.apache.commons.collections.CollectionUtils.find;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
 import org.mule.runtime.core.util.queue.QueueProvider;
 import org.mule.runtime.core.util.queue.RecoverableQueueStore;
 
 import com.google.common.collect.Multimap;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections.Predicate;
 import org.slf4j.Logger;
@@ -24,6 +35,9 @@ import org.slf4j.LoggerFactory;
  * Process for recover pending transactions after a server crash.
  *
  * This process must be executed before accessing the transactional queues.
+ *
+ * The operations of the pending transactions are grouped by queue, and each queue is recovered in parallel with the others
+ * since opening a persistent queue requires reading its files.
  */
 public class LocalTxQueueTransactionRecoverer {
 
@@ -54,6 +68,7 @@ public class LocalTxQueueTransactionRecoverer {
       logger.debug("Found " + allEntries.size() + " txs to recover");
     }
     int txRecovered = 0;
+    Map<String, List<LocalQueueTxJournalEntry>> entriesByQueue = new LinkedHashMap<>();
     for (Integer txId : allEntries.keySet()) {
       Collection<LocalQueueTxJournalEntry> entries = allEntries.get(txId);
       Object commitOrRollback = find(entries, new Predicate() {
@@ -69,37 +84,73 @@ public class LocalTxQueueTransactionRecoverer {
       }
       txRecovered++;
       for (LocalQueueTxJournalEntry logEntry : entries) {
-        if (logEntry.isRemove()) {
-          String queueName = logEntry.getQueueName();
-          RecoverableQueueStore queue = queueProvider.getRecoveryQueue(queueName);
-          Serializable polledValue = logEntry.getValue();
-          if (!queue.contains(polledValue)) {
-            if (logger.isDebugEnabled()) {
-              logger.debug("re-adding polled element that was not commited to queue " + queue.getName());
-            }
-            try {
-              queue.putNow(polledValue);
-            } catch (InterruptedException e) {
-              throw new MuleRuntimeException(e);
-            }
-          }
-        } else if (logEntry.isAdd() || logEntry.isAddFirst()) {
-          Serializable offeredValue = logEntry.getValue();
-          String queueName = logEntry.getQueueName();
-          RecoverableQueueStore queue = queueProvider.getRecoveryQueue(queueName);
-          if (queue.contains(offeredValue)) {
-            if (logger.isDebugEnabled()) {
-              logger.debug("removing offer element that was not commited to queue " + queue.getName());
-            }
-            queue.remove(offeredValue);
-          }
+        if (logEntry.isRemove() || logEntry.isAdd() || logEntry.isAddFirst()) {
+          entriesByQueue.computeIfAbsent(logEntry.getQueueName(), queueName -> new ArrayList<>()).add(logEntry);
         }
       }
     }
+    recoverQueues(entriesByQueue);
     if (logger.isDebugEnabled()) {
       logger.debug("Recovered " + txRecovered + " txs to recover");
     }
     this.localTxQueueTransactionJournal.clear();
   }
 
+  private void recoverQueues(Map<String, List<LocalQueueTxJournalEntry>> entriesByQueue) {
+    if (entriesByQueue.size() <= 1) {
+      entriesByQueue.forEach(this::recoverQueue);
+      return;
+    }
+
+    ExecutorService executor = newFixedThreadPool(min(entriesByQueue.size(), getRuntime().availableProcessors()),
+                                                  new NamedThreadFactory("queue-tx-recovery"));
+    try {
+      List<Future<?>> recoveries = new ArrayList<>(entriesByQueue.size());
+      entriesByQueue.forEach((queueName, entries) -> recoveries.add(executor.submit(() -> recoverQueue(queueName, entries))));
+      for (Future<?> recovery : recoveries) {
+        recovery.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MuleRuntimeException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MuleRuntimeException) {
+        throw (MuleRuntimeException) e.getCause();
+      }
+      throw new MuleRuntimeException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Undoes the operations of the pending transactions over the given queue, in the order they were done.
+   */
+  private void recoverQueue(String queueName, List<LocalQueueTxJournalEntry> entries) {
+    RecoverableQueueStore queue = queueProvider.getRecoveryQueue(queueName);
+    for (LocalQueueTxJournalEntry logEntry : entries) {
+      if (logEntry.isRemove()) {
+        Serializable polledValue = logEntry.getValue();
+        if (!queue.contains(polledValue)) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("re-adding polled element that was not commited to queue " + queue.getName());
+          }
+          try {
+            queue.putNow(polledValue);
+          } catch (InterruptedException e) {
+            throw new MuleRuntimeException(e);
+          }
+        }
+      } else {
+        Serializable offeredValue = logEntry.getValue();
+        if (queue.contains(offeredValue)) {
+          if (logger.isDebugEnabled()) {
+            logger.debug("removing offer element that was not commited to queue " + queue.getName());
+          }
+          queue.remove(offeredValue);
+        }
+      }
+    }
+  }
+
 }
@@ -6,18 +6,25 @@
  */
 package org.mule.runtime.core.processor.chain;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
 import static org.apache.commons.lang3.StringUtils.replace;
 import static org.mule.runtime.core.api.Event.setCurrentEvent;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PROCESSOR_CHAIN_FUSION;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.setFlowConstructIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.setMuleContextIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.api.rx.Exceptions.wrapFatal;
 import static org.mule.runtime.core.api.util.ExceptionUtils.updateMessagingExceptionWithError;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
 import static org.mule.runtime.core.api.context.notification.MessageProcessorNotification.MESSAGE_PROCESSOR_POST_INVOKE;
 import static org.mule.runtime.core.api.context.notification.MessageProcessorNotification.MESSAGE_PROCESSOR_PRE_INVOKE;
 import static org.mule.runtime.core.api.execution.MessageProcessorExecutionTemplate.createExecutionTemplate;
+import static org.mule.runtime.core.internal.context.notification.SampledProcessorTracer.DISABLED;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.core.publisher.Flux.from;
 import static reactor.core.publisher.Flux.just;
@@ -29,6 +36,7 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.meta.AbstractAnnotatedObject;
 import org.mule.runtime.api.meta.AnnotatedObject;
+import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.EventContext;
@@ -37,15 +45,20 @@ import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.construct.Pipeline;
 import org.mule.runtime.core.api.exception.MessagingExceptionHandler;
 import org.mule.runtime.core.api.exception.MessagingExceptionHandlerAware;
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.api.management.stats.ProcessingTime;
 import org.mule.runtime.core.api.processor.MessageProcessorChain;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.registry.RegistrationException;
 import org.mule.runtime.core.api.transport.LegacyInboundEndpoint;
 import org.mule.runtime.core.api.util.ExceptionUtils;
+import org.mule.runtime.core.api.context.notification.FlowTraceManager;
 import org.mule.runtime.core.api.context.notification.MessageProcessorNotification;
 import org.mule.runtime.core.api.context.notification.ServerNotificationManager;
 import org.mule.runtime.core.exception.MessagingException;
+import org.mule.runtime.core.internal.context.notification.MessageProcessingFlowTraceManager;
+import org.mule.runtime.core.internal.context.notification.SampledProcessorTracer;
 import org.mule.runtime.core.api.execution.MessageProcessorExecutionTemplate;
 import org.mule.runtime.core.processor.interceptor.ReactiveInterceptorAdapter;
 import org.mule.runtime.core.streaming.StreamingManager;
@@ -63,6 +76,7 @@ import org.slf4j.Logger;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
 
 /**
  * Builder needs to return a composite rather than the first MessageProcessor in the chain. This is so that if this chain is
@@ -72,6 +86,24 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
 
   private static final Logger LOGGER = getLogger(AbstractMessageProcessorChain.class);
 
+  private static final String PROCESSOR_START_NANOS_PARAMETER_PREFIX = "core:processorStartNanos:";
+
+  /**
+   * Whether a processor type doesn't override {@link Processor#apply(Publisher)}. Kept with each class rather than in a map so
+   * that application classes and their class loaders aren't retained once the application is undeployed.
+   */
+  private static final ClassValue<Boolean> FUSABLE_PROCESSOR_TYPES = new ClassValue<Boolean>() {
+
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        return type.getMethod("apply", Publisher.class).getDeclaringClass() == Processor.class;
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+  };
+
   protected String name;
   protected List<Processor> processors;
   protected MuleContext muleContext;
@@ -114,19 +146,56 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
 
   @Override
   public Publisher<Event> apply(Publisher<Event> publisher) {
-    List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors = resolveInterceptors();
+    final boolean notificationsEnabled = isMessageProcessorNotificationEnabled();
+    final SampledProcessorTracer tracer = getSampledProcessorTracer();
+    List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors =
+        resolveInterceptors(notificationsEnabled, tracer);
+    List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> fusedInterceptors = resolveFusedInterceptors();
+    // Processor interceptors need to be applied around each processor, so these can't be fused.
+    final boolean fusion = parseBoolean(getProperty(MULE_PROCESSOR_CHAIN_FUSION, "true"))
+        && muleContext.getProcessorInterceptorManager().getInterceptorFactories().isEmpty();
+
     Flux<Event> stream = from(publisher);
+    List<Processor> fusable = new ArrayList<>();
     for (Processor processor : getProcessorsToExecute()) {
       // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
-      // along with the interceptors that decorate it.
-      stream = stream.transform(applyInterceptors(interceptors, processor));
+      // along with the interceptors that decorate it. Consecutive processors that can be fused are applied together.
+      if (fusion && isFusable(processor)) {
+        fusable.add(processor);
+      } else {
+        stream = transformFusable(stream, fusable, interceptors, fusedInterceptors, notificationsEnabled, tracer);
+        fusable = new ArrayList<>();
+        stream = stream.transform(applyInterceptors(interceptors, processor, processor));
+      }
     }
-    return stream;
+    return transformFusable(stream, fusable, interceptors, fusedInterceptors, notificationsEnabled, tracer);
+  }
+
+  private Flux<Event> transformFusable(Flux<Event> stream, List<Processor> fusable,
+                                       List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors,
+                                       List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> fusedInterceptors,
+                                       boolean notificationsEnabled, SampledProcessorTracer tracer) {
+    if (fusable.isEmpty()) {
+      return stream;
+    } else if (fusable.size() == 1) {
+      return stream.transform(applyInterceptors(interceptors, fusable.get(0), fusable.get(0)));
+    } else {
+      return stream.transform(applyInterceptors(fusedInterceptors, fusable.get(0),
+                                                new FusedProcessors(fusable, notificationsEnabled, tracer)));
+    }
+  }
+
+  /**
+   * A processor can be fused when it's {@link ProcessingType#CPU_LITE} and doesn't override
+   * {@link Processor#apply(Publisher)}, so that invoking {@link Processor#process(Event)} is all it takes to execute it.
+   */
+  private boolean isFusable(Processor processor) {
+    return processor.getProcessingType() == CPU_LITE && FUSABLE_PROCESSOR_TYPES.get(processor.getClass());
   }
 
   private ReactiveProcessor applyInterceptors(List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptorsToBeExecuted,
-                                              Processor processor) {
-    ReactiveProcessor interceptorWrapperProcessorFunction = processor;
+                                              Processor processor, ReactiveProcessor processorFunction) {
+    ReactiveProcessor interceptorWrapperProcessorFunction = processorFunction;
     // Take processor publisher function itself and transform it by applying interceptor transformations onto it.
     for (BiFunction<Processor, ReactiveProcessor, ReactiveProcessor> interceptor : interceptorsToBeExecuted) {
       interceptorWrapperProcessorFunction = interceptor.apply(processor, interceptorWrapperProcessorFunction);
@@ -134,7 +203,21 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
     return interceptorWrapperProcessorFunction;
   }
 
-  private List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> resolveInterceptors() {
+  /**
+   * Only the processing strategy and error handling interceptors are applied around {@link FusedProcessors}, the rest are
+   * performed by the fused operator itself for each of its processors.
+   */
+  private List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> resolveFusedInterceptors() {
+    List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors = new ArrayList<>();
+    if (flowConstruct instanceof Pipeline) {
+      interceptors.add(processingStrategyInterceptor());
+    }
+    interceptors.add(errorHandlingInterceptor());
+    return interceptors;
+  }
+
+  private List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> resolveInterceptors(boolean notificationsEnabled,
+                                                                                              SampledProcessorTracer tracer) {
     List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors =
         new ArrayList<>();
 
@@ -150,22 +233,8 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
 
     // #3 Apply processing strategy. This is done here to ensure notifications and interceptors do not execute on async processor
     // threads which may be limited to avoid deadlocks.
-    // Use anonymous ReactiveProcessor to apply processing strategy to processor + previous interceptors
-    // while using the processing type of the processor itself.
     if (flowConstruct instanceof Pipeline) {
-      interceptors
-          .add((processor, next) -> ((Pipeline) flowConstruct).getProcessingStrategy().onProcessor(new ReactiveProcessor() {
-
-            @Override
-            public Publisher<Event> apply(Publisher<Event> eventPublisher) {
-              return next.apply(eventPublisher);
-            }
-
-            @Override
-            public ProcessingType getProcessingType() {
-              return processor.getProcessingType();
-            }
-          }));
+      interceptors.add(processingStrategyInterceptor());
     }
 
     // #4 Update ThreadLocal event after processor execution once back on flow thread.
@@ -173,30 +242,32 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
         .transform(next)
         .doOnNext(result -> setCurrentEvent(result)));
 
-    // #5 Fire MessageProcessor notifications before and after processor execution.
-    interceptors.add((processor, next) -> stream -> from(stream)
-        .doOnNext(preNotification(processor))
-        .transform(next)
-        .doOnNext(postNotification(processor))
-        .doOnError(MessagingException.class, errorNotification(processor)));
+    // #5 Fire MessageProcessor notifications before and after processor execution. Elided when no listener can receive them.
+    if (notificationsEnabled) {
+      interceptors.add((processor, next) -> stream -> from(stream)
+          .doOnNext(preNotification(processor))
+          .transform(next)
+          .doOnNext(postNotification(processor))
+          .doOnError(MessagingException.class, errorNotification(processor)));
+    }
+
+    // #6 Record the time each processor takes for the sampled events. Elided when the flow construct has no statistics, which
+    // may otherwise be enabled after the chain is assembled.
+    if (hasStatistics()) {
+      interceptors.add(processingTimeInterceptor());
+    }
 
-    // #6 If the processor returns a CursorProvider, then have the StreamingManager manage it
+    // #7 Record when sampled events enter and exit the processor. Elided when sampled tracing is disabled.
+    if (tracer.isEnabled()) {
+      interceptors.add(sampledTraceInterceptor(tracer));
+    }
+
+    // #8 If the processor returns a CursorProvider, then have the StreamingManager manage it
     interceptors.add((processor, next) -> stream -> from(stream)
         .transform(next)
-        .map(result -> {
-          Object payload = result.getMessage().getPayload().getValue();
-          if (payload instanceof CursorProvider) {
-            Message message = Message.builder(result.getMessage()).payload(
-                                                                           streamingManager.manage((CursorProvider) payload,
-                                                                                                   result))
-                .build();
-            result = Event.builder(result).message(message).build();
-          }
-
-          return result;
-        }));
+        .map(result -> manageCursorProvider(result)));
 
-    // #7 Apply processor interceptors.
+    // #9 Apply processor interceptors.
     muleContext.getProcessorInterceptorManager().getInterceptorFactories().stream()
         .forEach(interceptorFactory -> {
           ReactiveInterceptorAdapter reactiveInterceptorAdapter = new ReactiveInterceptorAdapter(interceptorFactory);
@@ -205,17 +276,138 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
         });
 
 
-    // #8 Handle errors that occur during Processor execution. This is done outside to any scheduling to ensure errors in
+    // #10 Handle errors that occur during Processor execution. This is done outside to any scheduling to ensure errors in
     // scheduling such as RejectedExecutionException's can be handled cleanly
-    interceptors.add((processor, next) -> stream -> from(stream).concatMap(event -> just(event)
+    interceptors.add(errorHandlingInterceptor());
+
+    return interceptors;
+  }
+
+  private BiFunction<Processor, ReactiveProcessor, ReactiveProcessor> processingTimeInterceptor() {
+    return (processor, next) -> {
+      final String processorPath = getProcessorPath(processor);
+      if (processorPath == null) {
+        return next;
+      }
+
+      // The start time travels with the event rather than being kept for the event context, since events of the same context may
+      // go through the processor at the same time, such as the parts of a concurrent foreach.
+      final String startNanosParameter = PROCESSOR_START_NANOS_PARAMETER_PREFIX + processorPath;
+      return stream -> from(stream)
+          .map(event -> processorStarted(event, startNanosParameter))
+          .transform(next)
+          .map(result -> processorCompleted(result, processorPath, startNanosParameter));
+    };
+  }
+
+  private Event processorStarted(Event event, String startNanosParameter) {
+    if (!isLatencySampled(event)) {
+      return event;
+    }
+    return Event.builder(event).addParameter(startNanosParameter, nanoTime()).build();
+  }
+
+  private Event processorCompleted(Event result, String processorPath, String startNanosParameter) {
+    final TypedValue<Object> startNanos = result.getParameters().get(startNanosParameter);
+    if (startNanos == null) {
+      return result;
+    }
+    addProcessorTimeSample(processorPath, nanoTime() - (Long) startNanos.getValue());
+    return Event.builder(result).removeParameter(startNanosParameter).build();
+  }
+
+  private static boolean isLatencySampled(Event event) {
+    final ProcessingTime time = event.getContext().getProcessingTime();
+    return time != null && time.isLatencySampled();
+  }
+
+  private void addProcessorTimeSample(String processorPath, long nanos) {
+    FlowConstructStatistics statistics = flowConstruct.getStatistics();
+    if (statistics.isEnabled()) {
+      statistics.addProcessorTimeSample(processorPath, nanos);
+    }
+  }
+
+  private static String getProcessorPath(Processor processor) {
+    if (processor instanceof AnnotatedObject && ((AnnotatedObject) processor).getLocation() != null) {
+      return ((AnnotatedObject) processor).getLocation().getLocation();
+    }
+    return null;
+  }
+
+  private SampledProcessorTracer getSampledProcessorTracer() {
+    final FlowTraceManager flowTraceManager = muleContext.getFlowTraceManager();
+    return flowTraceManager instanceof MessageProcessingFlowTraceManager
+        ? ((MessageProcessingFlowTraceManager) flowTraceManager).getSampledProcessorTracer()
+        : DISABLED;
+  }
+
+  private BiFunction<Processor, ReactiveProcessor, ReactiveProcessor> sampledTraceInterceptor(SampledProcessorTracer tracer) {
+    return (processor, next) -> {
+      final String processorPath = getProcessorPath(processor);
+      if (processorPath == null) {
+        return next;
+      }
+
+      return stream -> from(stream)
+          .doOnNext(event -> traceEnter(tracer, event, processorPath))
+          .transform(next)
+          .doOnNext(result -> traceExit(tracer, result, processorPath))
+          .doOnError(MessagingException.class, exception -> traceExit(tracer, exception.getEvent(), processorPath));
+    };
+  }
+
+  private static void traceEnter(SampledProcessorTracer tracer, Event event, String processorPath) {
+    final String eventId = event.getContext().getId();
+    if (tracer.isSampled(eventId)) {
+      tracer.processorEnter(eventId, processorPath);
+    }
+  }
+
+  private static void traceExit(SampledProcessorTracer tracer, Event event, String processorPath) {
+    final String eventId = event.getContext().getId();
+    if (tracer.isSampled(eventId)) {
+      tracer.processorExit(eventId, processorPath);
+    }
+  }
+
+  private BiFunction<Processor, ReactiveProcessor, ReactiveProcessor> processingStrategyInterceptor() {
+    // Use anonymous ReactiveProcessor to apply processing strategy to processor + previous interceptors
+    // while using the processing type of the processor itself.
+    return (processor, next) -> ((Pipeline) flowConstruct).getProcessingStrategy().onProcessor(new ReactiveProcessor() {
+
+      @Override
+      public Publisher<Event> apply(Publisher<Event> eventPublisher) {
+        return next.apply(eventPublisher);
+      }
+
+      @Override
+      public ProcessingType getProcessingType() {
+        return processor.getProcessingType();
+      }
+    });
+  }
+
+  private BiFunction<Processor, ReactiveProcessor, ReactiveProcessor> errorHandlingInterceptor() {
+    return (processor, next) -> stream -> from(stream).concatMap(event -> just(event)
         .transform(next)
         .onErrorResume(RejectedExecutionException.class,
                        throwable -> handleError(event.getContext())
                            .apply(updateMessagingExceptionWithError(new MessagingException(event, throwable, processor),
                                                                     processor, flowConstruct)))
-        .onErrorResume(MessagingException.class, handleError(event.getContext()))));
+        .onErrorResume(MessagingException.class, handleError(event.getContext())));
+  }
 
-    return interceptors;
+  private Event manageCursorProvider(Event result) {
+    Object payload = result.getMessage().getPayload().getValue();
+    if (payload instanceof CursorProvider) {
+      Message message = Message.builder(result.getMessage())
+          .payload(streamingManager.manage((CursorProvider) payload, result))
+          .build();
+      result = Event.builder(result).message(message).build();
+    }
+
+    return result;
   }
 
   private Function<MessagingException, MessagingException> updateMessagingException(Processor processor) {
@@ -272,6 +464,20 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
     };
   }
 
+  private boolean hasStatistics() {
+    return flowConstruct != null && flowConstruct.getStatistics() != null;
+  }
+
+  /**
+   * @return whether {@link MessageProcessorNotification}s may be fired for the processors in this chain. When notifications are
+   *         dynamic listeners may be registered after the chain is assembled, so they can't be ruled out.
+   */
+  private boolean isMessageProcessorNotificationEnabled() {
+    ServerNotificationManager serverNotificationManager = muleContext.getNotificationManager();
+    return serverNotificationManager != null && (serverNotificationManager.isNotificationDynamic()
+        || serverNotificationManager.isNotificationEnabled(MessageProcessorNotification.class));
+  }
+
   private void fireNotification(ServerNotificationManager serverNotificationManager, FlowConstruct flowConstruct,
                                 Event event, Processor processor, MessagingException exceptionThrown,
                                 int action) {
@@ -392,4 +598,91 @@ public abstract class AbstractMessageProcessorChain extends AbstractAnnotatedObj
     disposeIfNeeded(getMessageProcessorsForLifecycle(), LOGGER);
   }
 
+  /**
+   * Executes a sequence of processors within a single operator by invoking each of them in turn, doing inline what the
+   * interceptors in {@link #resolveInterceptors(boolean, SampledProcessorTracer)} do around each processor, except for the
+   * processing strategy and error handling, which are applied once around the whole sequence.
+   * <p/>
+   * This avoids assembling and going through several operators per processor and event, which is most of the cost of simple
+   * processors.
+   */
+  private class FusedProcessors implements ReactiveProcessor {
+
+    private final List<Processor> processors;
+    private final String[] processorPaths;
+    private final boolean notificationsEnabled;
+    private final boolean statisticsAvailable;
+    private final SampledProcessorTracer tracer;
+
+    FusedProcessors(List<Processor> processors, boolean notificationsEnabled, SampledProcessorTracer tracer) {
+      this.processors = processors;
+      this.processorPaths = processors.stream().map(processor -> getProcessorPath(processor)).toArray(String[]::new);
+      this.notificationsEnabled = notificationsEnabled;
+      this.statisticsAvailable = hasStatistics();
+      this.tracer = tracer;
+    }
+
+    @Override
+    public Publisher<Event> apply(Publisher<Event> publisher) {
+      return from(publisher).handle(this::process);
+    }
+
+    private void process(Event event, SynchronousSink<Event> sink) {
+      final boolean sampled = statisticsAvailable && isLatencySampled(event);
+      final String eventId = event.getContext().getId();
+      final boolean traced = tracer.isSampled(eventId);
+      for (int i = 0; i < processors.size(); ++i) {
+        final Processor processor = processors.get(i);
+        final boolean tracedProcessor = traced && processorPaths[i] != null;
+        if (notificationsEnabled) {
+          preNotification(processor).accept(event);
+        }
+        setCurrentEvent(event);
+        if (tracedProcessor) {
+          tracer.processorEnter(eventId, processorPaths[i]);
+        }
+        final long startNanos = sampled ? nanoTime() : 0;
+        Event result;
+        try {
+          try {
+            result = processor.process(event);
+          } finally {
+            if (tracedProcessor) {
+              tracer.processorExit(eventId, processorPaths[i]);
+            }
+          }
+        } catch (MessagingException messagingException) {
+          MessagingException updated = updateMessagingException(processor).apply(messagingException);
+          if (notificationsEnabled) {
+            errorNotification(processor).accept(updated);
+          }
+          sink.error(updated);
+          return;
+        } catch (Throwable throwable) {
+          sink.error(wrapFatal(throwable));
+          return;
+        }
+
+        if (result == null) {
+          event.getContext().success();
+          return;
+        }
+        if (sampled && processorPaths[i] != null) {
+          addProcessorTimeSample(processorPaths[i], nanoTime() - startNanos);
+        }
+        setCurrentEvent(result);
+        if (notificationsEnabled) {
+          postNotification(processor).accept(result);
+        }
+        event = manageCursorProvider(result);
+      }
+      sink.next(event);
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return CPU_LITE;
+    }
+  }
+
 }
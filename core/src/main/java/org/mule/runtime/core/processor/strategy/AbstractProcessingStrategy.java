@@ -69,10 +69,36 @@ public abstract class AbstractProcessingStrategy implements ProcessingStrategy {
     @Override
     public void accept(Event event) {
       onEventConsumer.accept(event);
+      submit(event);
+    }
+
+    /**
+     * Emits the event, waiting for room in the ring-buffer if needed. Unlike {@link #accept(Event)}, the event is not checked.
+     *
+     * @param event the event to emit.
+     */
+    void submit(Event event) {
       // TODO MULE-11449 Implement handling of back-pressure via OVERLOAD exception type.
       blockingSink.accept(event);
     }
 
+    /**
+     * Emits the event only if there is room for it in the ring-buffer. Unlike {@link #accept(Event)}, the event is not checked.
+     *
+     * @param event the event to emit.
+     * @return {@code true} if the event was emitted, {@code false} if it has to be emitted elsewhere.
+     */
+    boolean tryEmit(Event event) {
+      return blockingSink.emit(event).isOk();
+    }
+
+    /**
+     * @return how many more events can currently be emitted without waiting.
+     */
+    long getFreeCapacity() {
+      return blockingSink.requestedFromDownstream();
+    }
+
     @Override
     public void dispose() {
       blockingSink.complete();
@@ -132,10 +132,21 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
 
     @Override
     public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      return createRingBufferSink(function, maxConcurrency < subscribers ? maxConcurrency : subscribers);
+    }
+
+    /**
+     * Creates a {@link Sink} backed by its own ring-buffer.
+     *
+     * @param function the processing to apply to the events in the ring-buffer.
+     * @param subscriberCount the number of subscribers consuming from the ring-buffer.
+     * @return the newly created {@link Sink}.
+     */
+    protected ReactorSink createRingBufferSink(ReactiveProcessor function, int subscriberCount) {
       WorkQueueProcessor<Event> processor =
           WorkQueueProcessor.share(ringBufferSchedulerSupplier.get(), bufferSize, waitStrategy.getReactorWaitStrategy(), false);
       List<Disposable> disposables = new ArrayList<>();
-      for (int i = 0; i < (maxConcurrency < subscribers ? maxConcurrency : subscribers); i++) {
+      for (int i = 0; i < subscriberCount; i++) {
         disposables.add(processor.transform(function).subscribe());
       }
       disposables.add(() -> processor.shutdown());
@@ -144,28 +155,33 @@ abstract class AbstractStreamProcessingStrategyFactory extends AbstractProcessin
     }
 
     protected enum WaitStrategy {
-      BLOCKING(blocking()),
+      BLOCKING(() -> blocking()),
+
+      LITE_BLOCKING(() -> liteBlocking()),
 
-      LITE_BLOCKING(liteBlocking()),
+      SLEEPING(() -> sleeping()),
 
-      SLEEPING(sleeping()),
+      BUSY_SPIN(() -> busySpin()),
 
-      BUSY_SPIN(busySpin()),
+      YIELDING(() -> yielding()),
 
-      YIELDING(yielding()),
+      PARKING(() -> parking()),
 
-      PARKING(parking()),
+      PHASED(() -> phasedOffLiteLock(200, 100, MILLISECONDS)),
 
-      PHASED(phasedOffLiteLock(200, 100, MILLISECONDS));
+      ADAPTIVE(() -> new AdaptiveWaitStrategy());
 
-      private reactor.util.concurrent.WaitStrategy reactorWaitStrategy;
+      private Supplier<reactor.util.concurrent.WaitStrategy> reactorWaitStrategySupplier;
 
-      WaitStrategy(reactor.util.concurrent.WaitStrategy reactorWaitStrategy) {
-        this.reactorWaitStrategy = reactorWaitStrategy;
+      WaitStrategy(Supplier<reactor.util.concurrent.WaitStrategy> reactorWaitStrategySupplier) {
+        this.reactorWaitStrategySupplier = reactorWaitStrategySupplier;
       }
 
+      /**
+       * @return a new instance of the reactor wait strategy, to be used by a single ring-buffer.
+       */
       reactor.util.concurrent.WaitStrategy getReactorWaitStrategy() {
-        return reactorWaitStrategy;
+        return reactorWaitStrategySupplier.get();
       }
     }
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import reactor.util.concurrent.WaitStrategy;
+
+/**
+ * {@link WaitStrategy} that spins, then yields and finally blocks until a new event is available in the ring-buffer, adapting
+ * how long it spins and yields to the rate at which events arrive.
+ * <p>
+ * An average of the time between the arrival of events is estimated from the waits of the consumers. While events arrive
+ * often, waiting consumers spin and then yield for up to twice that average, avoiding the latency of parking and unparking
+ * threads. When the flow goes idle the average grows beyond what can be spent spinning and yielding, so consumers block
+ * straight away instead of burning CPU, until events arrive often again and the average goes back down. Blocking follows the
+ * same approach as {@link WaitStrategy#liteBlocking()}, only signalling when a consumer is actually blocked.
+ * <p>
+ * Instances keep state, so each ring-buffer needs its own.
+ *
+ * @since 4.0
+ */
+final class AdaptiveWaitStrategy extends WaitStrategy {
+
+  static final long MAX_SPIN_NANOS = MICROSECONDS.toNanos(20);
+  static final long MAX_YIELD_NANOS = MICROSECONDS.toNanos(200);
+
+  /**
+   * Spinning on a single processor only delays the thread that would publish the awaited event.
+   */
+  private static final boolean SPIN_ALLOWED = getRuntime().availableProcessors() > 1;
+
+  /**
+   * The last estimated gap weighs 1/2^AVERAGE_SHIFT in the average.
+   */
+  private static final int AVERAGE_SHIFT = 3;
+
+  private final Lock lock = new ReentrantLock();
+  private final Condition processorNotifyCondition = lock.newCondition();
+  private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+
+  private final LongSupplier clock;
+
+  private volatile long averageGapNanos = MAX_SPIN_NANOS;
+
+  AdaptiveWaitStrategy() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * @param clock the source of the time in nanoseconds used to estimate the gap between events.
+   */
+  AdaptiveWaitStrategy(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public long waitFor(long sequence, LongSupplier cursor, Runnable spinObserver) throws InterruptedException {
+    long availableSequence = cursor.getAsLong();
+    if (availableSequence >= sequence) {
+      return availableSequence;
+    }
+
+    final long start = clock.getAsLong();
+    final long budget = max(2 * averageGapNanos, MAX_SPIN_NANOS);
+
+    if (budget <= MAX_SPIN_NANOS + MAX_YIELD_NANOS) {
+      final long spinDeadline = start + (SPIN_ALLOWED ? min(budget, MAX_SPIN_NANOS) : 0);
+      while ((availableSequence = cursor.getAsLong()) < sequence && clock.getAsLong() < spinDeadline) {
+        spinObserver.run();
+      }
+
+      final long yieldDeadline = start + budget;
+      while (availableSequence < sequence && clock.getAsLong() < yieldDeadline) {
+        spinObserver.run();
+        Thread.yield();
+        availableSequence = cursor.getAsLong();
+      }
+    }
+
+    if (availableSequence < sequence) {
+      availableSequence = block(sequence, cursor, spinObserver);
+    }
+
+    // many events may have arrived while blocked, so the time between events is estimated rather than the time waited
+    updateAverage((clock.getAsLong() - start) / (availableSequence - sequence + 1));
+    return availableSequence;
+  }
+
+  private long block(long sequence, LongSupplier cursor, Runnable spinObserver) throws InterruptedException {
+    long availableSequence;
+    lock.lock();
+    try {
+      do {
+        signalNeeded.getAndSet(true);
+        if ((availableSequence = cursor.getAsLong()) >= sequence) {
+          break;
+        }
+        spinObserver.run();
+        processorNotifyCondition.await();
+      } while ((availableSequence = cursor.getAsLong()) < sequence);
+    } finally {
+      lock.unlock();
+    }
+    return availableSequence;
+  }
+
+  private void updateAverage(long gapNanos) {
+    // Races between consumers may lose some samples, which is fine for an estimation.
+    final long average = averageGapNanos;
+    averageGapNanos = average + ((gapNanos - average) >> AVERAGE_SHIFT);
+  }
+
+  @Override
+  public void signalAllWhenBlocking() {
+    if (signalNeeded.getAndSet(false)) {
+      lock.lock();
+      try {
+        processorNotifyCondition.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  long getAverageGapNanos() {
+    return averageGapNanos;
+  }
+}
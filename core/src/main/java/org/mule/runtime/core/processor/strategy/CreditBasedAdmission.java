@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static reactor.core.publisher.Flux.defer;
+
+import org.mule.runtime.core.api.processor.strategy.SchedulingStatistics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Admits the tasks of a flow into a shared scheduler only while it holds a free credit.
+ * <p/>
+ * At most {@code credits} tasks are subscribed at the same time. A task subscribed while there are no credits left waits,
+ * without blocking any thread, until a credit is freed by the termination or cancellation of an admitted task. The credit is
+ * then handed over directly to the oldest waiting task, and the subscription to that task continues on the thread that freed
+ * the credit. Since admitted tasks are expected to move to their own scheduler with {@code subscribeOn}, this thread only
+ * submits the task and never runs it.
+ * <p/>
+ * No more than {@code maxQueued} tasks may be waiting at the same time. Tasks exceeding that bound fail with a
+ * {@link RejectedExecutionException}, just like when the scheduler itself rejects them, so that both cases are reported to the
+ * caller as the same overload error.
+ *
+ * @since 4.0
+ */
+final class CreditBasedAdmission implements SchedulingStatistics {
+
+  private final int credits;
+  private final int maxQueued;
+
+  private final Deque<Admission> queued = new ArrayDeque<>();
+  private int inFlight;
+  private final AtomicLong rejected = new AtomicLong();
+
+  /**
+   * Creates a new instance
+   *
+   * @param credits the maximum number of tasks to be admitted at the same time
+   * @param maxQueued the maximum number of tasks that may wait for a credit at the same time
+   */
+  CreditBasedAdmission(int credits, int maxQueued) {
+    this.credits = credits;
+    this.maxQueued = maxQueued;
+  }
+
+  /**
+   * Wraps {@code task} so that it's only subscribed once a credit is available for it. The credit is returned when the
+   * resulting {@link Flux} terminates or is cancelled.
+   *
+   * @param task the task to admit
+   * @return a {@link Flux} that subscribes to {@code task} once a credit is available for it
+   */
+  <T> Flux<T> admit(Publisher<T> task) {
+    return defer(() -> {
+      Admission admission = new Admission();
+      return Mono.<Void>create(sink -> acquire(admission, sink)).thenMany(task).doFinally(signal -> release(admission));
+    });
+  }
+
+  /**
+   * Records that the scheduler a task was admitted into has rejected it.
+   */
+  void onRejected() {
+    rejected.incrementAndGet();
+  }
+
+  private void acquire(Admission admission, MonoSink<Void> sink) {
+    synchronized (this) {
+      if (inFlight < credits) {
+        inFlight++;
+        admission.granted = true;
+      } else if (queued.size() < maxQueued) {
+        admission.sink = sink;
+        queued.addLast(admission);
+        sink.onCancel(() -> {
+          synchronized (this) {
+            queued.remove(admission);
+          }
+        });
+        return;
+      }
+    }
+
+    if (admission.granted) {
+      sink.success();
+    } else {
+      onRejected();
+      sink.error(new RejectedExecutionException("No credit available and " + maxQueued + " tasks already waiting for one"));
+    }
+  }
+
+  private void release(Admission admission) {
+    Admission next;
+    synchronized (this) {
+      if (!admission.granted) {
+        return;
+      }
+      admission.granted = false;
+      next = queued.pollFirst();
+      if (next != null) {
+        // The credit is handed over without decrementing inFlight
+        next.granted = true;
+      } else {
+        inFlight--;
+      }
+    }
+
+    if (next != null) {
+      next.sink.success();
+    }
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejected.get();
+  }
+
+  @Override
+  public synchronized int getQueuedCount() {
+    return queued.size();
+  }
+
+  @Override
+  public synchronized int getInFlightCount() {
+    return inFlight;
+  }
+
+  /**
+   * The state of a single subscription to an admitted task. Guarded by the {@link CreditBasedAdmission} lock.
+   */
+  private static final class Admission {
+
+    private MonoSink<Void> sink;
+    private boolean granted;
+  }
+
+}
@@ -6,14 +6,12 @@
  */
 package org.mule.runtime.core.processor.strategy;
 
-import static java.time.Duration.ofMillis;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.core.publisher.Flux.from;
 import static reactor.core.publisher.Flux.just;
-import static reactor.core.publisher.Mono.delay;
 import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 import org.mule.runtime.api.exception.MuleException;
@@ -22,8 +20,10 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.processor.strategy.SchedulingStatistics;
 import org.mule.runtime.core.api.scheduler.SchedulerService;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
@@ -37,6 +37,13 @@ import org.slf4j.Logger;
  * {@link ProcessingType#BLOCKING} processors differently and schedules there execution on dedicated
  * {@link SchedulerService#cpuIntensiveScheduler()} and {@link SchedulerService#ioScheduler()} ()} schedulers.
  * <p/>
+ * Work is admitted into these shared schedulers using credits: no more than {@code maxConcurrency} tasks of a flow are handed
+ * over to each of them at the same time, and further tasks wait until an admitted one completes. No timers are involved: a
+ * waiting task holds no thread, and another event is only requested from upstream once an admitted task has returned its
+ * credit. When a shared scheduler rejects a task, or too many tasks are already waiting for a credit, the flow is overloaded and
+ * the event fails with an {@code OVERLOAD} error instead of being retried. The number of rejected, queued and in-flight tasks
+ * of the flow are available through {@link SchedulingStatistics}.
+ * <p/>
  * This processing strategy is not suitable for transactional flows and will fail if used with an active transaction.
  *
  * @since 4.0
@@ -79,15 +86,16 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
     }
   }
 
-  static class ProactorStreamProcessingStrategy extends ReactorStreamProcessingStrategy {
+  static class ProactorStreamProcessingStrategy extends ReactorStreamProcessingStrategy implements SchedulingStatistics {
 
-    private static Logger LOGGER = getLogger(ProactorStreamProcessingStrategy.class);
-    private static int SCHEDULER_BUSY_RETRY_INTERVAL_MS = 10;
+    private static final Logger LOGGER = getLogger(ProactorStreamProcessingStrategy.class);
 
     private Supplier<Scheduler> blockingSchedulerSupplier;
     private Supplier<Scheduler> cpuIntensiveSchedulerSupplier;
     private Scheduler blockingScheduler;
     private Scheduler cpuIntensiveScheduler;
+    private final CreditBasedAdmission blockingAdmission;
+    private final CreditBasedAdmission cpuIntensiveAdmission;
 
     public ProactorStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier,
                                             int bufferSize,
@@ -102,6 +110,9 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
       super(ringBufferSchedulerSupplier, bufferSize, subscriberCount, waitStrategy, cpuLightSchedulerSupplier, maxConcurrency);
       this.blockingSchedulerSupplier = blockingSchedulerSupplier;
       this.cpuIntensiveSchedulerSupplier = cpuIntensiveSchedulerSupplier;
+      // Events beyond the ring buffer size are never expected to wait for a credit
+      this.blockingAdmission = new CreditBasedAdmission(maxConcurrency, bufferSize);
+      this.cpuIntensiveAdmission = new CreditBasedAdmission(maxConcurrency, bufferSize);
     }
 
     @Override
@@ -125,28 +136,57 @@ public class ProactorStreamProcessingStrategyFactory extends ReactorStreamProces
     @Override
     public ReactiveProcessor onProcessor(ReactiveProcessor processor) {
       if (processor.getProcessingType() == BLOCKING && maxConcurrency > subscribers) {
-        return proactor(processor, blockingScheduler);
+        return proactor(processor, this::getBlockingExecutor, blockingAdmission);
       } else if (processor.getProcessingType() == CPU_INTENSIVE && maxConcurrency > subscribers) {
-        return proactor(processor, cpuIntensiveScheduler);
+        return proactor(processor, () -> decorateScheduler(cpuIntensiveScheduler), cpuIntensiveAdmission);
       } else {
         return super.onProcessor(processor);
       }
     }
 
-    private ReactiveProcessor proactor(ReactiveProcessor processor, Scheduler scheduler) {
+    /**
+     * @return the executor {@link ProcessingType#BLOCKING} processors are run on.
+     */
+    protected ExecutorService getBlockingExecutor() {
+      return decorateScheduler(blockingScheduler);
+    }
+
+    /**
+     * Each event takes a credit from {@code admission} before being handed over to {@code executor}, and the {@code flatMap}
+     * only requests a new event from upstream after the credit of a previous one is returned. If {@code executor} rejects the
+     * event its credit is returned and the event fails with the {@link RejectedExecutionException}.
+     */
+    private ReactiveProcessor proactor(ReactiveProcessor processor, Supplier<ExecutorService> executor,
+                                       CreditBasedAdmission admission) {
       return publisher -> from(publisher)
-          .flatMap(event -> just(event).transform(processor)
+          .flatMap(event -> admission.admit(just(event).transform(processor)
               .publishOn(fromExecutorService(decorateScheduler(getCpuLightScheduler())))
-              .subscribeOn(fromExecutorService(decorateScheduler(scheduler)))
-              .doOnError(RejectedExecutionException.class, throwable -> LOGGER.trace("Shared scheduler " + scheduler.getName()
-                  + " is busy.  Scheduling of the current event will be retried after " + SCHEDULER_BUSY_RETRY_INTERVAL_MS
-                  + "ms."))
-              .retryWhen(errors -> errors
-                  .flatMap(error -> delay(ofMillis(SCHEDULER_BUSY_RETRY_INTERVAL_MS),
-                                          fromExecutorService(getCpuLightScheduler())))),
+              .subscribeOn(fromExecutorService(executor.get()))
+              .doOnError(RejectedExecutionException.class, throwable -> {
+                admission.onRejected();
+                if (LOGGER.isDebugEnabled()) {
+                  LOGGER.debug("Shared scheduler for " + processor.getProcessingType() + " processors is busy, the current "
+                      + "event is rejected.");
+                }
+              })),
                    maxConcurrency);
     }
 
+    @Override
+    public long getRejectedCount() {
+      return blockingAdmission.getRejectedCount() + cpuIntensiveAdmission.getRejectedCount();
+    }
+
+    @Override
+    public int getQueuedCount() {
+      return blockingAdmission.getQueuedCount() + cpuIntensiveAdmission.getQueuedCount();
+    }
+
+    @Override
+    public int getInFlightCount() {
+      return blockingAdmission.getInFlightCount() + cpuIntensiveAdmission.getInFlightCount();
+    }
+
   }
 
 }
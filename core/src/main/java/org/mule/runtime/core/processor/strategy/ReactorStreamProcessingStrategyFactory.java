@@ -18,10 +18,14 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.scheduler.SchedulerService;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 
@@ -30,12 +34,30 @@ import java.util.function.Supplier;
  * messages onto a single event-loop using a ring-buffer and then using using the {@link SchedulerService#cpuLightScheduler()} to
  * process events from the ring-buffer.
  * <p>
+ * When {@link #setShardedSink(boolean)} is enabled, there is a ring-buffer per core, each consumed by its own subscriber,
+ * instead of all subscribers contending on a shared one. The configured subscriber count doesn't apply in that case.
+ * <p>
  * This processing strategy is not suitable for transactional flows and will fail if used with an active transaction.
  *
  * @since 4.0
  */
 public class ReactorStreamProcessingStrategyFactory extends AbstractStreamProcessingStrategyFactory {
 
+  private boolean shardedSink = false;
+
+  /**
+   * Configure whether to use a ring-buffer per core, each with its own subscriber. Incoming events are spread among the
+   * ring-buffers.
+   *
+   * @param shardedSink {@code true} to use a ring-buffer per core.
+   */
+  public void setShardedSink(boolean shardedSink) {
+    this.shardedSink = shardedSink;
+  }
+
+  protected boolean isShardedSink() {
+    return shardedSink;
+  }
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
@@ -47,7 +69,7 @@ public class ReactorStreamProcessingStrategyFactory extends AbstractStreamProces
                                                () -> muleContext.getSchedulerService()
                                                    .cpuLightScheduler(muleContext.getSchedulerBaseConfig()
                                                        .withName(schedulersNamePrefix + "." + CPU_LITE.name())),
-                                               getMaxConcurrency());
+                                               getMaxConcurrency(), isShardedSink());
   }
 
   @Override
@@ -59,11 +81,32 @@ public class ReactorStreamProcessingStrategyFactory extends AbstractStreamProces
 
     private Supplier<Scheduler> cpuLightSchedulerSupplier;
     private Scheduler cpuLightScheduler;
+    private final boolean shardedSink;
 
     ReactorStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier, int bufferSize, int subscribers,
                                     String waitStrategy, Supplier<Scheduler> cpuLightSchedulerSupplier, int maxConcurrency) {
+      this(ringBufferSchedulerSupplier, bufferSize, subscribers, waitStrategy, cpuLightSchedulerSupplier, maxConcurrency, false);
+    }
+
+    ReactorStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier, int bufferSize, int subscribers,
+                                    String waitStrategy, Supplier<Scheduler> cpuLightSchedulerSupplier, int maxConcurrency,
+                                    boolean shardedSink) {
       super(ringBufferSchedulerSupplier, bufferSize, subscribers, waitStrategy, maxConcurrency);
       this.cpuLightSchedulerSupplier = cpuLightSchedulerSupplier;
+      this.shardedSink = shardedSink;
+    }
+
+    @Override
+    public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      if (shardedSink) {
+        List<ReactorSink> shards = new ArrayList<>();
+        for (int i = 0; i < getNumShards(); i++) {
+          shards.add(createRingBufferSink(function, 1));
+        }
+        return new ShardedSink(shards, createOnEventConsumer());
+      } else {
+        return super.createSink(flowConstruct, function);
+      }
     }
 
     @Override
@@ -77,6 +120,13 @@ public class ReactorStreamProcessingStrategyFactory extends AbstractStreamProces
       }
     }
 
+    /**
+     * A shard per core, each of them consumed by a single subscriber, since that is as many as can run at the same time.
+     */
+    private int getNumShards() {
+      return min(getRuntime().availableProcessors(), maxConcurrency);
+    }
+
     private int getNumCpuLightThreads() {
       return min(getRuntime().availableProcessors() * 2, maxConcurrency);
     }
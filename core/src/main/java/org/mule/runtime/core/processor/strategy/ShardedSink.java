@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.slf4j.helpers.NOPLogger.NOP_LOGGER;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * {@link Sink} implementation that spreads the events it accepts among several independent ring-buffer {@link ReactorSink}s,
+ * so that callers and consumers of each of them don't contend with the ones of the others.
+ * <p>
+ * Events can't be moved from one ring-buffer to another once emitted, so rather than having idle consumers steal them, the
+ * balancing is done when emitting. Each event goes to the least loaded of two randomly picked shards, so that a shard held up by
+ * a slow event gets fewer new ones. If that shard is full, the rest of them are tried in turn, and only when all of them are
+ * full the caller waits for room in the picked one. Using a thread local random generator avoids sharing any state between
+ * callers.
+ */
+class ShardedSink implements Sink, Disposable {
+
+  private final ReactorSink[] shards;
+  private final Consumer<Event> onEventConsumer;
+
+  /**
+   * Create a {@link ShardedSink} that will spread events among the given {@code shards}.
+   *
+   * @param shards the {@link ReactorSink}s to send events to.
+   * @param onEventConsumer the check to perform on each event before it is sent to a shard.
+   */
+  public ShardedSink(List<ReactorSink> shards, Consumer<Event> onEventConsumer) {
+    this.shards = shards.toArray(new ReactorSink[shards.size()]);
+    this.onEventConsumer = onEventConsumer;
+  }
+
+  @Override
+  public void accept(Event event) {
+    onEventConsumer.accept(event);
+    if (shards.length == 1) {
+      shards[0].submit(event);
+      return;
+    }
+
+    final int picked = pickShard();
+    if (shards[picked].tryEmit(event)) {
+      return;
+    }
+    for (int i = 1; i < shards.length; ++i) {
+      if (shards[(picked + i) % shards.length].tryEmit(event)) {
+        return;
+      }
+    }
+    shards[picked].submit(event);
+  }
+
+  private int pickShard() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final int first = random.nextInt(shards.length);
+    final int second = (first + 1 + random.nextInt(shards.length - 1)) % shards.length;
+    return shards[second].getFreeCapacity() > shards[first].getFreeCapacity() ? second : first;
+  }
+
+  @Override
+  public void dispose() {
+    for (Sink shard : shards) {
+      disposeIfNeeded(shard, NOP_LOGGER);
+    }
+  }
+
+}
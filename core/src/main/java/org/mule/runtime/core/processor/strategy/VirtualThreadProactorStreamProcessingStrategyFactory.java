@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.processor.strategy.VirtualThreads.isSupported;
+import static org.mule.runtime.core.processor.strategy.VirtualThreads.newVirtualThreadPerTaskExecutor;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.processor.strategy.SchedulingStatistics;
+import org.mule.runtime.core.api.scheduler.SchedulerService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link ProactorStreamProcessingStrategyFactory.ProactorStreamProcessingStrategy} instances that run
+ * {@link ProcessingType#BLOCKING} processors on virtual threads instead of on the {@link SchedulerService#ioScheduler()}.
+ * <p/>
+ * A new virtual thread is started for each blocking processor invocation, so there is no IO pool to size and scheduling is
+ * never rejected, which removes the need to retry while the pool is busy. Blocking processors still go through the same credit
+ * based admission as in the {@link ProactorStreamProcessingStrategyFactory}, so the number of in-flight blocking invocations is
+ * bounded by {@link #getMaxConcurrency()} and reported through {@link SchedulingStatistics}. {@link ProcessingType#CPU_LITE}
+ * and {@link ProcessingType#CPU_INTENSIVE} processors are scheduled just like with the
+ * {@link ProactorStreamProcessingStrategyFactory}.
+ * <p/>
+ * On JVMs that don't support virtual threads this factory behaves exactly like the
+ * {@link ProactorStreamProcessingStrategyFactory}.
+ * <p/>
+ * This processing strategy is not suitable for transactional flows and will fail if used with an active transaction.
+ *
+ * @since 4.0
+ */
+public class VirtualThreadProactorStreamProcessingStrategyFactory extends ProactorStreamProcessingStrategyFactory {
+
+  @Override
+  public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    if (getMaxConcurrency() == 1 || !isSupported()) {
+      return super.create(muleContext, schedulersNamePrefix);
+    } else {
+      return new VirtualThreadProactorStreamProcessingStrategy(() -> muleContext.getSchedulerService()
+          .customScheduler(muleContext.getSchedulerBaseConfig()
+              .withName(schedulersNamePrefix + RING_BUFFER_SCHEDULER_NAME_SUFFIX)
+              .withMaxConcurrentTasks(getSubscriberCount() + 1)),
+                                                               getBufferSize(),
+                                                               getSubscriberCount(),
+                                                               getWaitStrategy(),
+                                                               () -> muleContext.getSchedulerService()
+                                                                   .cpuLightScheduler(muleContext.getSchedulerBaseConfig()
+                                                                       .withName(schedulersNamePrefix + "." + CPU_LITE.name())),
+                                                               () -> newVirtualThreadPerTaskExecutor(schedulersNamePrefix + "."
+                                                                   + BLOCKING.name()),
+                                                               () -> muleContext.getSchedulerService()
+                                                                   .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                                       .withName(schedulersNamePrefix + "."
+                                                                           + CPU_INTENSIVE.name())),
+                                                               getMaxConcurrency());
+    }
+  }
+
+  @Override
+  public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
+    if (getMaxConcurrency() == 1 || !isSupported()) {
+      return super.getProcessingStrategyType();
+    } else {
+      return VirtualThreadProactorStreamProcessingStrategy.class;
+    }
+  }
+
+  static class VirtualThreadProactorStreamProcessingStrategy extends ProactorStreamProcessingStrategy {
+
+    private Supplier<ExecutorService> blockingExecutorSupplier;
+    private ExecutorService blockingExecutor;
+
+    public VirtualThreadProactorStreamProcessingStrategy(Supplier<Scheduler> ringBufferSchedulerSupplier,
+                                                         int bufferSize,
+                                                         int subscriberCount,
+                                                         String waitStrategy,
+                                                         Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                                         Supplier<ExecutorService> blockingExecutorSupplier,
+                                                         Supplier<Scheduler> cpuIntensiveSchedulerSupplier,
+                                                         int maxConcurrency) {
+      // Blocking processors are not run on a Mule scheduler, so no IO scheduler is created
+      super(ringBufferSchedulerSupplier, bufferSize, subscriberCount, waitStrategy, cpuLightSchedulerSupplier, () -> null,
+            cpuIntensiveSchedulerSupplier, maxConcurrency);
+      this.blockingExecutorSupplier = blockingExecutorSupplier;
+    }
+
+    @Override
+    public void start() throws MuleException {
+      super.start();
+      this.blockingExecutor = blockingExecutorSupplier.get();
+    }
+
+    @Override
+    public void stop() throws MuleException {
+      if (blockingExecutor != null) {
+        blockingExecutor.shutdown();
+      }
+      super.stop();
+    }
+
+    @Override
+    protected ExecutorService getBlockingExecutor() {
+      return blockingExecutor;
+    }
+
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+
+/**
+ * Gives access to virtual threads on JVMs that provide them.
+ * <p/>
+ * Mule is compiled against Java 8, so the {@code Thread.ofVirtual()} builder API is looked up reflectively once. On a JVM
+ * without virtual threads (or with them available only as a disabled preview feature) {@link #isSupported()} returns
+ * {@code false} and callers are expected to fall back to platform thread schedulers.
+ *
+ * @since 4.0
+ */
+final class VirtualThreads {
+
+  private static final Logger LOGGER = getLogger(VirtualThreads.class);
+
+  private static final Method OF_VIRTUAL;
+  private static final Method BUILDER_NAME;
+  private static final Method BUILDER_FACTORY;
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    Method newThreadPerTaskExecutor = null;
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+      newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      // Fails on JVMs where virtual threads are a preview feature that has not been enabled
+      builderFactory.invoke(ofVirtual.invoke(null));
+    } catch (Exception | LinkageError e) {
+      LOGGER.debug("Virtual threads are not available in this JVM: " + e);
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_FACTORY = builderFactory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  private VirtualThreads() {}
+
+  /**
+   * @return whether the running JVM can create virtual threads.
+   */
+  static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Creates an {@link ExecutorService} that starts a new virtual thread for each task. There is no pool to size and tasks are
+   * never rejected until the executor is shut down.
+   *
+   * @param name prefix for the names of the created threads, which are suffixed with an increasing counter.
+   * @return a new virtual thread per task executor.
+   * @throws IllegalStateException if virtual threads are not supported by the running JVM.
+   */
+  static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+    if (!isSupported()) {
+      throw new IllegalStateException("Virtual threads are not supported by this JVM");
+    }
+    try {
+      Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + ".", 1L);
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, BUILDER_FACTORY.invoke(builder));
+    } catch (ReflectiveOperationException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not create virtual thread executor '" + name + "'"), e);
+    }
+  }
+
+}
@@ -44,6 +44,9 @@ import org.w3c.dom.Document;
  * <p>
  * Defining a groupSize greater than one, allows iterating over collections of elements of the specified size.
  * <p>
+ * Defining a maxConcurrency greater than one, allows processing up to that number of elements at the same time. In that case
+ * the flow variables set while processing an element are not visible to the others.
+ * <p>
  * The {@link Event} sent to the next message processor is the same that arrived to foreach.
  */
 public class Foreach extends AbstractMessageProcessorOwner implements Initialisable, Processor {
@@ -59,6 +62,7 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
   private String collectionExpression = DEFAULT_SPIT_EXPRESSION;
   private ExpressionConfig expressionConfig = new ExpressionConfig();
   private int batchSize;
+  private int maxConcurrency = 1;
   private String rootMessageVariableName;
   private String counterVariableName;
   private boolean xpathCollection;
@@ -164,6 +168,7 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
       xpathCollection = true;
     }
     splitter.setBatchSize(batchSize);
+    splitter.setMaxConcurrency(maxConcurrency);
     splitter.setCounterVariableName(counterVariableName);
     splitter.setMuleContext(muleContext);
 
@@ -186,6 +191,10 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.batchSize = batchSize;
   }
 
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
   public void setRootMessageVariableName(String rootMessageVariableName) {
     this.rootMessageVariableName = rootMessageVariableName;
   }
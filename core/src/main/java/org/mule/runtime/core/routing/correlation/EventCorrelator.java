@@ -47,10 +47,22 @@ import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
 
+import com.google.common.util.concurrent.Striped;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Correlates events into {@link EventGroup}s and aggregates them once the {@link EventCorrelatorCallback} considers them
+ * complete.
+ * <p>
+ * Groups are kept in the correlator store so they survive restarts, but lookups are served from an in-memory index so that the
+ * store is only touched when a group is created, completed or expired. Events of a same group are serialized through a lock
+ * stripe picked by correlation id, so events for different groups are processed concurrently.
+ */
 public class EventCorrelator implements Startable, Stoppable {
 
   /**
@@ -62,9 +74,17 @@ public class EventCorrelator implements Startable, Stoppable {
 
   private static final long DELAY_TIME = 10;
 
-  protected final Object groupsLock = new Object();
+  /**
+   * How many runs of the expiry monitor happen between each scan of the correlator store looking for groups which are not in
+   * the in-memory index, such as the ones created by other nodes of a cluster.
+   */
+  private static final int STORE_SCAN_RUNS = 100;
+
+  private static final int LOCK_STRIPES = 256;
+
+  private final Striped<Lock> groupLocks = Striped.lock(LOCK_STRIPES);
 
-  // @GuardedBy groupsLock
+  // @GuardedBy the lock of each group
   protected ObjectStore<Long> processedGroups = null;
 
   private long timeout = -1; // undefined
@@ -84,6 +104,11 @@ public class EventCorrelator implements Startable, Stoppable {
   private PartitionableObjectStore correlatorStore = null;
   private String storePrefix;
 
+  /**
+   * The groups in progress, indexed by group id.
+   */
+  private final ConcurrentMap<Serializable, EventGroup> eventGroups = new ConcurrentHashMap<>();
+
   private Scheduler scheduler;
   private ExpiringGroupMonitoringRunnable expiringGroupRunnable;
   private final String name;
@@ -112,8 +137,9 @@ public class EventCorrelator implements Startable, Stoppable {
 
   public void forceGroupExpiry(String groupId) throws MuleException {
     try {
-      if (correlatorStore.retrieve(groupId, getEventGroupsPartitionKey()) != null) {
-        handleGroupExpiry(getEventGroup(groupId));
+      EventGroup group = getEventGroup(groupId);
+      if (group != null) {
+        handleGroupExpiry(group);
       } else {
         addProcessedGroup(groupId);
       }
@@ -137,8 +163,10 @@ public class EventCorrelator implements Startable, Stoppable {
       }
     }
 
-    // spinloop for the EventGroup lookup
-    while (true) {
+    // ensure that only one thread at a time evaluates this EventGroup
+    final Lock lock = getGroupLock(groupId);
+    lock.lock();
+    try {
       try {
         if (isGroupAlreadyProcessed(groupId)) {
           if (logger.isDebugEnabled()) {
@@ -159,68 +187,90 @@ public class EventCorrelator implements Startable, Stoppable {
       EventGroup group;
       try {
         group = this.getEventGroup(groupId);
-      } catch (ObjectStoreException e) {
-        throw new RoutingException(timeoutMessageProcessor, e);
-      }
 
-      // does the group exist?
-      if (group == null) {
-        // ..apparently not, so create a new one & add it
-        try {
+        // does the group exist?
+        if (group == null) {
+          // ..apparently not, so create a new one & add it
           EventGroup eventGroup = callback.createEventGroup(event, groupId);
           eventGroup.initEventsStore(correlatorStore);
           group = this.addEventGroup(eventGroup);
-        } catch (ObjectStoreException e) {
-          throw new RoutingException(timeoutMessageProcessor, e);
         }
+      } catch (ObjectStoreException e) {
+        throw new RoutingException(timeoutMessageProcessor, e);
       }
 
-      // ensure that only one thread at a time evaluates this EventGroup
-      synchronized (groupsLock) {
-        if (logger.isDebugEnabled()) {
-          logger.debug("Adding event to aggregator group: " + groupId);
-        }
+      if (logger.isDebugEnabled()) {
+        logger.debug("Adding event to aggregator group: " + groupId);
+      }
 
-        // add the incoming event to the group
-        try {
-          group.addEvent(event);
-        } catch (ObjectStoreException e) {
-          throw new RoutingException(timeoutMessageProcessor, e);
-        }
+      // add the incoming event to the group
+      try {
+        group.addEvent(event);
+      } catch (ObjectStoreException e) {
+        throw new RoutingException(timeoutMessageProcessor, e);
+      }
 
-        // check to see if the event group is ready to be aggregated
-        if (callback.shouldAggregateEvents(group)) {
-          // create the response event
-          Event returnEvent = null;
-          try {
-            returnEvent = callback.aggregateEvents(group);
-          } catch (RoutingException routingException) {
-            try {
-              this.removeEventGroup(group);
-              group.clear();
-            } catch (ObjectStoreException objectStoreException) {
-              throw new RoutingException(timeoutMessageProcessor, objectStoreException);
-            }
-            throw routingException;
-          }
-          // remove the eventGroup as no further message will be received
-          // for this group once we aggregate
+      // check to see if the event group is ready to be aggregated
+      if (callback.shouldAggregateEvents(group)) {
+        // create the response event
+        Event returnEvent = null;
+        try {
+          returnEvent = callback.aggregateEvents(group);
+        } catch (RoutingException routingException) {
           try {
             this.removeEventGroup(group);
             group.clear();
-          } catch (ObjectStoreException e) {
-            throw new RoutingException(timeoutMessageProcessor, e);
+          } catch (ObjectStoreException objectStoreException) {
+            throw new RoutingException(timeoutMessageProcessor, objectStoreException);
           }
-
-          return returnEvent;
-        } else {
-          return null;
+          throw routingException;
         }
+        // remove the eventGroup as no further message will be received
+        // for this group once we aggregate
+        try {
+          this.removeEventGroup(group);
+          group.clear();
+        } catch (ObjectStoreException e) {
+          throw new RoutingException(timeoutMessageProcessor, e);
+        }
+
+        return returnEvent;
+      } else {
+        return null;
       }
+    } finally {
+      lock.unlock();
     }
   }
 
+  /**
+   * @param groupId the id of a group
+   * @return the lock which guards the group with the given {@code groupId}
+   */
+  protected Lock getGroupLock(Object groupId) {
+    return groupLocks.get(groupId == null ? NO_CORRELATION_ID : groupId);
+  }
+
   protected EventGroup getEventGroup(Serializable groupId) throws ObjectStoreException {
+    if (groupId == null) {
+      return retrieveEventGroup(groupId);
+    }
+
+    EventGroup eventGroup = eventGroups.get(groupId);
+    if (eventGroup != null) {
+      return eventGroup;
+    }
+
+    // the group may have been created before a restart or by another node
+    eventGroup = retrieveEventGroup(groupId);
+    if (eventGroup == null) {
+      return null;
+    }
+    EventGroup existing = eventGroups.putIfAbsent(groupId, eventGroup);
+    return existing != null ? existing : eventGroup;
+  }
+
+  private EventGroup retrieveEventGroup(Serializable groupId) throws ObjectStoreException {
     try {
       EventGroup eventGroup = (EventGroup) correlatorStore.retrieve(groupId, getEventGroupsPartitionKey());
       if (!eventGroup.isInitialised()) {
@@ -238,34 +288,45 @@ public class EventCorrelator implements Startable, Stoppable {
   }
 
   protected EventGroup addEventGroup(EventGroup group) throws ObjectStoreException {
+    final Serializable groupId = (Serializable) group.getGroupId();
+    final Lock lock = getGroupLock(groupId);
+    lock.lock();
     try {
-      correlatorStore.store((Serializable) group.getGroupId(), group, getEventGroupsPartitionKey());
+      correlatorStore.store(groupId, group, getEventGroupsPartitionKey());
+      if (groupId != null) {
+        eventGroups.put(groupId, group);
+      }
       return group;
     } catch (ObjectAlreadyExistsException e) {
-      return getEventGroup((String) group.getGroupId());
+      return getEventGroup(groupId);
+    } finally {
+      lock.unlock();
     }
   }
 
   protected void removeEventGroup(EventGroup group) throws ObjectStoreException {
-    final Object groupId = group.getGroupId();
-    synchronized (groupsLock) {
+    final Serializable groupId = (Serializable) group.getGroupId();
+    final Lock lock = getGroupLock(groupId);
+    lock.lock();
+    try {
       if (!isGroupAlreadyProcessed(groupId)) {
-        correlatorStore.remove((Serializable) groupId, getEventGroupsPartitionKey());
+        correlatorStore.remove(groupId, getEventGroupsPartitionKey());
         addProcessedGroup(groupId);
       }
+    } finally {
+      if (groupId != null) {
+        eventGroups.remove(groupId);
+      }
+      lock.unlock();
     }
   }
 
   protected void addProcessedGroup(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
-      processedGroups.store((Serializable) id, currentTimeMillis());
-    }
+    processedGroups.store((Serializable) id, currentTimeMillis());
   }
 
   protected boolean isGroupAlreadyProcessed(Object id) throws ObjectStoreException {
-    synchronized (groupsLock) {
-      return processedGroups.contains((Serializable) id);
-    }
+    return processedGroups.contains((Serializable) id);
   }
 
   public boolean isFailOnTimeout() {
@@ -364,6 +425,7 @@ public class EventCorrelator implements Startable, Stoppable {
   private final class ExpiringGroupMonitoringRunnable implements Runnable, Expirable, Disposable {
 
     private ExpiryMonitor expiryMonitor;
+    private int runsSinceStoreScan = STORE_SCAN_RUNS;
 
     public ExpiringGroupMonitoringRunnable() {
       this.expiryMonitor = new ExpiryMonitor(name, MINUTES.toMillis(1), muleContext, true);
@@ -400,11 +462,21 @@ public class EventCorrelator implements Startable, Stoppable {
 
       List<EventGroup> expired = new ArrayList<>(1);
       try {
-        for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
-          EventGroup group = getEventGroup(o);
-          // group may have been removed by another thread right after eventGroups.allKeys()
-          if (group != null && group.getCreated() + getTimeout() < currentTimeMillis()) {
-            expired.add(group);
+        if (++runsSinceStoreScan >= STORE_SCAN_RUNS) {
+          runsSinceStoreScan = 0;
+          indexStoredGroups();
+        }
+
+        final long now = currentTimeMillis();
+        for (EventGroup group : eventGroups.values()) {
+          if (group.getCreated() + getTimeout() < now) {
+            final Serializable groupId = (Serializable) group.getGroupId();
+            // group may have been completed by another node since it was indexed
+            if (correlatorStore.contains(groupId, getEventGroupsPartitionKey())) {
+              expired.add(group);
+            } else {
+              eventGroups.remove(groupId, group);
+            }
           }
         }
       } catch (ObjectStoreException e) {
@@ -426,6 +498,18 @@ public class EventCorrelator implements Startable, Stoppable {
       }
     }
 
+    /**
+     * Adds to the in-memory index the groups in the correlator store which are not in it yet
+     */
+    private void indexStoredGroups() throws ObjectStoreException {
+      for (Serializable o : (List<Serializable>) correlatorStore.allKeys(getEventGroupsPartitionKey())) {
+        if (!eventGroups.containsKey(o)) {
+          // group may have been removed by another thread right after eventGroups.allKeys()
+          getEventGroup(o);
+        }
+      }
+    }
+
     @Override
     public void dispose() {
       if (expiryMonitor != null) {
@@ -7,9 +7,17 @@
 package org.mule.runtime.core.routing.outbound;
 
 import static java.util.Collections.emptySet;
+import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.fromCallable;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.Event.Builder;
 import org.mule.runtime.core.api.context.MuleContextAware;
@@ -21,24 +29,62 @@ import org.mule.runtime.core.routing.DefaultRouterResultsHandler;
 import org.mule.runtime.core.routing.MessageSequence;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 
 /**
  * Base implementation of a {@link Message} splitter, that converts its payload in a {@link MessageSequence}, and process each
  * element of it. Implementations must implement {@link #splitMessageIntoSequence(Event)} and determine how the message is split.
  * <p>
+ * By default the elements are processed one after the other in the calling thread. When {@link #setMaxConcurrency(int)} is
+ * greater than one, up to that number of elements are processed at the same time, pulling them from the sequence only as
+ * processing capacity becomes available, so that the sequence is never fully loaded in memory. In that case the results are
+ * aggregated in the order of the sequence unless {@link #setPreserveOrder(boolean)} is set to {@code false}, and the flow
+ * variables of a result are not propagated to the following elements. Elements are always processed sequentially while a
+ * transaction is active.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/Sequencer.html">http://www .eaipatterns.com/Sequencer.html</a>
  * 
  * @author flbulgarelli
  * @see AbstractSplitter
  */
 public abstract class AbstractMessageSequenceSplitter extends AbstractInterceptingMessageProcessor
-    implements MuleContextAware {
+    implements MuleContextAware, Startable, Stoppable {
 
   protected RouterResultsHandler resultsHandler = new DefaultRouterResultsHandler();
   protected int batchSize;
   protected String counterVariableName;
+  protected int maxConcurrency = 1;
+  protected boolean preserveOrder = true;
+
+  private Scheduler scheduler;
+  private reactor.core.scheduler.Scheduler reactorScheduler;
+
+  @Override
+  public void start() throws MuleException {
+    if (maxConcurrency > 1) {
+      scheduler = muleContext.getSchedulerService().ioScheduler(getLocation() != null
+          ? muleContext.getSchedulerBaseConfig().withName(getLocation().getLocation()) : muleContext.getSchedulerBaseConfig());
+      reactorScheduler = fromExecutorService(scheduler);
+    }
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    if (scheduler != null) {
+      scheduler.stop();
+      scheduler = null;
+    }
+    if (reactorScheduler != null) {
+      reactorScheduler.dispose();
+      reactorScheduler = null;
+    }
+  }
 
   @Override
   public final Event process(Event event) throws MuleException {
@@ -69,27 +115,21 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   protected abstract MessageSequence<?> splitMessageIntoSequence(Event event) throws MuleException;
 
   protected List<Event> processParts(MessageSequence<?> seq, Event originalEvent) throws MuleException {
-    List<Event> resultEvents = new ArrayList<>();
-    int correlationSequence = 0;
     MessageSequence<?> messageSequence = seq;
     if (batchSize > 1) {
       messageSequence = new PartitionedMessageSequence<>(seq, batchSize);
     }
+    if (reactorScheduler != null && !isTransactionActive()) {
+      return processPartsConcurrently(messageSequence, originalEvent);
+    }
+
+    List<Event> resultEvents = new ArrayList<>();
+    int correlationSequence = 0;
     Integer count = messageSequence.size();
     Event lastResult = null;
     for (; messageSequence.hasNext();) {
       correlationSequence++;
-
-      final Builder builder = Event.builder(originalEvent);
-
-      propagateFlowVars(lastResult, builder);
-      if (counterVariableName != null) {
-        builder.addVariable(counterVariableName, correlationSequence);
-      }
-
-      builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
-      initEventBuilder(messageSequence.next(), originalEvent, builder, resolvePropagatedFlowVars(lastResult));
-      final Event event = builder.build();
+      final Event event = createPartEvent(messageSequence.next(), originalEvent, lastResult, correlationSequence, count);
       Event resultEvent = processNext(event);
       if (resultEvent != null) {
         resultEvents.add(resultEvent);
@@ -102,6 +142,49 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
     return resultEvents;
   }
 
+  private List<Event> processPartsConcurrently(MessageSequence<?> messageSequence, Event originalEvent) throws MuleException {
+    final Integer count = messageSequence.size();
+    // parts are created as they are requested, the sequence is only iterated from one thread at a time
+    final Iterable<Event> parts = () -> new Iterator<Event>() {
+
+      private int correlationSequence = 0;
+
+      @Override
+      public boolean hasNext() {
+        return messageSequence.hasNext();
+      }
+
+      @Override
+      public Event next() {
+        return createPartEvent(messageSequence.next(), originalEvent, null, ++correlationSequence, count);
+      }
+    };
+    final Function<Event, Publisher<Event>> processPart =
+        part -> fromCallable(() -> processNext(part)).subscribeOn(reactorScheduler);
+
+    final Flux<Event> results = preserveOrder ? fromIterable(parts).flatMapSequential(processPart, maxConcurrency)
+        : fromIterable(parts).flatMap(processPart, maxConcurrency);
+    try {
+      return results.collectList().block();
+    } catch (Throwable e) {
+      throw rxExceptionToMuleException(e);
+    }
+  }
+
+  private Event createPartEvent(Object sequenceValue, Event originalEvent, Event lastResult, int correlationSequence,
+                                Integer count) {
+    final Builder builder = Event.builder(originalEvent);
+
+    propagateFlowVars(lastResult, builder);
+    if (counterVariableName != null) {
+      builder.addVariable(counterVariableName, correlationSequence);
+    }
+
+    builder.groupCorrelation(new GroupCorrelation(count, correlationSequence));
+    initEventBuilder(sequenceValue, originalEvent, builder, resolvePropagatedFlowVars(lastResult));
+    return builder.build();
+  }
+
   protected Set<String> resolvePropagatedFlowVars(Event lastResult) {
     return emptySet();
   }
@@ -143,4 +226,18 @@ public abstract class AbstractMessageSequenceSplitter extends AbstractIntercepti
   public void setCounterVariableName(String counterVariableName) {
     this.counterVariableName = counterVariableName;
   }
+
+  /**
+   * The maximum number of elements processed at the same time. Values lower than two mean sequential processing.
+   */
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  /**
+   * Whether the results of processing the elements concurrently are aggregated in the order of the sequence (default is true).
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
 }
@@ -24,6 +24,15 @@ public interface ByteStreamingManager {
    */
   CursorStreamProviderFactory getInMemoryCursorProviderFactory(InMemoryCursorStreamConfig config);
 
+  /**
+   * Creates a {@link CursorStreamProviderFactory} which buffers in memory up to a threshold and then
+   * overflows into a temporal file
+   *
+   * @param config the configuration for the produced {@link CursorStreamProvider} instances
+   * @return a new {@link CursorStreamProviderFactory}
+   */
+  CursorStreamProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorStreamConfig config);
+
   /**
    * Creates a null object implementation of {@link CursorStreamProviderFactory}
    *
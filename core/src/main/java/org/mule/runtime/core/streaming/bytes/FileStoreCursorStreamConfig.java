@@ -17,13 +17,27 @@ import org.mule.runtime.core.internal.streaming.bytes.InputStreamBuffer;
 public final class FileStoreCursorStreamConfig {
 
   private final DataSize maxInMemorySize;
+  private final boolean memoryMapped;
 
   /**
-   * Creates a new instance
+   * Creates a new instance which doesn't use memory mapped reads
+   *
    * @param maxInMemorySize the maximum amount of data to be held in memory
    */
   public FileStoreCursorStreamConfig(DataSize maxInMemorySize) {
+    this(maxInMemorySize, false);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxInMemorySize the maximum amount of data to be held in memory
+   * @param memoryMapped    whether the buffer file should be memory mapped once the stream has been fully consumed,
+   *                        so that cursors can read from it without copying data
+   */
+  public FileStoreCursorStreamConfig(DataSize maxInMemorySize, boolean memoryMapped) {
     this.maxInMemorySize = maxInMemorySize;
+    this.memoryMapped = memoryMapped;
   }
 
   /**
@@ -32,4 +46,11 @@ public final class FileStoreCursorStreamConfig {
   public DataSize getMaxInMemorySize() {
     return maxInMemorySize;
   }
+
+  /**
+   * @return Whether the buffer file is memory mapped once the stream has been fully consumed
+   */
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
 }
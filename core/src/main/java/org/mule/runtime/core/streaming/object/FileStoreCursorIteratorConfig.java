@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.streaming.object;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_BUFFER_SIZE;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+
+/**
+ * Configuration for a {@link CursorIterator} which holds a bounded amount of items in memory
+ * and uses a local file for buffering the rest
+ *
+ * @since 4.0
+ */
+public final class FileStoreCursorIteratorConfig {
+
+  private static final int DEFAULT_MAX_IN_MEMORY_BUCKETS = 10;
+
+  private final int bucketSize;
+  private final int maxInMemoryBuckets;
+
+  /**
+   * @return A new instance configured with default settings
+   */
+  public static FileStoreCursorIteratorConfig getDefault() {
+    return new FileStoreCursorIteratorConfig(DEFAULT_OBJECT_STREAMING_BUFFER_SIZE, DEFAULT_MAX_IN_MEMORY_BUCKETS);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param bucketSize         how many items are grouped together, both in memory and in the buffer file. Must be greater than zero
+   * @param maxInMemoryBuckets how many buckets are held in memory, besides the one currently being filled.
+   *                           Must be greater than zero
+   * @throws IllegalArgumentException if any of the given arguments is invalid
+   */
+  public FileStoreCursorIteratorConfig(int bucketSize, int maxInMemoryBuckets) {
+    checkArgument(bucketSize > 0, "bucketSize must be greater than zero");
+    checkArgument(maxInMemoryBuckets > 0, "maxInMemoryBuckets must be greater than zero");
+
+    this.bucketSize = bucketSize;
+    this.maxInMemoryBuckets = maxInMemoryBuckets;
+  }
+
+  public int getBucketSize() {
+    return bucketSize;
+  }
+
+  public int getMaxInMemoryBuckets() {
+    return maxInMemoryBuckets;
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.transformer.graph;
 
+import static java.util.Collections.singleton;
+import static java.util.Optional.ofNullable;
+
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.registry.ResolverException;
 import org.mule.runtime.core.api.registry.TransformerResolver;
@@ -13,17 +16,34 @@ import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.config.i18n.CoreMessages;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-
-import org.apache.commons.collections.map.LRUMap;
-
+import java.util.function.Function;
+
+/**
+ * Resolves {@link Converter}s between {@link DataType}s by looking up conversion paths in a {@link TransformationGraph}.
+ * <p>
+ * Resolutions are cached by source and result {@link DataType}, including the ones for which no converter was found. Reading
+ * the cache requires neither locking nor allocating a key. When a converter is added or removed, only the cached resolutions
+ * whose source can reach the converter and whose result is reachable from it are invalidated.
+ */
 public class GraphTransformerResolver implements TransformerResolver {
 
+  private static final int MAX_CACHE_SIZE = 1000;
+
   private ReentrantReadWriteLock readWriteLock;
   private TransformationGraph graph;
   private CompositeConverterFilter converterFilter;
-  private LRUMap cache;
+  private Map<DataType, Map<DataType, Optional<Transformer>>> cache;
+  private AtomicInteger cacheSize;
   private TransformationGraphLookupStrategy lookupStrategyTransformation;
 
   public GraphTransformerResolver() {
@@ -32,51 +52,45 @@ public class GraphTransformerResolver implements TransformerResolver {
     lookupStrategyTransformation = new TransformationGraphLookupStrategy(graph);
     converterFilter = new CompositeConverterFilter(new TransformationLengthConverterFilter(),
                                                    new PriorityWeightingConverterFilter(), new NameConverterFilter());
-    cache = new LRUMap();
+    cache = new ConcurrentHashMap<>();
+    cacheSize = new AtomicInteger();
   }
 
   @Override
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    String cacheKey = getDataTypeSourceResultPairHash(source, result);
+    Map<DataType, Optional<Transformer>> sourceCache = cache.get(source);
+    if (sourceCache != null) {
+      Optional<Transformer> cached = sourceCache.get(result);
+      if (cached != null) {
+        return cached.orElse(null);
+      }
+    }
 
+    // the graph is not modified while looking up and caching, so that a stale resolution is never cached
     readWriteLock.readLock().lock();
     try {
-      if (cache.containsKey(cacheKey)) {
-        return (Converter) cache.get(cacheKey);
-      }
-    } finally {
-      readWriteLock.readLock().unlock();
-    }
+      List<Converter> converters =
+          converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
 
-    List<Converter> converters =
-        converterFilter.filter(lookupStrategyTransformation.lookupConverters(source, result), source, result);
+      if (converters.size() > 1) {
+        throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
+      }
 
-    if (converters.size() > 1) {
-      throw new ResolverException(CoreMessages.transformHasMultipleMatches(source.getType(), result.getType(), converters));
-    }
+      Transformer converter = (converters.size() == 0) ? null : converters.get(0);
 
-    Transformer converter = (converters.size() == 0) ? null : converters.get(0);
+      if (cacheSize.get() >= MAX_CACHE_SIZE) {
+        cache.clear();
+        cacheSize.set(0);
+      }
 
+      if (cache.computeIfAbsent(source, key -> new ConcurrentHashMap<>()).put(result, ofNullable(converter)) == null) {
+        cacheSize.incrementAndGet();
+      }
 
-    readWriteLock.writeLock().lock();
-    try {
-      cache.put(cacheKey, converter);
+      return converter;
     } finally {
-      readWriteLock.writeLock().unlock();
+      readWriteLock.readLock().unlock();
     }
-
-    return converter;
-  }
-
-  private String getDataTypeSourceResultPairHash(DataType source, DataType result) {
-    StringBuilder builder = new StringBuilder();
-    builder.append(source.getClass().getName());
-    builder.append(source.hashCode());
-    builder.append(":");
-    builder.append(result.getClass().getName());
-    builder.append(result.hashCode());
-
-    return builder.toString();
   }
 
   @Override
@@ -88,15 +102,57 @@ public class GraphTransformerResolver implements TransformerResolver {
         return;
       }
 
-      cache.clear();
-
+      Converter converter = (Converter) transformer;
       if (registryAction == RegistryAction.ADDED) {
-        graph.addConverter((Converter) transformer);
+        graph.addConverter(converter);
+        invalidate(converter);
       } else if (registryAction == RegistryAction.REMOVED) {
-        graph.removeConverter((Converter) transformer);
+        // the affected data types are found before the converter's edges are gone
+        invalidate(converter);
+        graph.removeConverter(converter);
       }
     } finally {
       readWriteLock.writeLock().unlock();
     }
   }
+
+  /**
+   * Removes the cached resolutions which may include a conversion path through the given {@code converter}, that is, the ones
+   * whose source reaches any of the converter's sources and whose result is reachable from the converter's return type.
+   */
+  private void invalidate(Converter converter) {
+    Set<DataType> affectedSources = reachable(converter.getSourceDataTypes(), graph::incomingEdgesOf, graph::getEdgeSource);
+    Set<DataType> affectedResults =
+        reachable(singleton(converter.getReturnDataType()), graph::outgoingEdgesOf, graph::getEdgeTarget);
+
+    for (DataType source : affectedSources) {
+      Map<DataType, Optional<Transformer>> sourceCache = cache.get(source);
+      if (sourceCache != null) {
+        for (DataType result : affectedResults) {
+          if (sourceCache.remove(result) != null) {
+            cacheSize.decrementAndGet();
+          }
+        }
+      }
+    }
+  }
+
+  private Set<DataType> reachable(Collection<DataType> from, Function<DataType, Set<TransformationEdge>> edges,
+                                  Function<TransformationEdge, DataType> next) {
+    Set<DataType> reached = new HashSet<>(from);
+    LinkedList<DataType> pending = new LinkedList<>(from);
+    while (!pending.isEmpty()) {
+      DataType dataType = pending.removeFirst();
+      if (graph.containsVertex(dataType)) {
+        for (TransformationEdge edge : edges.apply(dataType)) {
+          DataType nextDataType = next.apply(edge);
+          if (reached.add(nextDataType)) {
+            pending.add(nextDataType);
+          }
+        }
+      }
+    }
+
+    return reached;
+  }
 }
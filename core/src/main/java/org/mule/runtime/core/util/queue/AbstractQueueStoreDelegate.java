@@ -133,6 +133,13 @@ public abstract class AbstractQueueStoreDelegate implements QueueStoreDelegate {
     }
   }
 
+  /**
+   * @return the maximum number of elements in the queue, or {@code 0} if it's unbounded
+   */
+  protected int getCapacity() {
+    return capacity;
+  }
+
   /**
    * @return the number of elements in the queue
    */
@@ -6,12 +6,14 @@
  */
 package org.mule.runtime.core.util.queue;
 
+import static org.mule.runtime.core.api.util.queue.QueueStoreFormat.SEGMENTED_LOG;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueConfiguration;
 import org.mule.runtime.core.api.util.queue.QueueStoreDelegate;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -44,8 +46,13 @@ public class DefaultQueueStore implements RecoverableQueueStore {
       this.config = new DefaultQueueConfiguration();
     }
     if (this.config.isPersistent()) {
-      delegate = new DualRandomAccessFileQueueStoreDelegate(this.name, muleContext.getConfiguration().getWorkingDirectory(),
-                                                            muleContext, this.config.getCapacity());
+      final String workingDirectory = muleContext.getConfiguration().getWorkingDirectory();
+      if (this.config.getStoreFormat() == SEGMENTED_LOG) {
+        delegate = new SegmentedLogQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+      } else {
+        delegate =
+            new DualRandomAccessFileQueueStoreDelegate(this.name, workingDirectory, muleContext, this.config.getCapacity());
+      }
     } else {
       delegate = new DefaultQueueStoreDelegate(this.config.getCapacity());
     }
@@ -77,6 +84,16 @@ public class DefaultQueueStore implements RecoverableQueueStore {
     return delegate.poll(timeout);
   }
 
+  @Override
+  public CompletableFuture<Boolean> offerAsync(Serializable o) {
+    return delegate.offerAsync(o);
+  }
+
+  @Override
+  public CompletableFuture<Serializable> pollAsync(long timeout) {
+    return delegate.pollAsync(timeout);
+  }
+
   public Serializable peek() throws InterruptedException {
     return delegate.peek();
   }
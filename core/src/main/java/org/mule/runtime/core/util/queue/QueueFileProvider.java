@@ -58,7 +58,7 @@ public class QueueFileProvider {
     queueFile = new RandomAccessFile(file, OPEN_FILE_OPTIONS);
   }
 
-  private static String toHex(String filename) {
+  static String toHex(String filename) {
     try {
       return new BigInteger(filename.getBytes(UTF_8_ENCODING)).toString(16);
     } catch (UnsupportedEncodingException e) {
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.util.queue;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.NotImplementedException;
 
@@ -24,6 +25,10 @@ public interface QueueStore {
 
   Serializable poll(long timeout) throws InterruptedException;
 
+  CompletableFuture<Boolean> offerAsync(Serializable o);
+
+  CompletableFuture<Serializable> pollAsync(long timeout);
+
   Serializable peek() throws InterruptedException;
 
   void untake(Serializable item) throws InterruptedException;
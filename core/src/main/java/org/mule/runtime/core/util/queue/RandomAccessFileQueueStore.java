@@ -6,32 +6,56 @@
  */
 package org.mule.runtime.core.util.queue;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.zip.CRC32;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Basic queueing functionality with file storage.
+ * <p/>
+ * The positions of the elements still in the queue are periodically saved to a checkpoint file, along with the length of the
+ * queue file at that moment. On startup, only the elements of the checkpoint need to be checked for removal, and only the data
+ * appended after the checkpoint needs to be scanned, instead of the whole file. The checkpoint is saved each time
+ * {@link #CHECKPOINT_INTERVAL_PROPERTY_KEY} operations, or as many operations as elements in the queue if those are more, are
+ * performed, and when the queue is closed.
  */
 class RandomAccessFileQueueStore {
 
+  protected static final String CHECKPOINT_INTERVAL_PROPERTY_KEY = "mule.queue.checkpointInterval";
+
   private final Logger logger = LoggerFactory.getLogger(this.getClass());
   protected static final int CONTROL_DATA_SIZE = 5;
   private static final byte NOT_REMOVED = 0;
   private static final byte REMOVED = 1;
+  private static final int DEFAULT_CHECKPOINT_INTERVAL = 10000;
+  private static final String CHECKPOINT_FILE_SUFFIX = ".ckp";
+  private static final int CHECKPOINT_VERSION = 1;
+  private static final int CHECKPOINT_HEADER_SIZE = 4 + 8 + 4;
+  private static final int CHECKPOINT_CHECKSUM_SIZE = 8;
   private final QueueFileProvider queueFileProvider;
+  private final int checkpointInterval = Integer.getInteger(CHECKPOINT_INTERVAL_PROPERTY_KEY, DEFAULT_CHECKPOINT_INTERVAL);
 
   private LinkedList<Long> orderedKeys = new LinkedList<Long>();
   private long fileTotalSpace = 0;
+  private int operationsSinceCheckpoint = 0;
 
   public RandomAccessFileQueueStore(QueueFileProvider queueFileProvider) {
     this.queueFileProvider = queueFileProvider;
@@ -53,6 +77,7 @@ class RandomAccessFileQueueStore {
   public synchronized void addLast(byte[] element) {
     long filePointer = writeData(element);
     orderedKeys.addLast(filePointer);
+    checkpointIfNeeded();
   }
 
   /**
@@ -71,6 +96,7 @@ class RandomAccessFileQueueStore {
       queueFileProvider.getRandomAccessFile().writeByte(RandomAccessFileQueueStore.REMOVED);
       byte[] data = readDataInCurrentPosition();
       orderedKeys.removeFirst();
+      checkpointIfNeeded();
       return data;
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -95,6 +121,7 @@ class RandomAccessFileQueueStore {
    */
   public synchronized void addFirst(byte[] item) throws InterruptedException {
     orderedKeys.addFirst(writeData(item));
+    checkpointIfNeeded();
   }
 
   /**
@@ -109,6 +136,9 @@ class RandomAccessFileQueueStore {
    */
   public synchronized void clear() {
     try {
+      // the checkpoint would no longer match the recreated file
+      deleteQuietly(getCheckpointFile());
+      operationsSinceCheckpoint = 0;
       queueFileProvider.getRandomAccessFile().close();
       orderedKeys.clear();
       fileTotalSpace = 0;
@@ -182,6 +212,7 @@ class RandomAccessFileQueueStore {
             queueFileProvider.getRandomAccessFile().seek(currentPosition);
             queueFileProvider.getRandomAccessFile().writeByte(REMOVED);
             orderedKeys.remove(currentPosition);
+            checkpointIfNeeded();
             return true;
           }
         }
@@ -202,6 +233,9 @@ class RandomAccessFileQueueStore {
    * Do not removes elements from the queue.
    */
   public synchronized void close() {
+    if (checkpointInterval > 0 && operationsSinceCheckpoint > 0) {
+      writeCheckpoint();
+    }
     try {
       this.queueFileProvider.close();
     } catch (IOException e) {
@@ -221,6 +255,7 @@ class RandomAccessFileQueueStore {
    * {@code this} instance
    */
   public synchronized void delete() {
+    deleteQuietly(getCheckpointFile());
     queueFileProvider.delete();
   }
 
@@ -233,9 +268,8 @@ class RandomAccessFileQueueStore {
 
   private long writeData(byte[] data) {
     try {
-      if (getSize() > 0) {
-        queueFileProvider.getRandomAccessFile().seek(fileTotalSpace);
-      }
+      // always append, even when the queue is empty, so that nothing written after a checkpoint lies before its length
+      queueFileProvider.getRandomAccessFile().seek(fileTotalSpace);
       long filePointer = queueFileProvider.getRandomAccessFile().getFilePointer();
       int totalBytesRequired = CONTROL_DATA_SIZE + data.length;
       ByteBuffer byteBuffer = ByteBuffer.allocate(totalBytesRequired);
@@ -252,7 +286,7 @@ class RandomAccessFileQueueStore {
 
   private void initialise() {
     try {
-      queueFileProvider.getRandomAccessFile().seek(0);
+      queueFileProvider.getRandomAccessFile().seek(recoverFromCheckpoint());
       while (true) {
         long position = queueFileProvider.getRandomAccessFile().getFilePointer();
         byte removed = queueFileProvider.getRandomAccessFile().readByte();
@@ -277,6 +311,111 @@ class RandomAccessFileQueueStore {
     }
   }
 
+  /**
+   * Loads the positions of the elements from the checkpoint file, discarding the ones removed since the checkpoint was saved.
+   *
+   * @return the position from which the queue file has to be scanned for the elements added after the checkpoint, {@code 0} if
+   *         there's no valid checkpoint
+   */
+  private long recoverFromCheckpoint() {
+    final File checkpointFile = getCheckpointFile();
+    if (!checkpointFile.exists()) {
+      return 0;
+    }
+
+    try {
+      final byte[] checkpoint = readFileToByteArray(checkpointFile);
+      if (!isValidCheckpoint(checkpoint)) {
+        logger.warn("Ignoring invalid queue checkpoint " + checkpointFile.getAbsolutePath());
+        return 0;
+      }
+
+      // skip the already validated version
+      final ByteBuffer buffer = ByteBuffer.wrap(checkpoint, 4, checkpoint.length - 4);
+      final RandomAccessFile file = queueFileProvider.getRandomAccessFile();
+      final long checkpointLength = buffer.getLong();
+      final int elementsCount = buffer.getInt();
+      if (checkpointLength > file.length()) {
+        logger.warn("Ignoring queue checkpoint " + checkpointFile.getAbsolutePath() + " since it doesn't match its queue file");
+        return 0;
+      }
+
+      for (int i = 0; i < elementsCount; ++i) {
+        final long position = buffer.getLong();
+        file.seek(position);
+        if (file.readByte() == NOT_REMOVED) {
+          orderedKeys.add(position);
+        }
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug(String.format("Recovered %s elements from queue checkpoint %s", orderedKeys.size(),
+                                   checkpointFile.getAbsolutePath()));
+      }
+      return checkpointLength;
+    } catch (IOException | BufferUnderflowException e) {
+      logger.warn("Could not read queue checkpoint " + checkpointFile.getAbsolutePath() + ", scanning the whole queue file", e);
+      orderedKeys.clear();
+      return 0;
+    }
+  }
+
+  private boolean isValidCheckpoint(byte[] checkpoint) {
+    if (checkpoint.length < CHECKPOINT_HEADER_SIZE + CHECKPOINT_CHECKSUM_SIZE) {
+      return false;
+    }
+    final ByteBuffer buffer = ByteBuffer.wrap(checkpoint);
+    final int checksumPosition = checkpoint.length - CHECKPOINT_CHECKSUM_SIZE;
+    return buffer.getLong(checksumPosition) == checksum(checkpoint, checksumPosition)
+        && buffer.getInt(0) == CHECKPOINT_VERSION
+        && buffer.getInt(4 + 8) == (checksumPosition - CHECKPOINT_HEADER_SIZE) / 8;
+  }
+
+  /**
+   * Saves the positions of the elements in the queue, to be loaded when the queue is recovered.
+   */
+  private void checkpointIfNeeded() {
+    if (checkpointInterval > 0 && ++operationsSinceCheckpoint >= Math.max(checkpointInterval, orderedKeys.size())) {
+      writeCheckpoint();
+    }
+  }
+
+  private void writeCheckpoint() {
+    operationsSinceCheckpoint = 0;
+    final File checkpointFile = getCheckpointFile();
+    final File tempFile = new File(checkpointFile.getParentFile(), checkpointFile.getName() + ".tmp");
+
+    ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_HEADER_SIZE + orderedKeys.size() * 8 + CHECKPOINT_CHECKSUM_SIZE);
+    buffer.putInt(CHECKPOINT_VERSION).putLong(fileTotalSpace).putInt(orderedKeys.size());
+    for (Long key : orderedKeys) {
+      buffer.putLong(key);
+    }
+    buffer.putLong(checksum(buffer.array(), buffer.position()));
+
+    try {
+      try (FileOutputStream out = new FileOutputStream(tempFile)) {
+        out.write(buffer.array());
+        out.getFD().sync();
+      }
+      // the previous checkpoint is replaced only once the new one is complete
+      Files.move(tempFile.toPath(), checkpointFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException e) {
+      logger.warn("Could not write queue checkpoint " + checkpointFile.getAbsolutePath(), e);
+      deleteQuietly(tempFile);
+    }
+  }
+
+  private File getCheckpointFile() {
+    final File file = queueFileProvider.getFile();
+    return new File(file.getParentFile(), file.getName() + CHECKPOINT_FILE_SUFFIX);
+  }
+
+  private static long checksum(byte[] data, int length) {
+    CRC32 checksum = new CRC32();
+    checksum.update(data, 0, length);
+    return checksum.getValue();
+  }
+
   private byte[] readFirstValue() {
     try {
       if (orderedKeys.isEmpty()) {
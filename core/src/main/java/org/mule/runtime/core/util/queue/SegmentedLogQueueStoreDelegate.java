@@ -0,0 +1,808 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.util.Preconditions;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.util.concurrent.NamedThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} implementation which stores the queue data in an append-only log split into
+ * segment files.
+ * <p/>
+ * Every operation appends a record to the last segment: a put record with the serialized item or a remove record once the item
+ * is consumed. Each item is identified by a key which defines its position in the queue, so items added with
+ * {@link #untake(Serializable)} get a key lower than any other. The location of the items still in the queue is kept in memory,
+ * and it's rebuilt by replaying the segments when the queue is created.
+ * <p/>
+ * By default, every operation is synced to disk before returning, so that it is durable once acknowledged. Syncing in batches
+ * can be enabled by setting {@link #SYNC_BATCH_SIZE_PROPERTY_KEY} to more than 1, in which case a sync is performed each time
+ * that many records are written or {@link #SYNC_INTERVAL_PROPERTY_KEY} milliseconds have passed, whatever happens first. This
+ * trades durability for throughput, since operations completed since the last sync are lost if the machine crashes.
+ * <p/>
+ * Items offered through {@link #offerAsync(Serializable)} are serialized by the calling thread and handed to a background task,
+ * which appends all the ones offered in the meantime with a single write and syncs them once. The returned futures are completed
+ * after that sync, so producers are acknowledged once their items are durable without waiting for the disk themselves.
+ * Similarly, {@link #pollAsync(long)} doesn't block the caller while the queue is empty.
+ * <p/>
+ * A background task deletes the oldest segments once none of its items is still in the queue. If only a few items keep an old
+ * segment alive, those are copied into the last segment so that the old one can be deleted. Each segment keeps track of its
+ * own items, and they are copied in small batches, so that compacting doesn't hold the queue for long.
+ *
+ * @since 4.0
+ */
+public class SegmentedLogQueueStoreDelegate extends AbstractQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = "mule.queue.log.segmentSize";
+  public static final String SYNC_BATCH_SIZE_PROPERTY_KEY = "mule.queue.log.syncBatchSize";
+  public static final String SYNC_INTERVAL_PROPERTY_KEY = "mule.queue.log.syncInterval";
+
+  private static final long DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+  private static final int DEFAULT_SYNC_BATCH_SIZE = 1;
+  private static final long DEFAULT_SYNC_INTERVAL = 10;
+  private static final double MAX_LIVE_RATIO_TO_COMPACT = 0.1;
+  private static final int MAX_ENTRIES_COPIED_PER_COMPACTION = 256;
+  private static final String QUEUE_STORE_DIRECTORY = "queuestore";
+  private static final String LOG_DIRECTORY_SUFFIX = "-log";
+  private static final String SEGMENT_FILE_NAME = "%019d.segment";
+  private static final Pattern SEGMENT_FILE_NAME_PATTERN = Pattern.compile("(\\d+)\\.segment");
+  private static final Pattern VALID_DIRECTORY_NAME_PATTERN = Pattern.compile("[\\w\\-.]+");
+
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 2;
+  // payload length + record type + key + checksum
+  private static final int HEADER_SIZE = 4 + 1 + 8 + 4;
+  private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+  protected final Logger logger = LoggerFactory.getLogger(this.getClass());
+  private final ObjectSerializer serializer;
+  private final File logDirectory;
+  private final long segmentSize;
+  private final int syncBatchSize;
+  private final Deque<Segment> segments = new ArrayDeque<>();
+  private final Deque<Entry> entries = new ArrayDeque<>();
+  private final CRC32 checksum = new CRC32();
+  private final ScheduledThreadPoolExecutor backgroundExecutor;
+  private final ConcurrentLinkedQueue<PendingPut> pendingPuts = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+  private final Deque<PendingPoll> pendingPolls = new ArrayDeque<>();
+
+  private Segment writeSegment;
+  private long headKey = 0;
+  private long tailKey = 0;
+  private int unsyncedRecords = 0;
+  /**
+   * The segment being synced by the background thread outside the lock, if any. Its records are no longer accounted in
+   * {@link #unsyncedRecords}, so {@link #close()} has to sync it before closing it.
+   */
+  private Segment pendingSync;
+  private boolean compactionUnsynced = false;
+  private boolean closed = false;
+
+  public SegmentedLogQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    super(capacity);
+    serializer = muleContext.getObjectSerializer();
+    segmentSize = Long.getLong(SEGMENT_SIZE_PROPERTY_KEY, DEFAULT_SEGMENT_SIZE);
+    syncBatchSize = Integer.getInteger(SYNC_BATCH_SIZE_PROPERTY_KEY, DEFAULT_SYNC_BATCH_SIZE);
+    final long syncInterval = Long.getLong(SYNC_INTERVAL_PROPERTY_KEY, DEFAULT_SYNC_INTERVAL);
+
+    logDirectory = getLogDirectory(queueName, workingDirectory);
+    if (!logDirectory.exists()) {
+      Preconditions.checkState(logDirectory.mkdirs(), "Could not create queue store directory " + logDirectory.getAbsolutePath());
+    }
+    recover();
+
+    backgroundExecutor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("queue-log-" + queueName) {
+
+      @Override
+      protected void doConfigureThread(Thread t) {
+        super.doConfigureThread(t);
+        t.setDaemon(true);
+      }
+    });
+    // the timeouts of pending polls are cancelled once served, and must not keep the executor alive after closing the queue
+    backgroundExecutor.setRemoveOnCancelPolicy(true);
+    backgroundExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    backgroundExecutor.scheduleWithFixedDelay(this::syncAndCompact, syncInterval, syncInterval, MILLISECONDS);
+
+    if (logger.isDebugEnabled()) {
+      logger.debug(format("Queue %s has %s messages in %s log segments", queueName, entries.size(), segments.size()));
+    }
+  }
+
+  /**
+   * @param queueName        the name of the queue
+   * @param workingDirectory the mule working directory
+   * @return the directory in which the log segments of the given queue are stored
+   */
+  public static File getLogDirectory(String queueName, String workingDirectory) {
+    final String directoryName =
+        VALID_DIRECTORY_NAME_PATTERN.matcher(queueName).matches() ? queueName : QueueFileProvider.toHex(queueName);
+    return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY, directoryName + LOG_DIRECTORY_SUFFIX);
+  }
+
+  // only for testing.
+  synchronized int getSegmentsCount() {
+    return segments.size();
+  }
+
+  @Override
+  protected void add(Serializable item) {
+    entries.addLast(appendItem(++tailKey, item));
+    servePendingPolls();
+  }
+
+  @Override
+  protected void addFirst(Serializable item) throws InterruptedException {
+    entries.addFirst(appendItem(headKey--, item));
+    servePendingPolls();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p/>
+   * The item is serialized in the calling thread and then appended and synced along with the other items offered in the
+   * meantime. The returned future is completed once the item is synced to disk.
+   */
+  @Override
+  public CompletableFuture<Boolean> offerAsync(Serializable o) {
+    final PendingPut put = new PendingPut(serializer.getInternalProtocol().serialize(o));
+    pendingPuts.add(put);
+    if (flushScheduled.compareAndSet(false, true)) {
+      try {
+        backgroundExecutor.execute(this::flushPendingPuts);
+      } catch (RejectedExecutionException e) {
+        failPendingPuts();
+      }
+    }
+    return put.future;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p/>
+   * If the queue is empty, the returned future is completed by the operation that adds the next item, or with {@code null} by
+   * a background task once the {@code timeout} elapses.
+   */
+  @Override
+  public CompletableFuture<Serializable> pollAsync(long timeout) {
+    synchronized (this) {
+      if (closed) {
+        return completedFuture(null);
+      }
+      if (!entries.isEmpty()) {
+        Serializable item = removeFirstItem();
+        this.notifyAll();
+        return completedFuture(item);
+      }
+      if (timeout <= 0) {
+        return completedFuture(null);
+      }
+
+      PendingPoll poll = new PendingPoll();
+      try {
+        poll.timeoutTask = backgroundExecutor.schedule(() -> expire(poll), timeout, MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        return completedFuture(null);
+      }
+      pendingPolls.addLast(poll);
+      return poll.future;
+    }
+  }
+
+  @Override
+  protected Serializable removeFirst() throws InterruptedException {
+    return removeFirstItem();
+  }
+
+  private Serializable removeFirstItem() {
+    Entry entry = entries.peekFirst();
+    if (entry == null) {
+      return null;
+    }
+
+    Serializable value = deserialize(readPayload(entry));
+    removeEntry(entry);
+    entries.removeFirst();
+    return value;
+  }
+
+  @Override
+  protected Serializable getFirst() throws InterruptedException {
+    Entry entry = entries.peekFirst();
+    return entry != null ? deserialize(readPayload(entry)) : null;
+  }
+
+  @Override
+  protected int size() {
+    return entries.size();
+  }
+
+  @Override
+  protected boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  @Override
+  protected boolean doAddAll(Collection<? extends Serializable> items) {
+    for (Serializable item : items) {
+      add(item);
+    }
+    return true;
+  }
+
+  @Override
+  protected void doClear() {
+    for (Segment segment : segments) {
+      segment.delete();
+    }
+    segments.clear();
+    entries.clear();
+    unsyncedRecords = 0;
+    compactionUnsynced = false;
+
+    writeSegment = openSegment(0);
+    segments.add(writeSegment);
+  }
+
+  @Override
+  public synchronized void remove(Serializable value) {
+    Iterator<Entry> iterator = entries.iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (deserialize(readPayload(entry)).equals(value)) {
+        removeEntry(entry);
+        iterator.remove();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean contains(Serializable value) {
+    for (Entry entry : entries) {
+      if (deserialize(readPayload(entry)).equals(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void close() {
+    backgroundExecutor.shutdown();
+    List<PendingPoll> expiredPolls;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (pendingSync != null && pendingSync != writeSegment) {
+        force(pendingSync);
+      }
+      if (unsyncedRecords > 0 || pendingSync == writeSegment) {
+        sync();
+      }
+      pendingSync = null;
+      for (Segment segment : segments) {
+        segment.close();
+      }
+      expiredPolls = new ArrayList<>(pendingPolls);
+      pendingPolls.clear();
+    }
+
+    failPendingPuts();
+    for (PendingPoll poll : expiredPolls) {
+      poll.timeoutTask.cancel(false);
+      poll.future.complete(null);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    close();
+    synchronized (this) {
+      segments.clear();
+      entries.clear();
+      deleteQuietly(logDirectory);
+    }
+  }
+
+  /**
+   * Appends all the items offered asynchronously so far with a single write, syncs them and then completes their futures.
+   */
+  private void flushPendingPuts() {
+    // cleared before draining, so that items offered from now on schedule another flush
+    flushScheduled.set(false);
+    List<PendingPut> batch = new ArrayList<>();
+    PendingPut put;
+    while ((put = pendingPuts.poll()) != null) {
+      batch.add(put);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    List<PendingPut> stored = new ArrayList<>(batch.size());
+    List<PendingPut> rejected = new ArrayList<>();
+    Segment segmentToSync;
+    try {
+      synchronized (this) {
+        if (closed) {
+          batch.forEach(pending -> pending.future.completeExceptionally(closedException()));
+          return;
+        }
+
+        final int capacity = getCapacity();
+        for (PendingPut pending : batch) {
+          if (capacity > 0 && entries.size() + stored.size() >= capacity) {
+            rejected.add(pending);
+          } else {
+            stored.add(pending);
+          }
+        }
+        if (!stored.isEmpty()) {
+          appendItems(stored);
+          servePendingPolls();
+          this.notifyAll();
+        }
+        unsyncedRecords = 0;
+        segmentToSync = writeSegment;
+        pendingSync = segmentToSync;
+      }
+      // syncing outside the lock so that the queue can still be used in the meantime. If the queue is closed in between,
+      // close() syncs the segment instead
+      force(segmentToSync);
+      synchronized (this) {
+        pendingSync = null;
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Failure trying to append items to queue log " + logDirectory.getAbsolutePath(), e);
+      batch.forEach(pending -> pending.future.completeExceptionally(e));
+      return;
+    }
+
+    stored.forEach(pending -> pending.future.complete(true));
+    rejected.forEach(pending -> pending.future.complete(false));
+  }
+
+  private void failPendingPuts() {
+    PendingPut put;
+    while ((put = pendingPuts.poll()) != null) {
+      put.future.completeExceptionally(closedException());
+    }
+  }
+
+  private MuleRuntimeException closedException() {
+    return new MuleRuntimeException(createStaticMessage("Queue log " + logDirectory.getAbsolutePath() + " is closed"));
+  }
+
+  /**
+   * Hands the first items of the queue to the callers waiting on {@link #pollAsync(long)}, if any. Their futures are completed
+   * from the background thread, so that no callback runs while holding the queue lock.
+   */
+  private void servePendingPolls() {
+    while (!pendingPolls.isEmpty() && !entries.isEmpty()) {
+      final PendingPoll poll = pendingPolls.removeFirst();
+      poll.timeoutTask.cancel(false);
+      final Serializable item = removeFirstItem();
+      try {
+        backgroundExecutor.execute(() -> poll.future.complete(item));
+      } catch (RejectedExecutionException e) {
+        poll.future.complete(item);
+      }
+    }
+  }
+
+  private void expire(PendingPoll poll) {
+    synchronized (this) {
+      if (!pendingPolls.remove(poll)) {
+        // already served
+        return;
+      }
+    }
+    poll.future.complete(null);
+  }
+
+  /**
+   * Appends the given items to the write segment with a single write, rolling to a new segment first if they don't fit.
+   */
+  private void appendItems(List<PendingPut> puts) {
+    int batchSize = 0;
+    for (PendingPut put : puts) {
+      batchSize += HEADER_SIZE + put.payload.length;
+    }
+    if (writeSegment.size > 0 && writeSegment.size + batchSize > segmentSize) {
+      rollSegment();
+    }
+
+    ByteBuffer batch = ByteBuffer.allocate(batchSize);
+    List<Entry> appended = new ArrayList<>(puts.size());
+    for (PendingPut put : puts) {
+      final long key = ++tailKey;
+      appended.add(new Entry(key, writeSegment, writeSegment.size + batch.position() + HEADER_SIZE, put.payload.length));
+      encodeRecord(batch, PUT, key, put.payload);
+    }
+    write(batch.array());
+
+    writeSegment.records += appended.size();
+    writeSegment.liveEntries.addAll(appended);
+    entries.addAll(appended);
+  }
+
+  private Entry appendItem(long key, Serializable item) {
+    byte[] payload = serializer.getInternalProtocol().serialize(item);
+    long position = writeRecord(PUT, key, payload);
+    Entry entry = new Entry(key, writeSegment, position, payload.length);
+    writeSegment.records++;
+    writeSegment.liveEntries.add(entry);
+    return entry;
+  }
+
+  private void removeEntry(Entry entry) {
+    writeRecord(REMOVE, entry.key, EMPTY_PAYLOAD);
+    entry.segment.liveEntries.remove(entry);
+  }
+
+  /**
+   * Appends a record to the current write segment and syncs it if the sync batch is complete.
+   *
+   * @return the position of the record payload in the current write segment
+   */
+  private long writeRecord(byte type, long key, byte[] payload) {
+    final long payloadPosition = appendRecord(type, key, payload);
+    if (unsyncedRecords >= syncBatchSize) {
+      sync();
+    }
+    return payloadPosition;
+  }
+
+  /**
+   * Appends a record to the current write segment, rolling to a new one if it doesn't fit.
+   *
+   * @return the position of the record payload in the current write segment
+   */
+  private long appendRecord(byte type, long key, byte[] payload) {
+    final int recordSize = HEADER_SIZE + payload.length;
+    if (writeSegment.size > 0 && writeSegment.size + recordSize > segmentSize) {
+      rollSegment();
+    }
+
+    byte[] record = new byte[recordSize];
+    encodeRecord(ByteBuffer.wrap(record), type, key, payload);
+    final long payloadPosition = writeSegment.size + HEADER_SIZE;
+    write(record);
+    unsyncedRecords++;
+
+    return payloadPosition;
+  }
+
+  private void encodeRecord(ByteBuffer buffer, byte type, long key, byte[] payload) {
+    buffer.putInt(payload.length).put(type).putLong(key).putInt(checksum(payload)).put(payload);
+  }
+
+  /**
+   * Writes the given records at the end of the current write segment.
+   */
+  private void write(byte[] records) {
+    try {
+      writeSegment.file.seek(writeSegment.size);
+      writeSegment.file.write(records);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write to queue log segment "
+          + writeSegment.path.getAbsolutePath()), e);
+    }
+    writeSegment.size += records.length;
+  }
+
+  private void rollSegment() {
+    if (unsyncedRecords > 0) {
+      sync();
+    }
+    writeSegment = openSegment(writeSegment.id + 1);
+    segments.addLast(writeSegment);
+  }
+
+  private void sync() {
+    unsyncedRecords = 0;
+    force(writeSegment);
+  }
+
+  private void force(Segment segment) {
+    try {
+      segment.file.getFD().sync();
+    } catch (IOException e) {
+      if (segment.closed) {
+        // the segment was deleted or the queue closed in the meantime, so there's nothing to sync
+        return;
+      }
+      throw new MuleRuntimeException(createStaticMessage("Could not sync queue log segment " + segment.path.getAbsolutePath()),
+                                     e);
+    }
+  }
+
+  private void syncAndCompact() {
+    try {
+      Segment segmentToSync;
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        compact();
+        if (unsyncedRecords == 0 && !compactionUnsynced) {
+          return;
+        }
+        unsyncedRecords = 0;
+        segmentToSync = writeSegment;
+        pendingSync = segmentToSync;
+      }
+      // syncing outside the lock so that the queue can still be used in the meantime
+      force(segmentToSync);
+      synchronized (this) {
+        pendingSync = null;
+        compactionUnsynced = false;
+      }
+    } catch (Exception e) {
+      logger.warn("Failure trying to sync and compact queue log " + logDirectory.getAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Deletes the oldest segments which no longer hold any item. Then, if the oldest segment only holds a few items, up to
+   * {@link #MAX_ENTRIES_COPIED_PER_COMPACTION} of them are copied into the write segment, so that the oldest one can be deleted
+   * once the following runs copy the rest.
+   * <p/>
+   * Only the oldest segments are deleted, so that the remove records of the items they held are never lost while any of those
+   * items is still in a remaining segment. The copies are synced by {@link #syncAndCompact()} after each run, and no segment is
+   * deleted until that sync succeeds, so that the originals are never deleted before their copies are on disk.
+   */
+  private void compact() {
+    while (!compactionUnsynced && segments.getFirst() != writeSegment && segments.getFirst().liveEntries.isEmpty()) {
+      Segment segment = segments.removeFirst();
+      segment.delete();
+      if (logger.isDebugEnabled()) {
+        logger.debug("Deleted queue log segment " + segment.path.getAbsolutePath());
+      }
+    }
+
+    Segment oldest = segments.getFirst();
+    if (oldest != writeSegment && oldest.liveEntries.size() <= oldest.records * MAX_LIVE_RATIO_TO_COMPACT) {
+      Iterator<Entry> iterator = oldest.liveEntries.iterator();
+      for (int copied = 0; copied < MAX_ENTRIES_COPIED_PER_COMPACTION && iterator.hasNext(); copied++) {
+        Entry entry = iterator.next();
+        entry.position = appendRecord(PUT, entry.key, readPayload(entry));
+        iterator.remove();
+        entry.segment = writeSegment;
+        writeSegment.records++;
+        writeSegment.liveEntries.add(entry);
+        compactionUnsynced = true;
+      }
+    }
+  }
+
+  private void recover() {
+    File[] segmentFiles = logDirectory.listFiles();
+    long[] segmentIds = segmentFiles == null ? new long[0]
+        : Arrays.stream(segmentFiles).map(file -> SEGMENT_FILE_NAME_PATTERN.matcher(file.getName())).filter(Matcher::matches)
+            .mapToLong(matcher -> Long.parseLong(matcher.group(1))).sorted().toArray();
+
+    TreeMap<Long, Entry> recoveredEntries = new TreeMap<>();
+    for (long segmentId : segmentIds) {
+      Segment segment = openSegment(segmentId);
+      segments.addLast(segment);
+      replay(segment, recoveredEntries);
+    }
+    entries.addAll(recoveredEntries.values());
+
+    if (segments.isEmpty()) {
+      segments.addLast(openSegment(0));
+    }
+    writeSegment = segments.getLast();
+  }
+
+  private void replay(Segment segment, TreeMap<Long, Entry> recoveredEntries) {
+    try {
+      final long segmentLength = segment.file.length();
+      byte[] recordHeader = new byte[HEADER_SIZE];
+      long position = 0;
+      while (position + HEADER_SIZE <= segmentLength) {
+        segment.file.seek(position);
+        segment.file.readFully(recordHeader);
+        ByteBuffer headerBuffer = ByteBuffer.wrap(recordHeader);
+        final int length = headerBuffer.getInt();
+        final byte type = headerBuffer.get();
+        final long key = headerBuffer.getLong();
+        final int recordChecksum = headerBuffer.getInt();
+        if ((type != PUT && type != REMOVE) || length < 0 || position + HEADER_SIZE + length > segmentLength) {
+          break;
+        }
+
+        byte[] payload = new byte[length];
+        segment.file.readFully(payload);
+        if (checksum(payload) != recordChecksum) {
+          break;
+        }
+
+        headKey = Math.min(headKey, key - 1);
+        tailKey = Math.max(tailKey, key);
+        if (type == PUT) {
+          Entry entry = new Entry(key, segment, position + HEADER_SIZE, length);
+          segment.records++;
+          segment.liveEntries.add(entry);
+          // an item may have been copied by a compaction which didn't get to delete the original segment
+          Entry previous = recoveredEntries.put(key, entry);
+          if (previous != null) {
+            previous.segment.liveEntries.remove(previous);
+          }
+        } else {
+          Entry removed = recoveredEntries.remove(key);
+          if (removed != null) {
+            removed.segment.liveEntries.remove(removed);
+          }
+        }
+        position += HEADER_SIZE + length;
+      }
+
+      if (position < segmentLength) {
+        logger.warn(format("Discarding %s bytes of incomplete data at the end of queue log segment %s",
+                           segmentLength - position, segment.path.getAbsolutePath()));
+        segment.file.setLength(position);
+      }
+      segment.size = position;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read queue log segment " + segment.path.getAbsolutePath()),
+                                     e);
+    }
+  }
+
+  private Segment openSegment(long id) {
+    File path = new File(logDirectory, format(SEGMENT_FILE_NAME, id));
+    try {
+      return new Segment(id, path, new RandomAccessFile(path, "rw"));
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not open queue log segment " + path.getAbsolutePath()), e);
+    }
+  }
+
+  private byte[] readPayload(Entry entry) {
+    byte[] payload = new byte[entry.length];
+    try {
+      entry.segment.file.seek(entry.position);
+      entry.segment.file.readFully(payload);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read from queue log segment "
+          + entry.segment.path.getAbsolutePath()), e);
+    }
+    return payload;
+  }
+
+  private int checksum(byte[] payload) {
+    checksum.reset();
+    checksum.update(payload, 0, payload.length);
+    return (int) checksum.getValue();
+  }
+
+  private Serializable deserialize(byte[] valueAsBytes) {
+    return serializer.getInternalProtocol().deserialize(valueAsBytes);
+  }
+
+  /**
+   * A file of the log.
+   * <p/>
+   * It's accessed through a {@link RandomAccessFile} instead of a {@link java.nio.channels.FileChannel} because interrupting a
+   * thread while it's blocked on a channel operation closes the channel, which would leave the queue unusable.
+   */
+  private static final class Segment {
+
+    private final long id;
+    private final File path;
+    private final RandomAccessFile file;
+    // the items still in the queue which are stored in this segment
+    private final Set<Entry> liveEntries = new HashSet<>();
+    private long size = 0;
+    private int records = 0;
+    private volatile boolean closed = false;
+
+    private Segment(long id, File path, RandomAccessFile file) {
+      this.id = id;
+      this.path = path;
+      this.file = file;
+    }
+
+    private void close() {
+      closed = true;
+      try {
+        file.close();
+      } catch (IOException e) {
+        throw new MuleRuntimeException(createStaticMessage("Could not close queue log segment " + path.getAbsolutePath()), e);
+      }
+    }
+
+    private void delete() {
+      close();
+      deleteQuietly(path);
+    }
+  }
+
+  /**
+   * An item offered through {@link #offerAsync(Serializable)} which is waiting to be appended
+   */
+  private static final class PendingPut {
+
+    private final byte[] payload;
+    private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+    private PendingPut(byte[] payload) {
+      this.payload = payload;
+    }
+  }
+
+  /**
+   * A caller of {@link #pollAsync(long)} which is waiting for an item
+   */
+  private static final class PendingPoll {
+
+    private final CompletableFuture<Serializable> future = new CompletableFuture<>();
+    private ScheduledFuture<?> timeoutTask;
+  }
+
+  /**
+   * The location of an item which is still in the queue
+   */
+  private static final class Entry {
+
+    private final long key;
+    private final int length;
+    private Segment segment;
+    private long position;
+
+    private Entry(long key, Segment segment, long position, int length) {
+      this.key = key;
+      this.segment = segment;
+      this.position = position;
+      this.length = length;
+    }
+  }
+}
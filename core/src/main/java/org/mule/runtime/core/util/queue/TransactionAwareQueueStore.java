@@ -13,6 +13,7 @@ import org.mule.runtime.core.api.util.queue.Queue;
 import org.mule.runtime.core.util.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,6 +61,21 @@ public class TransactionAwareQueueStore implements Queue {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Within a transaction the item is only stored on commit, so it's offered to the transaction context as with
+   * {@link #offer(Serializable, long)}. Otherwise it's handed to the queue without waiting for it to be persisted.
+   */
+  @Override
+  public CompletableFuture<Boolean> offerAsync(Serializable item) {
+    if (transactionContextProvider.isTransactional()) {
+      return Queue.super.offerAsync(item);
+    } else {
+      return queue.offerAsync(item);
+    }
+  }
+
   @Override
   public Serializable take() throws InterruptedException {
     return poll(Long.MAX_VALUE);
@@ -92,6 +108,20 @@ public class TransactionAwareQueueStore implements Queue {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Within a transaction the item is polled through the transaction context as with {@link #poll(long)}.
+   */
+  @Override
+  public CompletableFuture<Serializable> pollAsync(long timeout) {
+    if (transactionContextProvider.isTransactional()) {
+      return Queue.super.pollAsync(timeout);
+    } else {
+      return queue.pollAsync(timeout).thenApply(this::postProcessIfNeeded);
+    }
+  }
+
   @Override
   public Serializable peek() throws InterruptedException {
     if (transactionContextProvider.isTransactional()) {
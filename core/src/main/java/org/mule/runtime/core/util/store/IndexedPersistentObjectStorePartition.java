@@ -0,0 +1,659 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.lang.Long.getLong;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.unmodifiableList;
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.store.ExpirableObjectStore;
+import org.mule.runtime.core.api.store.ListableObjectStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent object store partition which keeps all its entries in a single append-only data file, instead of one file per
+ * key like {@link PersistentObjectStorePartition}.
+ * <p>
+ * Each {@link #store(Serializable, Serializable)} appends a record with the key and the serialized value, and each removal
+ * appends a tombstone record. An in-memory index maps each key to the position of its value in the data file, so only
+ * {@link #retrieve(Serializable)} needs to read and deserialize a value.
+ * <p>
+ * Once the space used by removed entries exceeds both the live entries and {@link #COMPACTION_THRESHOLD_PROPERTY_KEY} bytes,
+ * the live records are copied into a new data file which atomically replaces the current one. After each compaction and when
+ * the partition is closed, the index is persisted into a key index file, so that opening the partition only requires reading
+ * the index and the data appended after it. Records are checksummed, so a torn record left by a crash is discarded when the
+ * data file is read back, and a key index which doesn't match the data file is ignored in favor of a full read of the data file.
+ * <p>
+ * Keys are handled as strings, same as {@link PartitionedPersistentObjectStore} does.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.0
+ */
+public class IndexedPersistentObjectStorePartition<T extends Serializable>
+    implements ListableObjectStore<T>, ExpirableObjectStore<T> {
+
+  public static final String COMPACTION_THRESHOLD_PROPERTY_KEY = "mule.objectstore.indexed.compactionThreshold";
+
+  static final String DATA_FILE = "data.log";
+  static final String INDEX_FILE = "data.idx";
+  private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  private static final long DEFAULT_COMPACTION_THRESHOLD = 4 * 1024 * 1024;
+
+  private static final int DATA_FILE_MAGIC = 0x4d4f5344;
+  private static final int INDEX_FILE_MAGIC = 0x4d4f5349;
+  private static final int DATA_FILE_HEADER_SIZE = 4 + 8;
+
+  /**
+   * Magic, data file generation, indexed data file position, garbage bytes and entries count.
+   */
+  private static final int INDEX_HEADER_SIZE = 4 + 8 + 8 + 8 + 4;
+
+  private static final byte STORE = 1;
+  private static final byte REMOVE = 2;
+
+  /**
+   * Payload length, record type, timestamp and payload CRC.
+   */
+  private static final int RECORD_HEADER_SIZE = 4 + 1 + 8 + 4;
+
+  private static final Logger logger = LoggerFactory.getLogger(IndexedPersistentObjectStorePartition.class);
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final long compactionThreshold = getLong(COMPACTION_THRESHOLD_PROPERTY_KEY, DEFAULT_COMPACTION_THRESHOLD);
+
+  private final File partitionDirectory;
+  private String partitionName;
+
+  /**
+   * Guards the index and the data file. Retrievals only need the read lock, and they deserialize the value after releasing it.
+   */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * The live entries, in the order in which they were stored.
+   */
+  private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>();
+  private RandomAccessFile dataFile;
+  private long generation;
+  private long writePosition;
+  private long liveBytes;
+  private long garbageBytes;
+
+  IndexedPersistentObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+  }
+
+  IndexedPersistentObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    this.muleContext = muleContext;
+    serializer = muleContext.getObjectSerializer();
+    this.partitionDirectory = partitionDirectory;
+    this.partitionName = readPartitionName();
+  }
+
+  @Override
+  public void open() throws ObjectStoreException {
+    lock.writeLock().lock();
+    try {
+      if (dataFile != null) {
+        return;
+      }
+      if (!partitionDirectory.exists() && !partitionDirectory.mkdirs()) {
+        throw new ObjectStoreException(failedToCreate("object store directory " + partitionDirectory.getAbsolutePath()));
+      }
+      createOrRetrievePartitionDescriptorFile();
+      load();
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %s",
+                                                                partitionDirectory.getAbsolutePath())),
+                                     e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Persists the key index and closes the data file. The partition may be opened again afterwards.
+   */
+  @Override
+  public void close() throws ObjectStoreException {
+    lock.writeLock().lock();
+    try {
+      if (dataFile == null) {
+        return;
+      }
+      writeIndex();
+      dataFile.close();
+      dataFile = null;
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<Serializable> allKeys() throws ObjectStoreException {
+    lock.readLock().lock();
+    try {
+      assureOpen();
+      return unmodifiableList(new ArrayList<Serializable>(index.keySet()));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean contains(Serializable key) throws ObjectStoreException {
+    lock.readLock().lock();
+    try {
+      assureOpen();
+      return index.containsKey(key.toString());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void store(Serializable key, T value) throws ObjectStoreException {
+    final String stringKey = key.toString();
+    final byte[] keyBytes = stringKey.getBytes(UTF_8);
+    // serialize before taking the lock, it's the most expensive part of the operation
+    final byte[] valueBytes = serializer.getInternalProtocol().serialize(value);
+
+    ByteBuffer payload = ByteBuffer.allocate(4 + keyBytes.length + valueBytes.length);
+    payload.putInt(keyBytes.length).put(keyBytes).put(valueBytes);
+
+    lock.writeLock().lock();
+    try {
+      assureOpen();
+      if (index.containsKey(stringKey)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      final long now = System.currentTimeMillis();
+      final long recordOffset = append(STORE, now, payload.array());
+      final int recordLength = RECORD_HEADER_SIZE + payload.capacity();
+      index.put(stringKey, new Entry(recordOffset, recordLength, recordLength - valueBytes.length, now));
+      liveBytes += recordLength;
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public T retrieve(Serializable key) throws ObjectStoreException {
+    final byte[] valueBytes;
+    lock.readLock().lock();
+    try {
+      assureOpen();
+      Entry entry = index.get(key.toString());
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      valueBytes = readValue(entry);
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      lock.readLock().unlock();
+    }
+    return deserialize(valueBytes);
+  }
+
+  @Override
+  public T remove(Serializable key) throws ObjectStoreException {
+    final byte[] valueBytes;
+    lock.writeLock().lock();
+    try {
+      assureOpen();
+      Entry entry = index.get(key.toString());
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      valueBytes = readValue(entry);
+      index.remove(key.toString());
+      logRemoval(key.toString(), entry);
+      compactIfNeeded();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    return deserialize(valueBytes);
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    lock.writeLock().lock();
+    try {
+      assureOpen();
+      dataFile.close();
+      dataFile = null;
+      deleteFile(new File(partitionDirectory, INDEX_FILE));
+      deleteFile(new File(partitionDirectory, DATA_FILE));
+      index.clear();
+      load();
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    lock.writeLock().lock();
+    try {
+      assureOpen();
+      if (maxEntries != UNBOUNDED) {
+        int excess = index.size() - maxEntries;
+        for (Iterator<Map.Entry<String, Entry>> entries = index.entrySet().iterator(); excess > 0; excess--) {
+          Map.Entry<String, Entry> entry = entries.next();
+          entries.remove();
+          logRemoval(entry.getKey(), entry.getValue());
+        }
+      }
+
+      if (entryTTL != UNBOUNDED) {
+        final long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<String, Entry>> entries = index.entrySet().iterator(); entries.hasNext();) {
+          Map.Entry<String, Entry> entry = entries.next();
+          if ((now - entry.getValue().timestamp) < entryTTL) {
+            break;
+          }
+          entries.remove();
+          logRemoval(entry.getKey(), entry.getValue());
+        }
+      }
+
+      compactIfNeeded();
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  private void assureOpen() throws ObjectStoreException {
+    if (dataFile == null) {
+      throw new ObjectStoreNotAvailableException(createStaticMessage("Partition " + partitionName + " is not open"));
+    }
+  }
+
+  /**
+   * Appends a tombstone for an entry which was already removed from the index.
+   */
+  private void logRemoval(String key, Entry removed) throws IOException {
+    final byte[] keyBytes = key.getBytes(UTF_8);
+    append(REMOVE, System.currentTimeMillis(), keyBytes);
+    liveBytes -= removed.recordLength;
+    garbageBytes += removed.recordLength + RECORD_HEADER_SIZE + keyBytes.length;
+  }
+
+  private long append(byte type, long timestamp, byte[] payload) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+    record.putInt(payload.length).put(type).putLong(timestamp).putInt((int) crc.getValue()).put(payload);
+
+    final long recordOffset = writePosition;
+    dataFile.seek(recordOffset);
+    dataFile.write(record.array());
+    writePosition += record.capacity();
+    return recordOffset;
+  }
+
+  private byte[] readValue(Entry entry) throws IOException {
+    byte[] valueBytes = new byte[entry.recordLength - entry.valueDelta];
+    // the file pointer is shared by all the readers
+    synchronized (dataFile) {
+      dataFile.seek(entry.offset + entry.valueDelta);
+      dataFile.readFully(valueBytes);
+    }
+    return valueBytes;
+  }
+
+  private T deserialize(byte[] valueBytes) throws ObjectStoreException {
+    try {
+      T value = serializer.getInternalProtocol().deserialize(valueBytes);
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private void load() throws IOException {
+    final File file = new File(partitionDirectory, DATA_FILE);
+    if (!file.exists()) {
+      createDataFile(file, System.nanoTime());
+    }
+
+    dataFile = new RandomAccessFile(file, "rw");
+    if (dataFile.length() < DATA_FILE_HEADER_SIZE || dataFile.readInt() != DATA_FILE_MAGIC) {
+      dataFile.close();
+      throw new IOException("Invalid object store data file " + file.getAbsolutePath());
+    }
+    generation = dataFile.readLong();
+
+    index.clear();
+    liveBytes = 0;
+    garbageBytes = 0;
+    long position = readIndex();
+    if (position < 0) {
+      position = DATA_FILE_HEADER_SIZE;
+    }
+    writePosition = replay(file, position);
+    if (writePosition < dataFile.length()) {
+      logger.warn(format("Discarding %d bytes of incomplete records from the end of %s", dataFile.length() - writePosition,
+                         file.getAbsolutePath()));
+      dataFile.setLength(writePosition);
+    }
+  }
+
+  private void createDataFile(File file, long generation) throws IOException {
+    try (FileOutputStream fileOutputStream = new FileOutputStream(file);
+        DataOutputStream dataOutputStream = new DataOutputStream(fileOutputStream)) {
+      dataOutputStream.writeInt(DATA_FILE_MAGIC);
+      dataOutputStream.writeLong(generation);
+      dataOutputStream.flush();
+      fileOutputStream.getFD().sync();
+    }
+  }
+
+  /**
+   * Reads the records of the data file from the given position, applying them to the index.
+   *
+   * @return the position after the last valid record
+   */
+  private long replay(File file, long position) throws IOException {
+    try (FileInputStream fileInputStream = new FileInputStream(file);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(fileInputStream))) {
+      fileInputStream.getChannel().position(position);
+      final long length = file.length();
+      CRC32 crc = new CRC32();
+      while (position + RECORD_HEADER_SIZE <= length) {
+        final int payloadLength = input.readInt();
+        final byte type = input.readByte();
+        final long timestamp = input.readLong();
+        final int checksum = input.readInt();
+        if (payloadLength < 0 || position + RECORD_HEADER_SIZE + payloadLength > length) {
+          break;
+        }
+
+        byte[] payload = new byte[payloadLength];
+        input.readFully(payload);
+        crc.reset();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+
+        final int recordLength = RECORD_HEADER_SIZE + payloadLength;
+        if (type == STORE) {
+          ByteBuffer buffer = ByteBuffer.wrap(payload);
+          final int keyLength = buffer.getInt();
+          String key = new String(payload, 4, keyLength, UTF_8);
+          Entry previous = index.put(key, new Entry(position, recordLength, RECORD_HEADER_SIZE + 4 + keyLength, timestamp));
+          if (previous != null) {
+            liveBytes -= previous.recordLength;
+            garbageBytes += previous.recordLength;
+          }
+          liveBytes += recordLength;
+        } else if (type == REMOVE) {
+          Entry removed = index.remove(new String(payload, UTF_8));
+          if (removed != null) {
+            liveBytes -= removed.recordLength;
+            garbageBytes += removed.recordLength;
+          }
+          garbageBytes += recordLength;
+        } else {
+          break;
+        }
+        position += recordLength;
+      }
+    } catch (EOFException e) {
+      // a torn record, the position of the last valid one is returned
+    }
+    return position;
+  }
+
+  private void compactIfNeeded() throws IOException {
+    if (garbageBytes > compactionThreshold && garbageBytes > liveBytes) {
+      compact();
+    }
+  }
+
+  /**
+   * Copies the live records into a new data file, which then replaces the current one.
+   */
+  private void compact() throws IOException {
+    final File file = new File(partitionDirectory, DATA_FILE);
+    final File compactedFile = new File(partitionDirectory, DATA_FILE + TEMP_FILE_EXTENSION);
+    final long newGeneration = generation + 1;
+    final Map<String, Entry> compactedIndex = new LinkedHashMap<>();
+
+    try (FileOutputStream fileOutputStream = new FileOutputStream(compactedFile);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutputStream))) {
+      output.writeInt(DATA_FILE_MAGIC);
+      output.writeLong(newGeneration);
+      long position = DATA_FILE_HEADER_SIZE;
+      for (Map.Entry<String, Entry> indexEntry : index.entrySet()) {
+        Entry entry = indexEntry.getValue();
+        byte[] record = new byte[entry.recordLength];
+        dataFile.seek(entry.offset);
+        dataFile.readFully(record);
+        output.write(record);
+        compactedIndex.put(indexEntry.getKey(), new Entry(position, entry.recordLength, entry.valueDelta, entry.timestamp));
+        position += entry.recordLength;
+      }
+      output.flush();
+      fileOutputStream.getFD().sync();
+    }
+
+    dataFile.close();
+    Files.move(compactedFile.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    dataFile = new RandomAccessFile(file, "rw");
+    if (logger.isDebugEnabled()) {
+      logger.debug(format("Compacted object store partition %s from %d to %d bytes", partitionName, writePosition,
+                          dataFile.length()));
+    }
+
+    index.clear();
+    index.putAll(compactedIndex);
+    generation = newGeneration;
+    writePosition = dataFile.length();
+    garbageBytes = 0;
+    writeIndex();
+  }
+
+  /**
+   * Persists the index, along with the data file generation and position it corresponds to.
+   */
+  private void writeIndex() throws IOException {
+    final File indexFile = new File(partitionDirectory, INDEX_FILE);
+    final File tempIndexFile = new File(partitionDirectory, INDEX_FILE + TEMP_FILE_EXTENSION);
+    try (FileOutputStream fileOutputStream = new FileOutputStream(tempIndexFile)) {
+      CheckedOutputStream checkedOutputStream = new CheckedOutputStream(fileOutputStream, new CRC32());
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(checkedOutputStream));
+      output.writeInt(INDEX_FILE_MAGIC);
+      output.writeLong(generation);
+      output.writeLong(writePosition);
+      output.writeLong(garbageBytes);
+      output.writeInt(index.size());
+      for (Map.Entry<String, Entry> indexEntry : index.entrySet()) {
+        Entry entry = indexEntry.getValue();
+        byte[] keyBytes = indexEntry.getKey().getBytes(UTF_8);
+        output.writeInt(keyBytes.length);
+        output.write(keyBytes);
+        output.writeLong(entry.offset);
+        output.writeInt(entry.recordLength);
+        output.writeInt(entry.valueDelta);
+        output.writeLong(entry.timestamp);
+      }
+      // the checksum covers everything written so far, so the buffer is flushed before taking it
+      output.flush();
+      output.writeLong(checkedOutputStream.getChecksum().getValue());
+      output.flush();
+      fileOutputStream.getFD().sync();
+    }
+    Files.move(tempIndexFile.toPath(), indexFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  /**
+   * Loads the persisted index if it matches the current data file.
+   *
+   * @return the position of the data file from which records are not in the index, or {@code -1} if there's no valid index
+   */
+  private long readIndex() {
+    final File indexFile = new File(partitionDirectory, INDEX_FILE);
+    if (!indexFile.exists()) {
+      return -1;
+    }
+
+    try {
+      final ByteBuffer input = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+      final int checksumPosition = input.limit() - 8;
+      if (checksumPosition < INDEX_HEADER_SIZE) {
+        return -1;
+      }
+      CRC32 crc = new CRC32();
+      crc.update(input.array(), 0, checksumPosition);
+      if (input.getLong(checksumPosition) != crc.getValue()
+          || input.getInt() != INDEX_FILE_MAGIC || input.getLong() != generation) {
+        return -1;
+      }
+
+      final long position = input.getLong();
+      final long indexGarbageBytes = input.getLong();
+      final int size = input.getInt();
+      if (position > dataFile.length()) {
+        return -1;
+      }
+
+      long indexLiveBytes = 0;
+      for (int i = 0; i < size; i++) {
+        final int keyLength = input.getInt();
+        String key = new String(input.array(), input.position(), keyLength, UTF_8);
+        input.position(input.position() + keyLength);
+        Entry entry = new Entry(input.getLong(), input.getInt(), input.getInt(), input.getLong());
+        index.put(key, entry);
+        indexLiveBytes += entry.recordLength;
+      }
+      liveBytes = indexLiveBytes;
+      garbageBytes = indexGarbageBytes;
+      return position;
+    } catch (IOException | RuntimeException e) {
+      logger.warn(format("Could not read object store index %s, the data file will be fully read", indexFile.getAbsolutePath()));
+      index.clear();
+      return -1;
+    }
+  }
+
+  private void deleteFile(File file) throws IOException {
+    if (file.exists() && !file.delete()) {
+      throw new IOException("Deleting " + file.getAbsolutePath() + " failed");
+    }
+  }
+
+  private String readPartitionName() throws ObjectStoreNotAvailableException {
+    try {
+      return readFileToString(new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE));
+    } catch (IOException e) {
+      throw new ObjectStoreNotAvailableException(e);
+    }
+  }
+
+  private void createOrRetrievePartitionDescriptorFile() throws IOException {
+    File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+    if (partitionDescriptorFile.exists()) {
+      this.partitionName = readFileToString(partitionDescriptorFile);
+    } else {
+      writeStringToFile(partitionDescriptorFile, partitionName);
+    }
+  }
+
+  /**
+   * The location of a live record in the data file.
+   */
+  private static class Entry {
+
+    private final long offset;
+    private final int recordLength;
+
+    /**
+     * The distance from the start of the record to the serialized value.
+     */
+    private final int valueDelta;
+    private final long timestamp;
+
+    private Entry(long offset, int recordLength, int valueDelta, long timestamp) {
+      this.offset = offset;
+      this.recordLength = recordLength;
+      this.valueDelta = valueDelta;
+      this.timestamp = timestamp;
+    }
+  }
+}
@@ -12,23 +12,51 @@ import java.io.Serializable;
 
 public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory {
 
+  /**
+   * When {@code true}, persistent object stores keep each partition in a single indexed data file instead of a file per entry.
+   *
+   * @see PartitionedIndexedPersistentObjectStore
+   */
+  public static final String INDEXED_PERSISTENT_OBJECT_STORE_PROPERTY = "mule.objectstore.persistent.indexed";
+
+  /**
+   * When {@code true}, in memory object stores enforce their TTL and maximum entries on each write.
+   *
+   * @see PartitionedExpiringInMemoryObjectStore
+   */
+  public static final String EXPIRING_IN_MEMORY_OBJECT_STORE_PROPERTY = "mule.objectstore.inMemory.expiring";
+
   @Override
   public ObjectStore<Serializable> createDefaultInMemoryObjectStore() {
-    return new PartitionedInMemoryObjectStore<Serializable>();
+    return createInMemoryObjectStore();
   }
 
   @Override
   public ObjectStore<Serializable> createDefaultPersistentObjectStore() {
-    return new PartitionedPersistentObjectStore<Serializable>();
+    return createPersistentObjectStore();
   }
 
   @Override
   public ObjectStore<Serializable> createDefaultUserObjectStore() {
-    return new PartitionedPersistentObjectStore<Serializable>();
+    return createPersistentObjectStore();
   }
 
   @Override
   public ObjectStore<Serializable> createDefaultUserTransientObjectStore() {
+    return createInMemoryObjectStore();
+  }
+
+  private ObjectStore<Serializable> createInMemoryObjectStore() {
+    if (Boolean.getBoolean(EXPIRING_IN_MEMORY_OBJECT_STORE_PROPERTY)) {
+      return new PartitionedExpiringInMemoryObjectStore<Serializable>();
+    }
     return new PartitionedInMemoryObjectStore<Serializable>();
   }
+
+  private ObjectStore<Serializable> createPersistentObjectStore() {
+    if (Boolean.getBoolean(INDEXED_PERSISTENT_OBJECT_STORE_PROPERTY)) {
+      return new PartitionedIndexedPersistentObjectStore<Serializable>();
+    }
+    return new PartitionedPersistentObjectStore<Serializable>();
+  }
 }
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.store.ObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.store.PartitionableExpirableObjectStore;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in memory {@link PartitionableExpirableObjectStore} which enforces expiration on each write instead of on a periodic sweep.
+ * <p>
+ * Each partition keeps its entries in a {@link ConcurrentHashMap}, so lookups never block. Entries are also linked in two
+ * intrusive lists guarded by a per partition lock: one in write order, used to expire entries by TTL, and one in access order,
+ * used to evict the least recently used entries once {@code maxEntries} is exceeded. Linking, unlinking and evicting are
+ * O(1), so {@link #remove(Serializable, String)} doesn't scan the partition and each write pays for the entries that became
+ * expired since the previous one.
+ * <p>
+ * The TTL and maximum entries of a partition are the ones given on the last {@link #expire(long, int, String)} invocation.
+ * Reads only reorder the access list when the partition lock is free, so under contention the eviction order is an
+ * approximation of LRU.
+ *
+ * @since 4.0
+ */
+public class PartitionedExpiringInMemoryObjectStore<T extends Serializable> extends AbstractPartitionedObjectStore<T>
+    implements PartitionableExpirableObjectStore<T> {
+
+  private final ConcurrentMap<String, ExpiringPartition> partitions = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean isPersistent() {
+    return false;
+  }
+
+  @Override
+  public boolean contains(Serializable key, String partitionName) throws ObjectStoreException {
+    validateKey(key);
+    ExpiringPartition partition = partitions.get(partitionName);
+    return partition != null && partition.get(key) != null;
+  }
+
+  @Override
+  public void store(Serializable key, T value, String partitionName) throws ObjectStoreException {
+    validateKey(key);
+    if (value == null) {
+      throw new ObjectStoreException(objectIsNull("value"));
+    }
+    getPartition(partitionName).put(key, value);
+  }
+
+  @Override
+  public T retrieve(Serializable key, String partitionName) throws ObjectStoreException {
+    validateKey(key);
+    ExpiringPartition partition = partitions.get(partitionName);
+    Node<T> node = partition != null ? partition.get(key) : null;
+    if (node == null) {
+      throw new ObjectDoesNotExistException();
+    }
+    return node.value;
+  }
+
+  @Override
+  public T remove(Serializable key, String partitionName) throws ObjectStoreException {
+    validateKey(key);
+    ExpiringPartition partition = partitions.get(partitionName);
+    Node<T> node = partition != null ? partition.remove(key) : null;
+    if (node == null) {
+      throw new ObjectDoesNotExistException();
+    }
+    return node.value;
+  }
+
+  @Override
+  public List<Serializable> allKeys(String partitionName) throws ObjectStoreException {
+    ExpiringPartition partition = partitions.get(partitionName);
+    return partition != null ? new ArrayList<>(partition.entries.keySet()) : new ArrayList<>();
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    ExpiringPartition partition = partitions.get(partitionName);
+    if (partition != null) {
+      partition.clear();
+    }
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    return new ArrayList<>(partitions.keySet());
+  }
+
+  @Override
+  public void open(String partitionName) throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION);
+  }
+
+  /**
+   * Sets the TTL and maximum entries of the partition, which are enforced from now on each time an entry is stored, and removes
+   * the entries which exceed them.
+   */
+  @Override
+  public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    getPartition(partitionName).expire(entryTTL, maxEntries);
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    ExpiringPartition partition = partitions.remove(partitionName);
+    if (partition != null) {
+      partition.clear();
+    }
+  }
+
+  protected long getCurrentNanoTime() {
+    return System.nanoTime();
+  }
+
+  private void validateKey(Serializable key) throws ObjectStoreException {
+    if (key == null) {
+      throw new ObjectStoreException(objectIsNull("key"));
+    }
+  }
+
+  private ExpiringPartition getPartition(String partitionName) {
+    return partitions.computeIfAbsent(partitionName, name -> new ExpiringPartition());
+  }
+
+  private class ExpiringPartition {
+
+    private final ConcurrentMap<Serializable, Node<T>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Sentinels of the write order and access order lists. The oldest node is next to the sentinel in both lists.
+     */
+    private final Node<T> writeOrder = new Node<>(null, null, 0);
+    private final Node<T> accessOrder = new Node<>(null, null, 0);
+
+    private volatile long entryTTLNanos = UNBOUNDED;
+    private volatile int maxEntries = UNBOUNDED;
+
+    private ExpiringPartition() {
+      writeOrder.nextWrite = writeOrder.previousWrite = writeOrder;
+      accessOrder.nextAccess = accessOrder.previousAccess = accessOrder;
+    }
+
+    private Node<T> get(Serializable key) {
+      Node<T> node = entries.get(key);
+      if (node != null && lock.tryLock()) {
+        try {
+          if (node.linked) {
+            unlinkAccess(node);
+            linkAccess(node);
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+      return node;
+    }
+
+    private void put(Serializable key, T value) throws ObjectAlreadyExistsException {
+      final Node<T> node = new Node<>(key, value, getCurrentNanoTime());
+      if (entries.putIfAbsent(key, node) != null) {
+        throw new ObjectAlreadyExistsException();
+      }
+
+      lock.lock();
+      try {
+        // a concurrent remove or clear may have dropped the node before it was linked
+        if (!node.retired && entries.get(key) == node) {
+          node.linked = true;
+          linkWrite(node);
+          linkAccess(node);
+        }
+        evict(node.timestamp);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private Node<T> remove(Serializable key) {
+      Node<T> node = entries.remove(key);
+      if (node != null) {
+        lock.lock();
+        try {
+          retire(node);
+        } finally {
+          lock.unlock();
+        }
+      }
+      return node;
+    }
+
+    private void clear() {
+      lock.lock();
+      try {
+        for (Node<T> node = writeOrder.nextWrite; node != writeOrder; node = node.nextWrite) {
+          node.retired = true;
+          node.linked = false;
+        }
+        writeOrder.nextWrite = writeOrder.previousWrite = writeOrder;
+        accessOrder.nextAccess = accessOrder.previousAccess = accessOrder;
+        entries.clear();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void expire(long entryTTL, int maxEntries) {
+      this.entryTTLNanos = entryTTL == UNBOUNDED ? UNBOUNDED : MILLISECONDS.toNanos(entryTTL);
+      this.maxEntries = maxEntries;
+
+      lock.lock();
+      try {
+        int evicted = evict(getCurrentNanoTime());
+        if (logger.isDebugEnabled()) {
+          logger.debug("Expired " + evicted + " entries");
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Removes the entries older than the TTL and then the least recently used ones exceeding the maximum entries. Must be called
+     * while holding the lock.
+     *
+     * @return the number of removed entries
+     */
+    private int evict(long now) {
+      int evicted = 0;
+      final long ttl = entryTTLNanos;
+      if (ttl != UNBOUNDED) {
+        Node<T> oldest;
+        while ((oldest = writeOrder.nextWrite) != writeOrder && now - oldest.timestamp >= ttl) {
+          evictNode(oldest);
+          evicted++;
+        }
+      }
+
+      final int max = maxEntries;
+      if (max != UNBOUNDED) {
+        Node<T> leastRecentlyUsed;
+        while (entries.size() > max && (leastRecentlyUsed = accessOrder.nextAccess) != accessOrder) {
+          evictNode(leastRecentlyUsed);
+          evicted++;
+        }
+      }
+      return evicted;
+    }
+
+    private void evictNode(Node<T> node) {
+      retire(node);
+      entries.remove(node.key, node);
+    }
+
+    private void retire(Node<T> node) {
+      node.retired = true;
+      if (node.linked) {
+        node.linked = false;
+        unlinkWrite(node);
+        unlinkAccess(node);
+      }
+    }
+
+    private void linkWrite(Node<T> node) {
+      node.previousWrite = writeOrder.previousWrite;
+      node.nextWrite = writeOrder;
+      writeOrder.previousWrite.nextWrite = node;
+      writeOrder.previousWrite = node;
+    }
+
+    private void unlinkWrite(Node<T> node) {
+      node.previousWrite.nextWrite = node.nextWrite;
+      node.nextWrite.previousWrite = node.previousWrite;
+      node.previousWrite = node.nextWrite = null;
+    }
+
+    private void linkAccess(Node<T> node) {
+      node.previousAccess = accessOrder.previousAccess;
+      node.nextAccess = accessOrder;
+      accessOrder.previousAccess.nextAccess = node;
+      accessOrder.previousAccess = node;
+    }
+
+    private void unlinkAccess(Node<T> node) {
+      node.previousAccess.nextAccess = node.nextAccess;
+      node.nextAccess.previousAccess = node.previousAccess;
+      node.previousAccess = node.nextAccess = null;
+    }
+  }
+
+  /**
+   * A stored entry. All the fields but the key, value and timestamp are guarded by the lock of its partition.
+   */
+  private static class Node<T> {
+
+    private final Serializable key;
+    private final T value;
+    private final long timestamp;
+
+    private boolean linked;
+    private boolean retired;
+    private Node<T> previousWrite;
+    private Node<T> nextWrite;
+    private Node<T> previousAccess;
+    private Node<T> nextAccess;
+
+    private Node(Serializable key, T value, long timestamp) {
+      this.key = key;
+      this.value = value;
+      this.timestamp = timestamp;
+    }
+  }
+}
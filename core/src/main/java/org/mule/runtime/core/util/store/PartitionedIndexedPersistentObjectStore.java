@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.core.api.util.FileUtils;
+import org.mule.runtime.core.api.util.UUID;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A persistent {@link PartitionableExpirableObjectStore} which keeps each partition in a single data file plus a key index,
+ * using {@link IndexedPersistentObjectStorePartition}. Unlike {@link PartitionedPersistentObjectStore}, the number of files
+ * doesn't grow with the number of entries and opening a partition doesn't need to read every stored value.
+ * <p>
+ * Partitions are kept under their own {@link #OBJECT_STORE_DIR} in the working directory, so entries stored by
+ * {@link PartitionedPersistentObjectStore} are not visible to this store.
+ *
+ * @since 4.0
+ */
+public class PartitionedIndexedPersistentObjectStore<T extends Serializable> extends AbstractPartitionedObjectStore<T>
+    implements MuleContextAware, PartitionableExpirableObjectStore<T>, Disposable {
+
+  public static final String OBJECT_STORE_DIR = "indexed-objectstore";
+
+  private MuleContext muleContext;
+  private File storeDirectory;
+  private final Map<String, IndexedPersistentObjectStorePartition<T>> partitionsByName = new ConcurrentHashMap<>();
+  private boolean initialized = false;
+
+  public PartitionedIndexedPersistentObjectStore() {
+    super();
+  }
+
+  public PartitionedIndexedPersistentObjectStore(MuleContext context) {
+    super();
+    muleContext = context;
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    if (!initialized) {
+      initObjectStoreDirectory();
+      loadPreviousStoredPartitions();
+      if (!partitionsByName.containsKey(DEFAULT_PARTITION)) {
+        createPartition(DEFAULT_PARTITION);
+      }
+      initialized = true;
+    }
+  }
+
+  @Override
+  public synchronized void open(String partitionName) throws ObjectStoreException {
+    open();
+    if (!partitionsByName.containsKey(partitionName)) {
+      createPartition(partitionName);
+    }
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {}
+
+  private void createPartition(String partitionName) throws ObjectStoreException {
+    IndexedPersistentObjectStorePartition<T> partition =
+        new IndexedPersistentObjectStorePartition<>(muleContext, partitionName, new File(storeDirectory, UUID.getUUID()));
+    partition.open();
+    partitionsByName.put(partitionName, partition);
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public boolean contains(Serializable key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).contains(key.toString());
+  }
+
+  @Override
+  public void store(Serializable key, T value, String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).store(key.toString(), value);
+  }
+
+  @Override
+  public T retrieve(Serializable key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).retrieve(key.toString());
+  }
+
+  @Override
+  public T remove(Serializable key, String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).remove(key.toString());
+  }
+
+  @Override
+  public List<Serializable> allKeys(String partitionName) throws ObjectStoreException {
+    return getPartitionObjectStore(partitionName).allKeys();
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).clear();
+  }
+
+  private IndexedPersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+    IndexedPersistentObjectStorePartition<T> partition = partitionsByName.get(partitionName);
+    if (partition == null) {
+      throw new ObjectStoreException(createStaticMessage("No partition named: " + partitionName));
+    }
+    return partition;
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    return new ArrayList<>(partitionsByName.keySet());
+  }
+
+  private void initObjectStoreDirectory() {
+    if (storeDirectory == null) {
+      String workingDirectory = muleContext.getConfiguration().getWorkingDirectory();
+      storeDirectory = FileUtils.newFile(workingDirectory + File.separator + OBJECT_STORE_DIR);
+      if (!storeDirectory.exists() && !storeDirectory.mkdirs()) {
+        throw new MuleRuntimeException(failedToCreate("object store directory " + storeDirectory.getAbsolutePath()));
+      }
+    }
+  }
+
+  private void loadPreviousStoredPartitions() {
+    File[] directories = storeDirectory.listFiles((FileFilter) file -> file.isDirectory());
+    if (directories == null) {
+      return;
+    }
+    for (File partitionDirectory : directories) {
+      try {
+        IndexedPersistentObjectStorePartition<T> partition =
+            new IndexedPersistentObjectStorePartition<>(muleContext, partitionDirectory);
+        partition.open();
+        partitionsByName.put(partition.getPartitionName(), partition);
+      } catch (Exception e) {
+        logger.error("Could not restore partition under directory " + partitionDirectory.getAbsolutePath(), e);
+      }
+    }
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    muleContext = context;
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION);
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    clear(partitionName);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    getPartitionObjectStore(partitionName).expire(entryTTL, maxEntries);
+  }
+
+  /**
+   * Closes all the partitions, persisting their key indexes so they can be quickly opened again.
+   */
+  @Override
+  public synchronized void dispose() {
+    for (IndexedPersistentObjectStorePartition<T> partition : partitionsByName.values()) {
+      try {
+        partition.close();
+      } catch (ObjectStoreException e) {
+        logger.warn("Could not close object store partition " + partition.getPartitionName(), e);
+      }
+    }
+    partitionsByName.clear();
+    initialized = false;
+  }
+}
@@ -6,15 +6,20 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_DYNAMIC_CONFIG_CACHE_MAX_SIZE;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_DYNAMIC_CONFIG_CACHE_MIN_IDLE_MILLIS;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
-import static org.mule.runtime.core.api.util.collection.Collectors.toImmutableList;
 import static org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvingContext.from;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.connection.ConnectionProvider;
@@ -27,23 +32,31 @@ import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.time.TimeSupplier;
 import org.mule.runtime.core.api.util.Pair;
 import org.mule.runtime.extension.api.runtime.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.ConfigurationProvider;
 import org.mule.runtime.extension.api.runtime.ConfigurationStats;
 import org.mule.runtime.extension.api.runtime.ExpirableConfigurationProvider;
 import org.mule.runtime.extension.api.runtime.ExpirationPolicy;
+import org.mule.runtime.module.extension.internal.runtime.ImmutableExpirationPolicy;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ConnectionProviderValueResolver;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSetResult;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolver;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
 
 import org.slf4j.Logger;
 
@@ -55,6 +68,17 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * The cache is accessed without locking. When many threads request a configuration which is not in the cache yet, only one
+ * of them creates it while the rest wait for it. The cache is bounded to a maximum number of instances, configurable through
+ * the {@code mule.dynamicConfig.cache.maxSize} system property. When that size is exceeded, the least recently used instances
+ * without inflight operations are evicted. Evicted instances are returned by the next invocation to {@link #getExpired()}, so
+ * that they are disposed as the expired ones.
+ * <p>
+ * An instance returned by {@link #get(Object)} is only accounted as inflight once the operation that uses it starts executing.
+ * To avoid evicting it in between, only instances which have not been used for longer than
+ * {@code mule.dynamicConfig.cache.minIdleMillis} (one second by default) are evicted. Thus, the cache may temporarily exceed its
+ * maximum size while all the instances are in use.
  *
  * @since 4.0.0
  */
@@ -62,16 +86,53 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     implements ExpirableConfigurationProvider {
 
   private static final Logger LOGGER = getLogger(DynamicConfigurationProvider.class);
+  private static final int DEFAULT_MAX_CACHE_SIZE = 10000;
+  private static final long DEFAULT_MIN_IDLE_MILLIS = 1000;
 
   private final ConfigurationInstanceFactory configurationInstanceFactory;
   private final ResolverSet resolverSet;
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final int maxCacheSize;
+  private final long minIdleMillis;
+
+  @Inject
+  private TimeSupplier timeSupplier;
+  private ExpirationPolicy minIdlePolicy;
+
+  private final Map<Pair<ResolverSetResult, ResolverSetResult>, CacheEntry> cache = new ConcurrentHashMap<>();
+  /**
+   * The cached entries sorted by their last access tick, so the least recently used ones come first
+   */
+  private final ConcurrentNavigableMap<Long, CacheEntry> accessOrder = new ConcurrentSkipListMap<>();
+  private final Queue<ConfigurationInstance> evicted = new ConcurrentLinkedQueue<>();
+  private final AtomicLong accessClock = new AtomicLong();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+
+  /**
+   * Creates a new instance
+   *
+   * @param name this provider's name
+   * @param extensionModel the model that owns the {@code configurationModel}
+   * @param configurationModel the model for the returned configurations
+   * @param resolverSet the {@link ResolverSet} that provides the configuration's parameter values
+   * @param connectionProviderResolver a {@link ValueResolver} used to obtain a {@link ConnectionProvider}
+   * @param expirationPolicy the {@link ExpirationPolicy} for the unused instances
+   */
+  public DynamicConfigurationProvider(String name,
+                                      ExtensionModel extensionModel,
+                                      ConfigurationModel configurationModel,
+                                      ResolverSet resolverSet,
+                                      ConnectionProviderValueResolver connectionProviderResolver,
+                                      ExpirationPolicy expirationPolicy,
+                                      MuleContext muleContext) {
+    this(name, extensionModel, configurationModel, resolverSet, connectionProviderResolver, expirationPolicy,
+         getInteger(MULE_DYNAMIC_CONFIG_CACHE_MAX_SIZE, DEFAULT_MAX_CACHE_SIZE),
+         getLong(MULE_DYNAMIC_CONFIG_CACHE_MIN_IDLE_MILLIS, DEFAULT_MIN_IDLE_MILLIS), muleContext);
+  }
 
   /**
    * Creates a new instance
@@ -82,6 +143,8 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
    * @param resolverSet the {@link ResolverSet} that provides the configuration's parameter values
    * @param connectionProviderResolver a {@link ValueResolver} used to obtain a {@link ConnectionProvider}
    * @param expirationPolicy the {@link ExpirationPolicy} for the unused instances
+   * @param maxCacheSize the maximum amount of instances to keep in the cache
+   * @param minIdleMillis the minimum amount of milliseconds an instance has to be unused before it can be evicted
    */
   public DynamicConfigurationProvider(String name,
                                       ExtensionModel extensionModel,
@@ -89,8 +152,14 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
                                       ResolverSet resolverSet,
                                       ConnectionProviderValueResolver connectionProviderResolver,
                                       ExpirationPolicy expirationPolicy,
+                                      int maxCacheSize,
+                                      long minIdleMillis,
                                       MuleContext muleContext) {
     super(name, extensionModel, configurationModel, muleContext);
+    checkArgument(maxCacheSize > 0, "maxCacheSize must be greater than zero");
+    checkArgument(minIdleMillis >= 0, "minIdleMillis cannot be negative");
+    this.maxCacheSize = maxCacheSize;
+    this.minIdleMillis = minIdleMillis;
     configurationInstanceFactory =
         new ConfigurationInstanceFactory<>(extensionModel, configurationModel, resolverSet, muleContext);
     this.resolverSet = resolverSet;
@@ -119,36 +188,111 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, Event event)
       throws Exception {
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
-    try {
-      configuration = cache.get(resolverSetResult);
+    while (true) {
+      CacheEntry entry = cache.get(resolverSetResult);
+      if (entry == null) {
+        CacheEntry newEntry = new CacheEntry(resolverSetResult, accessClock.incrementAndGet());
+        entry = cache.putIfAbsent(resolverSetResult, newEntry);
+        if (entry == null) {
+          missCount.incrementAndGet();
+          return createCachedConfiguration(resolverSetResult, newEntry, event);
+        }
+      }
+
+      // waits in case the configuration is still being created by another thread
+      ConfigurationInstance configuration = entry.configuration.join();
+
+      // the usage is accounted only if the entry was not evicted in the meantime. Otherwise, try again
       if (configuration != null) {
-        // important to account between the boundaries of the lock to prevent race condition
-        updateUsageStatistic(configuration);
-        return configuration;
+        final long tick = accessClock.incrementAndGet();
+        final long previousTick = entry.acquire(tick);
+        if (previousTick != CacheEntry.EVICTED) {
+          // the last usage is updated before the entry is reachable through its new tick, so it's never seen as idle
+          updateUsageStatistic(configuration);
+          accessOrder.remove(previousTick, entry);
+          accessOrder.put(tick, entry);
+          // a concurrent acquisition may have removed the previous tick before it was put, so it's not left behind
+          if (entry.lastAccess.get() != tick) {
+            accessOrder.remove(tick, entry);
+          }
+          hitCount.incrementAndGet();
+          return configuration;
+        }
       }
-    } finally {
-      cacheReadLock.unlock();
     }
+  }
 
-    cacheWriteLock.lock();
+  private ConfigurationInstance createCachedConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult,
+                                                          CacheEntry entry, Event event)
+      throws Exception {
+    ConfigurationInstance configuration = null;
     try {
-      // re-check in case some other thread beat us to it...
-      configuration = cache.get(resolverSetResult);
+      configuration = createConfiguration(resolverSetResult.getFirst(), event);
+      updateUsageStatistic(configuration);
+    } finally {
       if (configuration == null) {
-        configuration = createConfiguration(resolverSetResult.getFirst(), event);
-        cache.put(resolverSetResult, configuration);
+        cache.remove(resolverSetResult, entry);
+      } else {
+        accessOrder.put(entry.lastAccess.get(), entry);
       }
+      // threads waiting for a failed creation will try again
+      entry.configuration.complete(configuration);
+    }
 
-      // accounting here for the same reasons as above
-      updateUsageStatistic(configuration);
-      return configuration;
-    } finally {
-      cacheWriteLock.unlock();
+    evictIfNeeded();
+    return configuration;
+  }
+
+  /**
+   * Evicts the least recently used idle instances until the cache size is within its bounds.
+   */
+  private void evictIfNeeded() {
+    while (cache.size() > maxCacheSize) {
+      if (!evictLeastRecentlyUsed()) {
+        // all the cached instances are in use
+        return;
+      }
     }
   }
 
+  private boolean evictLeastRecentlyUsed() {
+    for (Map.Entry<Long, CacheEntry> candidate : accessOrder.entrySet()) {
+      final CacheEntry entry = candidate.getValue();
+      if (candidate.getKey() != entry.lastAccess.get()) {
+        // the entry was acquired again or evicted since it was indexed with this tick
+        accessOrder.remove(candidate.getKey(), entry);
+        continue;
+      }
+      final ConfigurationInstance configuration = entry.configuration.getNow(null);
+      // the tick in the index may be stale if the entry is being acquired, in which case the eviction fails
+      if (configuration != null && isIdle(configuration) && entry.evict(candidate.getKey())) {
+        remove(entry, candidate.getKey());
+        evicted.add(configuration);
+        evictionCount.incrementAndGet();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isIdle(ConfigurationInstance configuration) {
+    ConfigurationStats stats = configuration.getStatistics();
+    return stats.getInflightOperations() == 0 && getMinIdlePolicy().isExpired(stats.getLastUsedMillis(), MILLISECONDS);
+  }
+
+  private ExpirationPolicy getMinIdlePolicy() {
+    if (minIdlePolicy == null) {
+      minIdlePolicy = new ImmutableExpirationPolicy(minIdleMillis, MILLISECONDS,
+                                                    timeSupplier != null ? timeSupplier : new TimeSupplier());
+    }
+    return minIdlePolicy;
+  }
+
+  private void remove(CacheEntry entry, long lastAccess) {
+    cache.remove(entry.key, entry);
+    accessOrder.remove(lastAccess, entry);
+  }
+
   private void updateUsageStatistic(ConfigurationInstance configuration) {
     MutableConfigurationStats stats = (MutableConfigurationStats) configuration.getStatistics();
     stats.updateLastUsed();
@@ -200,17 +344,33 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     super.registerConfiguration(configuration);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned list also contains the instances evicted because the cache exceeded its maximum size.
+   */
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+    // instances which were not idle enough when the cache size was exceeded may be evicted now
+    evictIfNeeded();
+
+    final List<ConfigurationInstance> expired = new ArrayList<>();
+    ConfigurationInstance evictedConfiguration;
+    while ((evictedConfiguration = evicted.poll()) != null) {
+      expired.add(evictedConfiguration);
     }
+
+    cache.forEach((key, entry) -> {
+      // the access needs to be read before checking the expiration so that any concurrent usage prevents the eviction
+      final long lastAccess = entry.lastAccess.get();
+      final ConfigurationInstance configuration = entry.configuration.getNow(null);
+      if (configuration != null && isExpired(configuration) && entry.evict(lastAccess)) {
+        remove(entry, lastAccess);
+        expired.add(configuration);
+      }
+    });
+
+    return unmodifiableList(expired);
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -218,6 +378,34 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     return stats.getInflightOperations() == 0 && expirationPolicy.isExpired(stats.getLastUsedMillis(), MILLISECONDS);
   }
 
+  /**
+   * @return the amount of configuration instances currently in the cache
+   */
+  public long getCacheSize() {
+    return cache.size();
+  }
+
+  /**
+   * @return the amount of times a cached configuration instance was returned
+   */
+  public long getCacheHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * @return the amount of times a new configuration instance had to be created
+   */
+  public long getCacheMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return the amount of configuration instances evicted because the cache exceeded its maximum size
+   */
+  public long getCacheEvictionCount() {
+    return evictionCount.get();
+  }
+
   @Override
   protected void doInitialise() {
     try {
@@ -233,4 +421,44 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     super.start();
     startIfNeeded(connectionProviderResolver);
   }
+
+  /**
+   * A cached configuration instance, which may still be under creation.
+   * <p>
+   * {@link #lastAccess} holds the tick of the last time the instance was acquired, or {@link #EVICTED}. Since each tick is
+   * unique, an eviction only succeeds if no thread acquired the instance since the eviction candidate was selected, and no
+   * thread can acquire the instance once it's evicted. The tick is also the key of the entry in {@link #accessOrder}.
+   */
+  private static final class CacheEntry {
+
+    private static final long EVICTED = -1;
+
+    private final Pair<ResolverSetResult, ResolverSetResult> key;
+    private final CompletableFuture<ConfigurationInstance> configuration = new CompletableFuture<>();
+    private final AtomicLong lastAccess;
+
+    private CacheEntry(Pair<ResolverSetResult, ResolverSetResult> key, long tick) {
+      this.key = key;
+      lastAccess = new AtomicLong(tick);
+    }
+
+    /**
+     * @return the previous tick, or {@link #EVICTED} if the entry was evicted and could not be acquired
+     */
+    private long acquire(long tick) {
+      long current;
+      do {
+        current = lastAccess.get();
+        if (current == EVICTED) {
+          return EVICTED;
+        }
+      } while (!lastAccess.compareAndSet(current, tick));
+
+      return current;
+    }
+
+    private boolean evict(long expectedAccess) {
+      return lastAccess.compareAndSet(expectedAccess, EVICTED);
+    }
+  }
 }
@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.execution;
 
+import static java.lang.Thread.currentThread;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isStatic;
 import static org.apache.commons.lang3.ArrayUtils.isEmpty;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -26,7 +30,9 @@ import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
 import org.mule.runtime.module.extension.internal.runtime.operation.ReflectiveMethodOperationExecutor;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +42,10 @@ import org.slf4j.Logger;
 
 /**
  * Executes a task associated to a {@link ExecutionContext} by invoking a given {@link Method}
+ * <p>
+ * The {@link Method} is invoked through a {@link MethodHandle} bound to the component instance, which is created when this
+ * executor is created. Only if such handle cannot be obtained the {@link Method} is invoked reflectively. The context
+ * {@link ClassLoader} is only switched to the extension's when it isn't already the current one.
  *
  * @param <M> the generic type of the associated {@link ComponentModel}
  * @since 4.0
@@ -57,6 +67,9 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
   private static final ArgumentResolverDelegate NO_ARGS_DELEGATE = new NoArgumentsResolverDelegate();
 
   private final Method method;
+  private final MethodHandle methodHandle;
+  private final Class<?>[] parameterTypes;
+  private final String[] parameterNames;
   private final Object componentInstance;
   private final ArgumentResolverDelegate argumentResolverDelegate;
   private final ClassLoader extensionClassLoader;
@@ -67,16 +80,57 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
                                            Object componentInstance) {
     this.method = method;
     this.componentInstance = componentInstance;
-    argumentResolverDelegate = isEmpty(method.getParameterTypes())
+    this.methodHandle = createMethodHandle(method, componentInstance);
+    this.parameterTypes = method.getParameterTypes();
+    this.parameterNames = new String[parameterTypes.length];
+    for (int i = 0; i < parameterNames.length; ++i) {
+      parameterNames[i] = method.getParameters()[i].getName();
+    }
+    argumentResolverDelegate = isEmpty(parameterTypes)
         ? NO_ARGS_DELEGATE
         : new MethodArgumentResolverDelegate(parameterGroupModels, method);
     extensionClassLoader = method.getDeclaringClass().getClassLoader();
   }
 
+  private static MethodHandle createMethodHandle(Method method, Object componentInstance) {
+    try {
+      MethodHandle handle = lookup().unreflect(method).asFixedArity();
+      if (!isStatic(method.getModifiers())) {
+        handle = handle.bindTo(componentInstance);
+      }
+      return handle.asSpreader(Object[].class, method.getParameterCount()).asType(methodType(Object.class, Object[].class));
+    } catch (IllegalAccessException | ClassCastException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not create a method handle for " + method + ", it will be invoked through reflection", e);
+      }
+      return null;
+    }
+  }
+
   public Object execute(ExecutionContext<M> executionContext) throws Exception {
+    if (currentThread().getContextClassLoader() == extensionClassLoader) {
+      return invoke(getParameterValues(executionContext, parameterTypes));
+    }
     return withContextClassLoader(extensionClassLoader,
-                                  () -> invokeMethod(method, componentInstance,
-                                                     getParameterValues(executionContext, method.getParameterTypes())));
+                                  () -> invoke(getParameterValues(executionContext, parameterTypes)));
+  }
+
+  /**
+   * Invokes the {@link #method} with the given {@code arguments}. Checked exceptions thrown by the method are wrapped in an
+   * {@link UndeclaredThrowableException}, same as when invoking it reflectively.
+   */
+  private Object invoke(Object[] arguments) {
+    if (methodHandle == null) {
+      return invokeMethod(method, componentInstance, arguments);
+    }
+
+    try {
+      return (Object) methodHandle.invokeExact(arguments);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new UndeclaredThrowableException(t);
+    }
   }
 
   private Object[] getParameterValues(ExecutionContext<M> executionContext, Class<?>[] parameterTypes) {
@@ -114,17 +168,20 @@ public class ReflectiveMethodComponentExecutor<M extends ComponentModel>
   @Override
   public Function<ExecutionContext<OperationModel>, Map<String, Object>> createArgumentResolver(OperationModel operationModel) {
     return ec -> {
-      return withContextClassLoader(extensionClassLoader,
-                                    () -> {
-                                      final Object[] resolved =
-                                          getParameterValues((ExecutionContext<M>) ec, method.getParameterTypes());
-
-                                      final Map<String, Object> resolvedParams = new HashMap<>();
-                                      for (int i = 0; i < method.getParameterCount(); ++i) {
-                                        resolvedParams.put(method.getParameters()[i].getName(), resolved[i]);
-                                      }
-                                      return resolvedParams;
-                                    });
+      if (currentThread().getContextClassLoader() == extensionClassLoader) {
+        return resolveArguments((ExecutionContext<M>) ec);
+      }
+      return withContextClassLoader(extensionClassLoader, () -> resolveArguments((ExecutionContext<M>) ec));
     };
   }
+
+  private Map<String, Object> resolveArguments(ExecutionContext<M> executionContext) {
+    final Object[] resolved = getParameterValues(executionContext, parameterTypes);
+
+    final Map<String, Object> resolvedParams = new HashMap<>();
+    for (int i = 0; i < parameterNames.length; ++i) {
+      resolvedParams.put(parameterNames[i], resolved[i]);
+    }
+    return resolvedParams;
+  }
 }
@@ -130,13 +130,20 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     return ImmutableMap.copyOf(resolvers);
   }
 
+  /**
+   * Initialises the added {@link ValueResolver}s. Since some of them may find out they are not dynamic once initialised, this
+   * set may stop being {@link #isDynamic() dynamic} after this method is invoked.
+   */
   public void initialise() {
 
     try {
+      boolean dynamic = false;
       for (ValueResolver valueResolver : resolvers.values()) {
         muleContext.getInjector().inject(valueResolver);
         LifecycleUtils.initialiseIfNeeded(valueResolver);
+        dynamic |= valueResolver.isDynamic();
       }
+      this.dynamic = dynamic;
     } catch (MuleException e) {
       throw new MuleRuntimeException(e);
     }
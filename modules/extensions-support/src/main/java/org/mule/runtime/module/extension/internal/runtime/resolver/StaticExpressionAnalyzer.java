@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.resolver;
+
+import static java.lang.Character.isDigit;
+import static java.lang.Character.isJavaIdentifierPart;
+import static java.lang.Character.isJavaIdentifierStart;
+import static java.lang.Character.isWhitespace;
+import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_POSTFIX;
+import static org.mule.runtime.core.api.el.ExpressionManager.DEFAULT_EXPRESSION_PREFIX;
+import static org.mule.runtime.core.el.DefaultExpressionManager.DW_PREFIX;
+import static org.mule.runtime.core.el.DefaultExpressionManager.PREFIX_EXPR_SEPARATOR;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+
+/**
+ * Conservative analysis of expressions which detects those whose result doesn't depend on the event they are evaluated with, so
+ * that they can be evaluated only once when the application is deployed.
+ * <p>
+ * An expression is considered static when it's a single DataWeave expression which only references literals, the operators of
+ * the language and the members of the {@code app}, {@code server} and {@code mule} global bindings, without invoking any
+ * function. Members of those bindings which change over time, like {@code server.dateTime}, make the expression dynamic. Any
+ * construct the analysis doesn't understand makes the expression dynamic as well.
+ *
+ * @since 4.0
+ */
+final class StaticExpressionAnalyzer {
+
+  private static final Set<String> STATIC_BINDINGS = ImmutableSet.of("app", "server", "mule");
+  private static final Set<String> KEYWORDS =
+      ImmutableSet.of("true", "false", "null", "and", "or", "not", "if", "else", "as", "is", "String", "Number", "Boolean");
+  private static final Set<String> DYNAMIC_MEMBERS = ImmutableSet.of("dateTime", "nanoTime", "registry");
+  private static final String OPERATORS = "+-*/<>=!.,()[]{}:?~&|";
+
+  private StaticExpressionAnalyzer() {}
+
+  /**
+   * @param expression the expression to analyze
+   * @return whether the result of evaluating {@code expression} is the same for every event
+   */
+  static boolean isStatic(String expression) {
+    if (expression == null) {
+      return false;
+    }
+
+    String script = expression.trim();
+    if (!script.startsWith(DEFAULT_EXPRESSION_PREFIX) || !script.endsWith(DEFAULT_EXPRESSION_POSTFIX)) {
+      return false;
+    }
+    script = script.substring(DEFAULT_EXPRESSION_PREFIX.length(), script.length() - DEFAULT_EXPRESSION_POSTFIX.length()).trim();
+    if (script.contains(DEFAULT_EXPRESSION_PREFIX)) {
+      // a template with several expressions
+      return false;
+    }
+    if (script.startsWith(DW_PREFIX + PREFIX_EXPR_SEPARATOR)) {
+      script = script.substring((DW_PREFIX + PREFIX_EXPR_SEPARATOR).length());
+    }
+
+    return !script.trim().isEmpty() && isStaticScript(script);
+  }
+
+  private static boolean isStaticScript(String script) {
+    boolean member = false;
+    int i = 0;
+    while (i < script.length()) {
+      char c = script.charAt(i);
+      if (isWhitespace(c)) {
+        i++;
+      } else if (c == '"' || c == '\'') {
+        i = skipString(script, i);
+        if (i < 0) {
+          return false;
+        }
+        member = false;
+      } else if (isDigit(c)) {
+        while (i < script.length() && (isJavaIdentifierPart(script.charAt(i)) || script.charAt(i) == '.')) {
+          i++;
+        }
+        member = false;
+      } else if (isJavaIdentifierStart(c) && c != '$') {
+        int start = i;
+        while (i < script.length() && isJavaIdentifierPart(script.charAt(i)) && script.charAt(i) != '$') {
+          i++;
+        }
+        String identifier = script.substring(start, i);
+        boolean keyword = KEYWORDS.contains(identifier);
+        if (member ? DYNAMIC_MEMBERS.contains(identifier) : !(keyword || STATIC_BINDINGS.contains(identifier))) {
+          return false;
+        }
+        if (!keyword && nextSignificantChar(script, i) == '(') {
+          // function invocation
+          return false;
+        }
+        member = false;
+      } else if (OPERATORS.indexOf(c) >= 0) {
+        member = c == '.';
+        i++;
+      } else {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the position after the closing quote of the string literal starting at {@code start}, or {@code -1} if it is not
+   *         closed or it contains an interpolation
+   */
+  private static int skipString(String script, int start) {
+    char quote = script.charAt(start);
+    int i = start + 1;
+    while (i < script.length()) {
+      char c = script.charAt(i);
+      if (c == '\\') {
+        i += 2;
+      } else if (c == '$') {
+        return -1;
+      } else if (c == quote) {
+        return i + 1;
+      } else {
+        i++;
+      }
+    }
+    return -1;
+  }
+
+  private static char nextSignificantChar(String script, int start) {
+    for (int i = start; i < script.length(); i++) {
+      if (!isWhitespace(script.charAt(i))) {
+        return script.charAt(i);
+      }
+    }
+    return 0;
+  }
+}
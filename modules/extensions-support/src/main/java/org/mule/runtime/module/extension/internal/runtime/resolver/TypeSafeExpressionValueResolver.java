@@ -8,18 +8,27 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.mule.metadata.java.api.utils.JavaTypeUtils.getType;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.module.extension.internal.runtime.resolver.StaticExpressionAnalyzer.isStatic;
 import static org.mule.runtime.module.extension.internal.util.IntrospectionUtils.toDataType;
+import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.metadata.api.model.MetadataType;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.TransformationService;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.util.AttributeEvaluator;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+
 /**
  * A {@link ValueResolver} which evaluates expressions and tries to ensure that the output is always of a certain type.
  * <p>
@@ -28,16 +37,24 @@ import javax.inject.Inject;
  * <p>
  * It resolves the expressions by making use of the {@link AttributeEvaluator} so that it's compatible with simple
  * expressions and templates alike
+ * <p>
+ * Expressions which don't depend on the event, as detected by {@link StaticExpressionAnalyzer}, are evaluated once on
+ * {@link #initialise()} and resolved as a {@link StaticValueResolver} from then on, in which case this resolver is no longer
+ * {@link #isDynamic() dynamic}. This only applies when the obtained value is immutable, since a shared collection, map or bean
+ * could otherwise be modified by one event and leak into the next.
  *
  * @param <T>
  * @since 3.7.0
  */
 public class TypeSafeExpressionValueResolver<T> implements ValueResolver<T>, Initialisable {
 
+  private static final Logger LOGGER = getLogger(TypeSafeExpressionValueResolver.class);
+
   private final MetadataType expectedMetadataType;
   private final Class<T> expectedType;
   private final String expression;
   private TypeSafeValueResolverWrapper<T> delegate;
+  private boolean dynamic = true;
 
   @Inject
   private TransformationService transformationService;
@@ -58,22 +75,63 @@ public class TypeSafeExpressionValueResolver<T> implements ValueResolver<T>, Ini
   }
 
   /**
-   * @return {@code true}
+   * @return {@code false} if the expression was found not to depend on the event on {@link #initialise()}, {@code true}
+   *         otherwise
    */
   @Override
   public boolean isDynamic() {
-    return true;
+    return dynamic;
   }
 
   @Override
   public void initialise() throws InitialisationException {
-    ExpressionValueResolver resolver = new ExpressionValueResolver(expression, toDataType(expectedMetadataType));
-    resolver.setExtendedExpressionManager(extendedExpressionManager);
+    final DataType expectedDataType = toDataType(expectedMetadataType);
+    ValueResolver resolver = isStatic(expression) ? resolveStatic(expectedDataType) : null;
+    dynamic = resolver == null;
+    if (dynamic) {
+      ExpressionValueResolver expressionResolver = new ExpressionValueResolver(expression, expectedDataType);
+      expressionResolver.setExtendedExpressionManager(extendedExpressionManager);
+      resolver = expressionResolver;
+    }
+
     delegate = new TypeSafeValueResolverWrapper<>(resolver, expectedType);
     delegate.setTransformationService(transformationService);
     delegate.initialise();
   }
 
+  /**
+   * Evaluates the expression without an event.
+   *
+   * @return a {@link StaticValueResolver} for the result, or {@code null} if it failed or it produced a value which is not
+   *         {@link #isImmutable(Object) immutable}
+   */
+  private ValueResolver resolveStatic(DataType expectedDataType) {
+    try {
+      Object value = new AttributeEvaluator(expression, expectedDataType).initialize(extendedExpressionManager)
+          .resolveValue(null);
+      if (!isImmutable(value)) {
+        return null;
+      }
+      return new StaticValueResolver<>(value);
+    } catch (RuntimeException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Could not pre-resolve expression '" + expression + "', it will be evaluated for each event", e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * @return whether {@code value} can be safely shared across events. Streams, iterators, arrays, collections, maps and any
+   *         other object not known to be immutable are not.
+   */
+  private static boolean isImmutable(Object value) {
+    return value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+        || value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long
+        || value instanceof Float || value instanceof Double || value instanceof BigInteger || value instanceof BigDecimal
+        || value instanceof Enum || value instanceof TemporalAccessor;
+  }
+
   public void setTransformationService(TransformationService transformationService) {
     this.transformationService = transformationService;
   }
@@ -9,6 +9,7 @@ package org.mule.runtime.module.extension.internal.runtime.config;
 import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
@@ -65,6 +66,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 public class DynamicConfigurationProviderTestCase extends AbstractConfigurationProviderTestCase<HeisenbergExtension> {
 
   private static final Class MODULE_CLASS = HeisenbergExtension.class;
+  private static final long MIN_IDLE_MILLIS = 1000;
 
   @Rule
   public ExpectedException expected = none();
@@ -191,6 +193,96 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(configs, containsInAnyOrder(instance1, instance2));
   }
 
+  @Test
+  public void evictLeastRecentlyUsedWhenMaxCacheSizeExceeded() throws Exception {
+    createBoundedProvider();
+
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance1)));
+    timeSupplier.move(2, SECONDS);
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCacheSize(), is(1L));
+    assertThat(provider.getCacheHitCount(), is(1L));
+    assertThat(provider.getCacheMissCount(), is(2L));
+    assertThat(provider.getCacheEvictionCount(), is(1L));
+
+    List<Object> evicted = provider.getExpired().stream().map(config -> config.getValue()).collect(toImmutableList());
+    assertThat(evicted, containsInAnyOrder(instance1));
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance2)));
+  }
+
+  @Test
+  public void inflightInstancesAreNotEvicted() throws Exception {
+    createBoundedProvider();
+
+    ConfigurationInstance instance1 = provider.get(event);
+    ((MutableConfigurationStats) instance1.getStatistics()).addInflightOperation();
+    timeSupplier.move(2, SECONDS);
+    makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCacheEvictionCount(), is(0L));
+    assertThat(provider.getExpired().contains(instance1), is(false));
+  }
+
+  @Test
+  public void recentlyUsedInstancesAreNotEvicted() throws Exception {
+    createBoundedProvider();
+
+    // the operation using instance1 is not accounted as inflight yet
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCacheEvictionCount(), is(0L));
+    assertThat(provider.getCacheSize(), is(2L));
+    assertThat(provider.getExpired().isEmpty(), is(true));
+
+    // once idle, the least recently used one is evicted
+    timeSupplier.move(2, SECONDS);
+    List<Object> evicted = provider.getExpired().stream().map(config -> config.getValue()).collect(toImmutableList());
+    assertThat(evicted, containsInAnyOrder(instance1));
+    assertThat(provider.getCacheSize(), is(1L));
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance2)));
+  }
+
+  @Test
+  public void evictInAccessOrder() throws Exception {
+    createBoundedProvider(2);
+
+    ResolverSetResult firstResult = resolverSetResult;
+    HeisenbergExtension instance1 = (HeisenbergExtension) provider.get(event).getValue();
+    HeisenbergExtension instance2 = makeAlternateInstance();
+
+    // instance1 becomes the most recently used one
+    when(resolverSet.resolve(from(event))).thenReturn(firstResult);
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance1)));
+
+    timeSupplier.move(2, SECONDS);
+    makeAlternateInstance();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCacheEvictionCount(), is(1L));
+    List<Object> evicted = provider.getExpired().stream().map(config -> config.getValue()).collect(toImmutableList());
+    assertThat(evicted, containsInAnyOrder(instance2));
+  }
+
+  private void createBoundedProvider() throws Exception {
+    createBoundedProvider(1);
+  }
+
+  private void createBoundedProvider(int maxCacheSize) throws Exception {
+    after();
+    provider = new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
+                                                connectionProviderResolver, expirationPolicy, maxCacheSize, MIN_IDLE_MILLIS,
+                                                muleContext);
+    muleContext.getInjector().inject(provider);
+    provider.initialise();
+    provider.start();
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     mockConfigurationInstance(configurationModel, MODULE_CLASS.newInstance());
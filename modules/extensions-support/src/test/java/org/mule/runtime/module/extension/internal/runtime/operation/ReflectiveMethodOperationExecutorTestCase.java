@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.operation;
 
+import static java.lang.Thread.currentThread;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.of;
 import static org.hamcrest.CoreMatchers.is;
@@ -46,6 +47,8 @@ import org.mule.test.heisenberg.extension.HeisenbergExtension;
 import org.mule.test.heisenberg.extension.HeisenbergOperations;
 
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -190,6 +193,22 @@ public class ReflectiveMethodOperationExecutorTestCase extends AbstractMuleTestC
     execute();
   }
 
+  @Test
+  public void executedWithExtensionClassLoader() throws Exception {
+    Method method = ClassUtils.getMethod(PrimitiveTypesTestOperations.class, "contextClassLoader", new Class<?>[] {});
+    executor = new ReflectiveMethodOperationExecutor(operationModel, method, primitiveTypesTestOperations);
+    executor.setMuleContext(muleContext);
+
+    final ClassLoader extensionClassLoader = PrimitiveTypesTestOperations.class.getClassLoader();
+    assertThat(execute(), is(sameInstance(extensionClassLoader)));
+
+    final ClassLoader otherClassLoader = new URLClassLoader(new URL[0], null);
+    ClassUtils.withContextClassLoader(otherClassLoader, () -> {
+      assertThat(execute(), is(sameInstance(extensionClassLoader)));
+      assertThat(currentThread().getContextClassLoader(), is(sameInstance(otherClassLoader)));
+    });
+  }
+
   private void initHeisenberg() {
     config = new HeisenbergExtension();
     config.getPersonalInfo().setName(HEISENBERG);
@@ -248,6 +267,10 @@ public class ReflectiveMethodOperationExecutorTestCase extends AbstractMuleTestC
       assertThat(value, is(booleanValue));
     }
 
+    public ClassLoader contextClassLoader() {
+      return currentThread().getContextClassLoader();
+    }
+
     public void allCombined(@org.mule.runtime.extension.api.annotation.param.Optional char charValue,
                             @org.mule.runtime.extension.api.annotation.param.Optional byte byteValue,
                             @org.mule.runtime.extension.api.annotation.param.Optional short shortValue,
@@ -9,11 +9,13 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.getParameter;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.api.meta.model.parameter.ParameterModel;
 import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.Injector;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -100,6 +102,19 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     assertThat(set.isDynamic(), is(true));
   }
 
+  @Test
+  public void notDynamicOnceInitialised() throws Exception {
+    ValueResolver resolver = getResolver(null);
+    when(resolver.isDynamic()).thenReturn(true, false);
+    when(muleContext.getInjector()).thenReturn(mock(Injector.class));
+
+    set.add("whatever", resolver);
+    assertThat(set.isDynamic(), is(true));
+
+    set.initialise();
+    assertThat(set.isDynamic(), is(false));
+  }
+
   private void assertResult(ResolverSetResult result, Map<ParameterModel, ValueResolver> mapping) throws Exception {
     assertThat(result, is(notNullValue()));
     for (Map.Entry<ParameterModel, ValueResolver> entry : mapping.entrySet()) {
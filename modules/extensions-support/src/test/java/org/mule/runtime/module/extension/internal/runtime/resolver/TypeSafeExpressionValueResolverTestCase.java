@@ -8,6 +8,9 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
@@ -20,11 +23,15 @@ import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.message.Message.of;
 import org.mule.metadata.api.model.MetadataType;
 import org.mule.metadata.java.api.JavaTypeLoader;
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.core.api.Event;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
+import java.util.List;
+
 import org.junit.Test;
 import org.mockito.verification.VerificationMode;
 
@@ -33,6 +40,8 @@ public class TypeSafeExpressionValueResolverTestCase extends AbstractMuleContext
   private static final String HELLO_WORLD = "Hello World!";
   private static final MetadataType STRING =
       new JavaTypeLoader(Thread.currentThread().getContextClassLoader()).load(String.class);
+  private static final MetadataType LIST =
+      new JavaTypeLoader(Thread.currentThread().getContextClassLoader()).load(List.class);
 
   private ExtendedExpressionManager expressionManager;
 
@@ -74,6 +83,34 @@ public class TypeSafeExpressionValueResolverTestCase extends AbstractMuleContext
         .resolve(ValueResolvingContext.from(eventBuilder().message(of(HELLO_WORLD)).build())), "true", times(1));
   }
 
+  @Test
+  public void staticExpressionResolvedOnce() throws Exception {
+    ValueResolver<String> resolver = getResolver("#['Hello ' ++ 'World!']", STRING);
+    assertThat(resolver.isDynamic(), is(false));
+
+    assertResolved(resolver.resolve(ValueResolvingContext.from(eventBuilder().message(of("Hello")).build())), HELLO_WORLD,
+                   never());
+    assertResolved(resolver.resolve(ValueResolvingContext.from(eventBuilder().message(of("World!")).build())), HELLO_WORLD,
+                   never());
+    verify(expressionManager, times(1)).evaluate(anyString(), any(DataType.class), any(BindingContext.class), any(Event.class));
+  }
+
+  @Test
+  public void eventDependentExpressionIsDynamic() throws Exception {
+    assertThat(getResolver("#['Hello ' ++ payload]", STRING).isDynamic(), is(true));
+  }
+
+  @Test
+  public void staticExpressionWithMutableValueIsDynamic() throws Exception {
+    ValueResolver<List> resolver = getResolver("#[[1, 2]]", LIST);
+    assertThat(resolver.isDynamic(), is(true));
+
+    List first = resolver.resolve(ValueResolvingContext.from(eventBuilder().message(of(HELLO_WORLD)).build()));
+    List second = resolver.resolve(ValueResolvingContext.from(eventBuilder().message(of(HELLO_WORLD)).build()));
+    assertThat(first, equalTo(second));
+    assertThat(first, not(sameInstance(second)));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void nullExpression() throws Exception {
     getResolver(null, STRING);
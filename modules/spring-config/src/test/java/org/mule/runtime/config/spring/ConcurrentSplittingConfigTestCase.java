@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.spring;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.message.Message.of;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.DefaultEventContext;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.context.DefaultMuleContextFactory;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.tck.config.TestServicesConfigurationBuilder;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Verifies that the {@code maxConcurrency} and {@code preserveOrder} attributes of {@code <foreach>} and {@code <splitter>}
+ * are accepted by the schema and applied to the built processors.
+ */
+public class ConcurrentSplittingConfigTestCase extends AbstractMuleTestCase {
+
+  private static final long PARTS_IN_FLIGHT_TIMEOUT_MILLIS = 5000;
+
+  private static CountDownLatch partsInFlight;
+  private static List<Object> processedPayloads;
+
+  @Rule
+  public TestServicesConfigurationBuilder testServicesConfigurationBuilder = new TestServicesConfigurationBuilder();
+
+  private MuleContext context;
+
+  @Before
+  public void before() throws Exception {
+    partsInFlight = new CountDownLatch(2);
+    processedPayloads = new ArrayList<>();
+
+    SpringXmlConfigurationBuilder builder = new SpringXmlConfigurationBuilder("concurrent-splitting-config.xml");
+    context = new DefaultMuleContextFactory().createMuleContext(testServicesConfigurationBuilder, builder);
+    context.start();
+  }
+
+  @After
+  public void after() {
+    if (context != null && !context.isDisposed()) {
+      context.dispose();
+    }
+  }
+
+  @Test
+  public void concurrentForeach() throws Exception {
+    runFlow("concurrentForeach");
+    assertThat(processedPayloads, containsInAnyOrder((Object) "bar", "zip"));
+  }
+
+  @Test
+  public void concurrentSplitter() throws Exception {
+    runFlow("concurrentSplitter");
+    assertThat(processedPayloads, containsInAnyOrder((Object) "bar", "zip"));
+  }
+
+  private void runFlow(String flowName) throws MuleException {
+    Flow flow = context.getRegistry().lookupObject(flowName);
+    flow.process(Event.builder(DefaultEventContext.create(flow, TEST_CONNECTOR_LOCATION)).message(of(asList("bar", "zip")))
+        .build());
+  }
+
+  /**
+   * Only lets parts through once two of them are being processed at the same time.
+   */
+  public static class PartsInFlightProcessor implements Processor {
+
+    @Override
+    public Event process(Event event) throws MuleException {
+      partsInFlight.countDown();
+      try {
+        if (!partsInFlight.await(PARTS_IN_FLIGHT_TIMEOUT_MILLIS, MILLISECONDS)) {
+          throw new IllegalStateException("Parts are not being processed concurrently");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+
+      synchronized (processedPayloads) {
+        processedPayloads.add(event.getMessage().getPayload().getValue());
+      }
+      return event;
+    }
+  }
+}
@@ -7,10 +7,13 @@
 package org.mule;
 
 import static java.lang.Class.forName;
+import static java.lang.System.setProperty;
 import static java.lang.Thread.sleep;
 import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_PROCESSOR_CHAIN_FUSION;
 import static org.mule.runtime.core.api.construct.Flow.builder;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
 import static org.openjdk.jmh.infra.Blackhole.consumeCPU;
 
 import org.mule.runtime.api.exception.MuleException;
@@ -29,6 +32,8 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
@@ -36,6 +41,18 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import reactor.core.publisher.Mono;
 
+/**
+ * Base class for benchmarks measuring the processing of events through a {@link Flow} with each of the available processing
+ * strategies.
+ * <p>
+ * {@link #processSourceBurst(BurstState)} reports latency percentiles for bursts of events that arrive after the flow has been
+ * idle for a while, which is useful to compare the {@link #waitStrategy} and {@link #shardedSink} options of the stream
+ * processing strategies, i.e. {@code -p waitStrategy=LITE_BLOCKING,ADAPTIVE -p shardedSink=false,true}.
+ * <p>
+ * {@link #processorChainFusion} allows comparing the assembly of processor chains with and without fusing consecutive
+ * processors, i.e. {@code -p processorChainFusion=true,false}. It's applied through a system property that's read once, so it
+ * requires the benchmark to be forked.
+ */
 @State(Scope.Benchmark)
 public abstract class AbstractFlowBenchmark extends AbstractBenchmark {
 
@@ -91,6 +108,7 @@ public abstract class AbstractFlowBenchmark extends AbstractBenchmark {
       "org.mule.runtime.core.processor.strategy.ReactorStreamProcessingStrategyFactory",
       "org.mule.runtime.core.processor.strategy.DefaultFlowProcessingStrategyFactory",
       "org.mule.runtime.core.processor.strategy.TransactionAwareProactorStreamProcessingStrategyFactory",
+      "org.mule.runtime.core.processor.strategy.VirtualThreadProactorStreamProcessingStrategyFactory",
       "org.mule.runtime.core.processor.strategy.WorkQueueProcessingStrategyFactory",
       // Skipping due MULE-12662.
       // "org.mule.runtime.core.processor.strategy.WorkQueueStreamProcessingStrategyFactory",
@@ -106,8 +124,18 @@ public abstract class AbstractFlowBenchmark extends AbstractBenchmark {
   @Param({"10000"})
   public int maxConcurrency;
 
+  @Param({"LITE_BLOCKING"})
+  public String waitStrategy;
+
+  @Param({"false"})
+  public boolean shardedSink;
+
+  @Param({"true"})
+  public boolean processorChainFusion;
+
   @Setup
   public void setup() throws Exception {
+    setProperty(MULE_PROCESSOR_CHAIN_FUSION, String.valueOf(processorChainFusion));
     muleContext = createMuleContextWithServices();
     muleContext.start();
 
@@ -118,6 +146,8 @@ public abstract class AbstractFlowBenchmark extends AbstractBenchmark {
     if (factory instanceof ReactorStreamProcessingStrategyFactory) {
       ((ReactorStreamProcessingStrategyFactory) factory).setBufferSize(bufferSize);
       ((ReactorStreamProcessingStrategyFactory) factory).setSubscriberCount(subscribers);
+      ((ReactorStreamProcessingStrategyFactory) factory).setWaitStrategy(waitStrategy);
+      ((ReactorStreamProcessingStrategyFactory) factory).setShardedSink(shardedSink);
     }
 
 
@@ -156,4 +186,35 @@ public abstract class AbstractFlowBenchmark extends AbstractBenchmark {
     return latch;
   }
 
+  @Benchmark
+  @BenchmarkMode(SampleTime)
+  public CountDownLatch processSourceBurst(BurstState burstState) throws MuleException, InterruptedException {
+    CountDownLatch latch = new CountDownLatch(burstState.burstSize);
+    for (int i = 0; i < burstState.burstSize; i++) {
+      Mono.just(Event.builder(DefaultEventContext.create(flow, CONNECTOR_LOCATION))
+          .message(of(PAYLOAD)).build()).transform(source.getListener()).doOnNext(event -> latch.countDown())
+          .subscribe();
+    }
+    latch.await();
+    return latch;
+  }
+
+  /**
+   * Keeps the flow idle before each burst, without accounting the idle time in the measurements.
+   */
+  @State(Scope.Thread)
+  public static class BurstState {
+
+    @Param({"64"})
+    public int burstSize;
+
+    @Param({"5"})
+    public long idleMillis;
+
+    @Setup(Level.Invocation)
+    public void idle() throws InterruptedException {
+      sleep(idleMillis);
+    }
+  }
+
 }
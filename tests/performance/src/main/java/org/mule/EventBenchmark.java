@@ -34,6 +34,7 @@ public class EventBenchmark extends AbstractBenchmark {
   private Event eventWith10VariablesProperties;
   private Event eventWith50VariablesProperties;
   private Event eventWith100VariablesProperties;
+  private Message message;
 
   @Setup
   public void setup() throws Exception {
@@ -47,7 +48,8 @@ public class EventBenchmark extends AbstractBenchmark {
     event = eventBuilder.build();
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
-    eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(100);
+    message = of(PAYLOAD);
   }
 
   @TearDown
@@ -76,6 +78,24 @@ public class EventBenchmark extends AbstractBenchmark {
     return Event.builder(eventWith100VariablesProperties).build();
   }
 
+  /**
+   * Replaces the message of an event without variables. Run with the GC profiler to obtain the allocations of the event copy
+   * alone, which should be the same as {@link #copyEventWith100VariablesWithNewMessage()}.
+   */
+  @Benchmark
+  public Event copyEventWithNewMessage() {
+    return Event.builder(event).message(message).build();
+  }
+
+  /**
+   * Replaces the message of an event with 100 variables. Run with the GC profiler to verify the variables are shared with the
+   * original event instead of copied.
+   */
+  @Benchmark
+  public Event copyEventWith100VariablesWithNewMessage() {
+    return Event.builder(eventWith100VariablesProperties).message(message).build();
+  }
+
   @Benchmark
   public Event deepCopyEvent() {
     return Event.builder(event).message(Message.builder(event.getMessage()).build()).build();
@@ -6,7 +6,7 @@
  */
 package org.mule;
 
-import static java.util.Collections.singletonList;
+import static java.util.Collections.nCopies;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.core.api.Event;
@@ -15,12 +15,16 @@ import org.mule.runtime.core.api.processor.Processor;
 import java.util.List;
 
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 
 public class FlowNullProcessorBenchmark extends AbstractFlowBenchmark {
 
+  @Param({"1", "20"})
+  public int processorCount;
+
   @Override
   protected List<Processor> getMessageProcessors() {
-    return singletonList(nullProcessor);
+    return nCopies(processorCount, nullProcessor);
   }
 
   @Override
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.api.util.DataUnit.MB;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.streaming.bytes.FileStoreCursorStreamConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares cursors which get copies of the buffered data against cursors which get read-only slices of a memory
+ * mapped buffer file. All threads share the same provider, which has been fully consumed beforehand.
+ */
+@Threads(4)
+@OutputTimeUnit(MILLISECONDS)
+public class FileStoreCursorStreamBenchmark extends AbstractBenchmark {
+
+  private static final int DATA_SIZE = MB.toBytes(64);
+  private static final int READ_SIZE = KB.toBytes(8);
+
+  @Param({"false", "true"})
+  public boolean memoryMapped;
+
+  private PoolingByteBufferManager bufferManager;
+  private CursorStreamProvider streamProvider;
+
+  @Setup
+  public void setup() throws IOException {
+    byte[] data = new byte[DATA_SIZE];
+    new Random().nextBytes(data);
+
+    bufferManager = new PoolingByteBufferManager();
+    streamProvider = new FileStoreCursorStreamProvider(new ByteArrayInputStream(data),
+                                                       new FileStoreCursorStreamConfig(new DataSize(1, MB), memoryMapped),
+                                                       bufferManager);
+
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      readFully(cursor);
+    }
+  }
+
+  @TearDown
+  public void teardown() {
+    streamProvider.close();
+    streamProvider.releaseResources();
+    bufferManager.dispose();
+  }
+
+  @Benchmark
+  public long readFullyWithCursor() throws IOException {
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      return readFully(cursor);
+    }
+  }
+
+  private long readFully(InputStream stream) throws IOException {
+    byte[] dest = new byte[READ_SIZE];
+    long checksum = 0;
+    int read;
+    while ((read = stream.read(dest, 0, READ_SIZE)) > 0) {
+      checksum += dest[read - 1];
+    }
+
+    return checksum;
+  }
+}
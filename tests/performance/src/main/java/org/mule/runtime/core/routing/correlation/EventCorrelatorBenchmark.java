@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.routing.correlation;
+
+import static org.mule.runtime.api.message.Message.of;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.DefaultEventContext;
+import org.mule.runtime.core.api.Event;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.message.GroupCorrelation;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.util.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.util.store.SimpleMemoryObjectStore;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the latency of correlating an event when there are {@link #groups} groups in progress at the same time. Events are
+ * sent to the groups in a round robin fashion, so each group only completes after an event has been sent to every other group.
+ */
+@Threads(4)
+public class EventCorrelatorBenchmark extends AbstractBenchmark {
+
+  private static final String STORE_PREFIX = "benchmark";
+
+  @Param({"10000"})
+  public int groups;
+
+  @Param({"4"})
+  public int groupSize;
+
+  private MuleContext muleContext;
+  private Flow flow;
+  private EventCorrelator eventCorrelator;
+  private GroupCorrelation groupCorrelation;
+  private final AtomicLong sequence = new AtomicLong();
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContext();
+    muleContext.start();
+    flow = createFlow(muleContext);
+    groupCorrelation = new GroupCorrelation(groupSize, null);
+
+    Processor timeoutProcessor = event -> event;
+    eventCorrelator = new EventCorrelator(new CollectionCorrelatorCallback(muleContext, STORE_PREFIX), timeoutProcessor,
+                                          muleContext, flow, new PartitionedInMemoryObjectStore(), STORE_PREFIX,
+                                          new SimpleMemoryObjectStore<>());
+    eventCorrelator.setTimeout(0);
+
+    // open all the groups before measuring
+    for (int i = 0; i < groups; i++) {
+      eventCorrelator.process(nextEvent());
+    }
+  }
+
+  @TearDown
+  public void teardown() throws Exception {
+    eventCorrelator.stop();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public Event process() throws Exception {
+    return eventCorrelator.process(nextEvent());
+  }
+
+  private Event nextEvent() {
+    final long current = sequence.getAndIncrement();
+    final long generation = current / ((long) groups * groupSize);
+    final String groupId = (current % groups) + "-" + generation;
+
+    return Event.builder(DefaultEventContext.create(flow, CONNECTOR_LOCATION, groupId)).message(of(PAYLOAD))
+        .groupCorrelation(groupCorrelation).build();
+  }
+}
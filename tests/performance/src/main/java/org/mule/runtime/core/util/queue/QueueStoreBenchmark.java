@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.queue;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
+import org.mule.runtime.core.api.util.queue.QueueStoreFormat;
+
+import java.io.Serializable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the persistent enqueue/dequeue operations per second of each {@link QueueStoreFormat}.
+ */
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+public class QueueStoreBenchmark extends AbstractBenchmark {
+
+  private static final long OFFER_TIMEOUT = 1000;
+
+  @Param({"DUAL_FILE", "SEGMENTED_LOG"})
+  public QueueStoreFormat storeFormat;
+
+  private MuleContext muleContext;
+  private DefaultQueueStore queueStore;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContext();
+    queueStore = new DefaultQueueStore("benchmark", muleContext, new DefaultQueueConfiguration(0, true, storeFormat));
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    queueStore.dispose();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public Serializable offerAndPoll() throws InterruptedException {
+    queueStore.offer(VALUE, 0, OFFER_TIMEOUT);
+    return queueStore.poll(OFFER_TIMEOUT);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.util.store;
+
+import static org.apache.commons.io.FileUtils.deleteDirectory;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.store.PartitionableObjectStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the file per entry {@link PartitionedPersistentObjectStore} with the {@link PartitionedIndexedPersistentObjectStore},
+ * measuring the time to open a store holding {@link #entries} entries and the latency of its operations.
+ */
+public class PersistentObjectStoreBenchmark extends AbstractBenchmark {
+
+  @Param({"PER_FILE", "INDEXED"})
+  public String storeType;
+
+  @Param({"10000"})
+  public int entries;
+
+  private MuleContext muleContext;
+  private PartitionableObjectStore<Serializable> objectStore;
+  private int operation = 0;
+
+  @Setup
+  public void setup() throws Exception {
+    muleContext = createMuleContext();
+    cleanStoreDirectories();
+    objectStore = createObjectStore();
+    objectStore.open();
+    for (int i = 0; i < entries; i++) {
+      objectStore.store(KEY + i, VALUE + i);
+    }
+  }
+
+  @TearDown
+  public void teardown() throws IOException {
+    dispose(objectStore);
+    muleContext.dispose();
+    cleanStoreDirectories();
+  }
+
+  @Benchmark
+  public boolean open() throws Exception {
+    PartitionableObjectStore<Serializable> reopenedStore = createObjectStore();
+    try {
+      reopenedStore.open();
+      // the file per entry store loads its keys on first access
+      return reopenedStore.contains(KEY);
+    } finally {
+      dispose(reopenedStore);
+    }
+  }
+
+  @Benchmark
+  public Serializable retrieve() throws Exception {
+    return objectStore.retrieve(KEY + (operation++ % entries));
+  }
+
+  @Benchmark
+  public Serializable storeAndRemove() throws Exception {
+    final String key = KEY + "-" + operation++;
+    objectStore.store(key, VALUE);
+    return objectStore.remove(key);
+  }
+
+  private PartitionableObjectStore<Serializable> createObjectStore() {
+    if ("INDEXED".equals(storeType)) {
+      return new PartitionedIndexedPersistentObjectStore<>(muleContext);
+    }
+    return new PartitionedPersistentObjectStore<>(muleContext);
+  }
+
+  private void dispose(PartitionableObjectStore<Serializable> store) {
+    if (store instanceof Disposable) {
+      ((Disposable) store).dispose();
+    }
+  }
+
+  private void cleanStoreDirectories() throws IOException {
+    final String workingDirectory = muleContext.getConfiguration().getWorkingDirectory();
+    deleteDirectory(new File(workingDirectory, PartitionedPersistentObjectStore.OBJECT_STORE_DIR));
+    deleteDirectory(new File(workingDirectory, PartitionedIndexedPersistentObjectStore.OBJECT_STORE_DIR));
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.execution;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.springframework.util.ReflectionUtils.invokeMethod;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+@OutputTimeUnit(NANOSECONDS)
+public class ReflectiveMethodComponentExecutorBenchmark extends AbstractBenchmark {
+
+  private NoOpOperations operations;
+  private Method noOpMethod;
+  private ReflectiveMethodComponentExecutor<OperationModel> executor;
+
+  @Setup
+  public void setup() throws Exception {
+    operations = new NoOpOperations();
+    noOpMethod = NoOpOperations.class.getMethod("noOp");
+    executor = new ReflectiveMethodComponentExecutor<>(emptyList(), noOpMethod, operations);
+  }
+
+  @Benchmark
+  public Object executeNoOpOperation() throws Exception {
+    // The operation has no arguments, so the execution context is never accessed
+    return executor.execute(null);
+  }
+
+  @Benchmark
+  public Object reflectiveInvocationNoOpOperation() {
+    return invokeMethod(noOpMethod, operations);
+  }
+
+  public static class NoOpOperations {
+
+    public void noOp() {}
+  }
+}
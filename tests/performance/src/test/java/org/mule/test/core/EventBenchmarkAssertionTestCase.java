@@ -35,6 +35,16 @@ public class EventBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionT
     runAndAssertBenchmark(EventBenchmark.class, "copyEventWith100VariablesProperties", 15, MICROSECONDS, 11000);
   }
 
+  @Test
+  public void copyEventWithNewMessage() {
+    runAndAssertBenchmark(EventBenchmark.class, "copyEventWithNewMessage", 250, NANOSECONDS, 600);
+  }
+
+  @Test
+  public void copyEventWith100VariablesWithNewMessage() {
+    runAndAssertBenchmark(EventBenchmark.class, "copyEventWith100VariablesWithNewMessage", 250, NANOSECONDS, 600);
+  }
+
   @Test
   public void deepCopyEvent() {
     runAndAssertBenchmark(EventBenchmark.class, "deepCopyEvent", 1, MICROSECONDS, 2000);
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.test.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import org.mule.AbstractBenchmarkAssertionTestCase;
+import org.mule.runtime.module.extension.internal.runtime.execution.ReflectiveMethodComponentExecutorBenchmark;
+
+import org.junit.Test;
+
+public class ReflectiveMethodComponentExecutorBenchmarkAssertionTestCase extends AbstractBenchmarkAssertionTestCase {
+
+  @Test
+  public void executeNoOpOperation() {
+    runAndAssertBenchmark(ReflectiveMethodComponentExecutorBenchmark.class, "executeNoOpOperation", 50, NANOSECONDS, 50);
+  }
+}